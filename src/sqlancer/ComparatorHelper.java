@@ -1,11 +1,16 @@
 package sqlancer;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -15,6 +20,12 @@ import sqlancer.common.query.SQLancerResultSet;
 
 public final class ComparatorHelper {
 
+    // matches every error of a query whose failure the caller handles, e.g., of a hash query, after which the rows are
+    // read instead, which reports the error if it is unexpected
+    public static final ExpectedErrors ANY_ERROR = ExpectedErrors.from("").freeze();
+    // the number of missing values that are reported when comparing result sets that might be large
+    private static final int MAX_REPORTED_MISSES = 100;
+
     private ComparatorHelper() {
     }
 
@@ -38,32 +49,136 @@ public final class ComparatorHelper {
 
     public static List<String> getResultSetFirstColumnAsString(String queryString, ExpectedErrors errors,
             SQLGlobalState<?, ?> state) throws SQLException {
+        List<String> resultSet = new ArrayList<>();
+        MemoryBudget budget = new MemoryBudget(state);
+        readResultSetFirstColumn(queryString, errors, state, value -> {
+            budget.use(ExternalStringSorter.estimateSize(value));
+            resultSet.add(value);
+        });
+        return resultSet;
+    }
+
+    // skips the test case when a result set that is kept in memory exceeds --max-result-memory-mb
+    private static final class MemoryBudget {
+
+        private final long limit;
+        private long used;
+
+        MemoryBudget(SQLGlobalState<?, ?> state) {
+            limit = state.getOptions().getMaxResultMemoryBytes();
+        }
+
+        void use(long bytes) {
+            used += bytes;
+            if (limit > 0 && used > limit) {
+                throw new IgnoreMeException();
+            }
+        }
+
+    }
+
+    /**
+     * Executes the query and computes the fingerprint of its result set's first column, without keeping the rows in
+     * memory.
+     *
+     * @param queryString
+     *            the query
+     * @param errors
+     *            the errors that executing the query might result in
+     * @param state
+     *            the global state
+     *
+     * @return the fingerprint of the values in the first column
+     *
+     * @throws SQLException
+     *             if the result set cannot be read
+     */
+    public static ResultSetFingerprint getResultSetFirstColumnFingerprint(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state) throws SQLException {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
+        addResultSetFirstColumnFingerprint(fingerprint, queryString, errors, state);
+        return fingerprint;
+    }
+
+    // uses the hash computed by the DBMS with --server-side-result-hashing if possible, and reads the rows otherwise
+    private static void addResultSetFirstColumnFingerprint(ResultSetFingerprint fingerprint, String queryString,
+            ExpectedErrors errors, SQLGlobalState<?, ?> state) throws SQLException {
+        String hashQueryString = state.getOptions().useServerSideResultHashing() ? state.getResultHashQuery(queryString)
+                : null;
+        if (hashQueryString != null) {
+            if (state.getOptions().logEachSelect()) {
+                state.getLogger().writeCurrent(hashQueryString);
+            }
+            SQLQueryAdapter q = new SQLQueryAdapter(hashQueryString, ANY_ERROR);
+            SQLancerResultSet result = q.executeAndGet(state);
+            if (result != null) {
+                try {
+                    if (result.next()) {
+                        String hashSum = result.getString(3);
+                        fingerprint.addServerSideHash(result.getLong(1), result.getLong(2),
+                                hashSum == null ? 0 : new BigDecimal(hashSum).toBigInteger().longValue());
+                        return;
+                    }
+                } finally {
+                    result.close();
+                }
+            }
+        }
+        readResultSetFirstColumn(queryString, errors, state, fingerprint::add);
+    }
+
+    private static void readResultSetFirstColumn(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            Consumer<String> consumer) throws SQLException {
+        // Remove the trailing zeros as many DBMS treat it as non-bugs
+        readResultSet(queryString, errors, state, result -> consumer.accept(removeTrailingZeros(result.getString(1))));
+    }
+
+    // removes a decimal point that is followed only by zeros, e.g., "1.00" becomes "1"
+    static String removeTrailingZeros(String value) {
+        if (value == null) {
+            return null;
+        }
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == '0') {
+            end--;
+        }
+        if (end == value.length() || end == 0 || value.charAt(end - 1) != '.') {
+            return value;
+        }
+        return value.substring(0, end - 1);
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(SQLancerResultSet result) throws SQLException;
+    }
+
+    private static void readResultSet(String queryString, ExpectedErrors errors, SQLGlobalState<?, ?> state,
+            RowConsumer consumer) throws SQLException {
         if (state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
+            state.getLogger().flushCurrent();
         }
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors);
-        List<String> resultSet = new ArrayList<>();
         SQLancerResultSet result = null;
+        int maxRows = state.getOptions().getMaxResultRows();
         try {
             result = q.executeAndGet(state);
             if (result == null) {
                 throw new IgnoreMeException();
             }
+            int nrRows = 0;
             while (result.next()) {
-                String resultTemp = result.getString(1);
-                if (resultTemp != null) {
-                    resultTemp = resultTemp.replaceAll("[\\.]0+$", ""); // Remove the trailing zeros as many DBMS treat
-                                                                        // it as non-bugs
+                if (maxRows > 0 && ++nrRows > maxRows) {
+                    // e.g., a cross product of several tables, whose rows would take too long to compare
+                    throw new IgnoreMeException();
                 }
-                resultSet.add(resultTemp);
+                consumer.accept(result);
             }
+        } catch (UncheckedIOException e) {
+            // e.g., a full temporary directory, which is a local failure rather than a bug in the DBMS
+            throw e;
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
                 throw e;
@@ -72,7 +187,7 @@ public final class ComparatorHelper {
             if (e.getMessage() == null) {
                 throw new AssertionError(queryString, e);
             }
-            if (errors.errorIsExpected(e.getMessage())) {
+            if (errors.exceptionIsExpected(e)) {
                 throw new IgnoreMeException();
             }
             throw new AssertionError(queryString, e);
@@ -81,20 +196,13 @@ public final class ComparatorHelper {
                 result.close();
             }
         }
-        return resultSet;
     }
 
     public static void assumeResultSetsAreEqual(List<String> resultSet, List<String> secondResultSet,
             String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
         if (resultSet.size() != secondResultSet.size()) {
-            String queryFormatString = "-- %s;\n-- cardinality: %d";
-            String firstQueryString = String.format(queryFormatString, originalQueryString, resultSet.size());
-            String secondQueryString = String.format(queryFormatString,
-                    combinedString.stream().collect(Collectors.joining(";")), secondResultSet.size());
-            state.getState().getLocalState().log(String.format("%s\n%s", firstQueryString, secondQueryString));
-            String assertionMessage = String.format("the size of the result sets mismatch (%d and %d)!\n%s\n%s",
-                    resultSet.size(), secondResultSet.size(), firstQueryString, secondQueryString);
-            throw new AssertionError(assertionMessage);
+            reportCardinalityMismatch(resultSet.size(), secondResultSet.size(), originalQueryString, combinedString,
+                    state);
         }
 
         Set<String> firstHashSet = new HashSet<>(resultSet);
@@ -105,15 +213,8 @@ public final class ComparatorHelper {
             firstResultSetMisses.removeAll(secondHashSet);
             Set<String> secondResultSetMisses = new HashSet<>(secondHashSet);
             secondResultSetMisses.removeAll(firstHashSet);
-            String queryFormatString = "-- %s;\n-- misses: %s";
-            String firstQueryString = String.format(queryFormatString, originalQueryString, firstResultSetMisses);
-            String secondQueryString = String.format(queryFormatString,
-                    combinedString.stream().collect(Collectors.joining(";")), secondResultSetMisses);
-            // update the SELECT queries to be logged at the bottom of the error log file
-            state.getState().getLocalState().log(String.format("%s\n%s", firstQueryString, secondQueryString));
-            String assertionMessage = String.format("the content of the result sets mismatch!\n%s\n%s",
-                    firstQueryString, secondQueryString);
-            throw new AssertionError(assertionMessage);
+            reportContentMismatch(firstResultSetMisses, secondResultSetMisses, originalQueryString, combinedString,
+                    state);
         }
     }
 
@@ -150,20 +251,268 @@ public final class ComparatorHelper {
         return secondResultSet;
     }
 
-    public static List<String> getCombinedResultSetNoDuplicates(String firstQueryString, String secondQueryString,
-            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
-            ExpectedErrors errors) throws SQLException {
-        String unionString;
+    /**
+     * Computes the fingerprint of the combined result set of the three partitioning queries, like
+     * {@link #getCombinedResultSet(String, String, String, List, boolean, SQLGlobalState, ExpectedErrors)}, but without
+     * keeping the rows in memory.
+     *
+     * @param firstQueryString
+     *            the first partitioning query
+     * @param secondQueryString
+     *            the second partitioning query
+     * @param thirdQueryString
+     *            the third partitioning query
+     * @param combinedString
+     *            the list to which the executed queries are added
+     * @param asUnion
+     *            whether to combine the queries with UNION ALL, rather than to execute them one after another
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that executing the queries might result in
+     *
+     * @return the fingerprint of the values in the first column of the combined result set
+     *
+     * @throws SQLException
+     *             if a result set cannot be read
+     */
+    public static ResultSetFingerprint getCombinedResultSetFingerprint(String firstQueryString,
+            String secondQueryString, String thirdQueryString, List<String> combinedString, boolean asUnion,
+            SQLGlobalState<?, ?> state, ExpectedErrors errors) throws SQLException {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
         if (asUnion) {
-            unionString = firstQueryString + " UNION " + secondQueryString + " UNION " + thirdQueryString;
+            String unionString = firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
+                    + thirdQueryString;
+            combinedString.add(unionString);
+            addResultSetFirstColumnFingerprint(fingerprint, unionString, errors, state);
         } else {
-            unionString = "SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString
-                    + " UNION ALL " + thirdQueryString + ")";
+            addResultSetFirstColumnFingerprint(fingerprint, firstQueryString, errors, state);
+            addResultSetFirstColumnFingerprint(fingerprint, secondQueryString, errors, state);
+            addResultSetFirstColumnFingerprint(fingerprint, thirdQueryString, errors, state);
+            combinedString.add(firstQueryString);
+            combinedString.add(secondQueryString);
+            combinedString.add(thirdQueryString);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Checks that the result set of the original query and the combined result set of the queries in combinedString are
+     * equal, based on their fingerprints. Only if the fingerprints differ, the queries are executed again to
+     * materialize their result sets, which are then compared like by
+     * {@link #assumeResultSetsAreEqual(List, List, String, List, SQLGlobalState)} to report the differing rows. Result
+     * sets that exceed --max-result-memory-mb are sorted on disk for this comparison.
+     *
+     * @param fingerprint
+     *            the fingerprint of the original query's result set
+     * @param secondFingerprint
+     *            the fingerprint of the combined result set
+     * @param originalQueryString
+     *            the original query
+     * @param combinedString
+     *            the queries whose result sets are combined
+     * @param state
+     *            the global state
+     * @param errors
+     *            the errors that executing the queries might result in
+     *
+     * @throws SQLException
+     *             if a result set cannot be read
+     */
+    public static void assumeResultSetsAreEqual(ResultSetFingerprint fingerprint,
+            ResultSetFingerprint secondFingerprint, String originalQueryString, List<String> combinedString,
+            SQLGlobalState<?, ?> state, ExpectedErrors errors) throws SQLException {
+        if (fingerprint.equals(secondFingerprint)) {
+            return;
+        }
+        long memoryLimit = state.getOptions().getMaxResultMemoryBytes();
+        try (ExternalStringSorter resultSet = new ExternalStringSorter(memoryLimit);
+                ExternalStringSorter secondResultSet = new ExternalStringSorter(memoryLimit)) {
+            readResultSetFirstColumn(originalQueryString, errors, state, resultSet::add);
+            for (String queryString : combinedString) {
+                readResultSetFirstColumn(queryString, errors, state, secondResultSet::add);
+            }
+            assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString, state);
+        }
+    }
+
+    // like the comparison of lists, compares the sizes and then the distinct values, but by merging the sorted values
+    static void assumeResultSetsAreEqual(ExternalStringSorter resultSet, ExternalStringSorter secondResultSet,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
+        if (resultSet.size() != secondResultSet.size()) {
+            reportCardinalityMismatch(resultSet.size(), secondResultSet.size(), originalQueryString, combinedString,
+                    state);
+        }
+        List<String> firstResultSetMisses = new ArrayList<>();
+        List<String> secondResultSetMisses = new ArrayList<>();
+        long nrMisses = 0;
+        Iterator<String> first = resultSet.distinctIterator();
+        Iterator<String> second = secondResultSet.distinctIterator();
+        boolean hasFirst = first.hasNext();
+        boolean hasSecond = second.hasNext();
+        String firstValue = hasFirst ? first.next() : null;
+        String secondValue = hasSecond ? second.next() : null;
+        while (hasFirst || hasSecond) {
+            int comparison;
+            if (!hasFirst) {
+                comparison = 1;
+            } else if (!hasSecond) {
+                comparison = -1;
+            } else {
+                comparison = ExternalStringSorter.ORDER.compare(firstValue, secondValue);
+            }
+            if (comparison != 0) {
+                List<String> misses = comparison < 0 ? firstResultSetMisses : secondResultSetMisses;
+                if (nrMisses++ < MAX_REPORTED_MISSES) {
+                    misses.add(comparison < 0 ? firstValue : secondValue);
+                }
+            }
+            if (comparison <= 0) {
+                hasFirst = first.hasNext();
+                firstValue = hasFirst ? first.next() : null;
+            }
+            if (comparison >= 0) {
+                hasSecond = second.hasNext();
+                secondValue = hasSecond ? second.next() : null;
+            }
+        }
+        if (nrMisses != 0) {
+            reportContentMismatch(firstResultSetMisses, secondResultSetMisses, originalQueryString, combinedString,
+                    state);
+        }
+    }
+
+    private static void reportCardinalityMismatch(long size, long secondSize, String originalQueryString,
+            List<String> combinedString, SQLGlobalState<?, ?> state) {
+        String queryFormatString = "-- %s;\n-- cardinality: %d";
+        String firstQueryString = String.format(queryFormatString, originalQueryString, size);
+        String secondQueryString = String.format(queryFormatString,
+                combinedString.stream().collect(Collectors.joining(";")), secondSize);
+        state.getState().getLocalState().log(String.format("%s\n%s", firstQueryString, secondQueryString));
+        String assertionMessage = String.format("the size of the result sets mismatch (%d and %d)!\n%s\n%s", size,
+                secondSize, firstQueryString, secondQueryString);
+        throw new AssertionError(assertionMessage);
+    }
+
+    private static void reportContentMismatch(Collection<?> firstResultSetMisses, Collection<?> secondResultSetMisses,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
+        String queryFormatString = "-- %s;\n-- misses: %s";
+        String firstQueryString = String.format(queryFormatString, originalQueryString, firstResultSetMisses);
+        String secondQueryString = String.format(queryFormatString,
+                combinedString.stream().collect(Collectors.joining(";")), secondResultSetMisses);
+        // update the SELECT queries to be logged at the bottom of the error log file
+        state.getState().getLocalState().log(String.format("%s\n%s", firstQueryString, secondQueryString));
+        String assertionMessage = String.format("the content of the result sets mismatch!\n%s\n%s", firstQueryString,
+                secondQueryString);
+        throw new AssertionError(assertionMessage);
+    }
+
+    /**
+     * Executes the query and reads all columns of its result set, so that result sets can be compared by
+     * {@link #assumeResultRowsAreEqual(List, List, String, List, SQLGlobalState)} across all columns.
+     *
+     * @param queryString
+     *            the query
+     * @param errors
+     *            the errors that executing the query might result in
+     * @param state
+     *            the global state
+     *
+     * @return the rows
+     *
+     * @throws SQLException
+     *             if the result set cannot be read
+     */
+    public static List<ResultRow> getResultSetRows(String queryString, ExpectedErrors errors,
+            SQLGlobalState<?, ?> state) throws SQLException {
+        List<ResultRow> rows = new ArrayList<>();
+        MemoryBudget budget = new MemoryBudget(state);
+        int[] nrColumns = { -1 };
+        readResultSet(queryString, errors, state, result -> {
+            if (nrColumns[0] == -1) {
+                nrColumns[0] = result.getColumnCount();
+            }
+            ResultRow row = ResultRow.read(result, nrColumns[0]);
+            budget.use(row.estimateSize());
+            rows.add(row);
+        });
+        return rows;
+    }
+
+    /**
+     * Checks that two result sets contain the same rows, where the values of all columns are compared, and
+     * floating-point numbers are compared with a tolerance. In contrast to
+     * {@link #assumeResultSetsAreEqual(List, List, String, List, SQLGlobalState)}, the number of times that a row is
+     * contained must match, too.
+     *
+     * @param resultSet
+     *            the rows of the original query
+     * @param secondResultSet
+     *            the rows of the queries in combinedString
+     * @param originalQueryString
+     *            the original query
+     * @param combinedString
+     *            the queries whose result sets are combined
+     * @param state
+     *            the global state
+     */
+    public static void assumeResultRowsAreEqual(List<ResultRow> resultSet, List<ResultRow> secondResultSet,
+            String originalQueryString, List<String> combinedString, SQLGlobalState<?, ?> state) {
+        if (resultSet.size() != secondResultSet.size()) {
+            reportCardinalityMismatch(resultSet.size(), secondResultSet.size(), originalQueryString, combinedString,
+                    state);
+        }
+        // sorting places equal rows at the same positions, so that they can be compared pairwise
+        List<ResultRow> first = new ArrayList<>(resultSet);
+        List<ResultRow> second = new ArrayList<>(secondResultSet);
+        Collections.sort(first);
+        Collections.sort(second);
+        List<ResultRow> firstResultSetMisses = new ArrayList<>();
+        List<ResultRow> secondResultSetMisses = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            if (i < first.size() && j < second.size() && first.get(i).isEqual(second.get(j))) {
+                i++;
+                j++;
+            } else if (j == second.size() || i < first.size() && first.get(i).compareTo(second.get(j)) < 0) {
+                firstResultSetMisses.add(first.get(i++));
+            } else {
+                secondResultSetMisses.add(second.get(j++));
+            }
         }
+        if (!firstResultSetMisses.isEmpty() || !secondResultSetMisses.isEmpty()) {
+            reportContentMismatch(firstResultSetMisses, secondResultSetMisses, originalQueryString, combinedString,
+                    state);
+        }
+    }
+
+    public static List<String> getCombinedResultSetNoDuplicates(String firstQueryString, String secondQueryString,
+            String thirdQueryString, List<String> combinedString, boolean asUnion, SQLGlobalState<?, ?> state,
+            ExpectedErrors errors) throws SQLException {
+        String unionString = getNoDuplicatesUnionString(firstQueryString, secondQueryString, thirdQueryString, asUnion);
         List<String> secondResultSet;
         combinedString.add(unionString);
         secondResultSet = getResultSetFirstColumnAsString(unionString, errors, state);
         return secondResultSet;
     }
 
+    public static List<ResultRow> getCombinedResultSetRowsNoDuplicates(String firstQueryString,
+            String secondQueryString, String thirdQueryString, List<String> combinedString, boolean asUnion,
+            SQLGlobalState<?, ?> state, ExpectedErrors errors) throws SQLException {
+        String unionString = getNoDuplicatesUnionString(firstQueryString, secondQueryString, thirdQueryString, asUnion);
+        combinedString.add(unionString);
+        return getResultSetRows(unionString, errors, state);
+    }
+
+    private static String getNoDuplicatesUnionString(String firstQueryString, String secondQueryString,
+            String thirdQueryString, boolean asUnion) {
+        if (asUnion) {
+            return firstQueryString + " UNION " + secondQueryString + " UNION " + thirdQueryString;
+        } else {
+            return "SELECT DISTINCT * FROM (" + firstQueryString + " UNION ALL " + secondQueryString + " UNION ALL "
+                    + thirdQueryString + ")";
+        }
+    }
+
 }
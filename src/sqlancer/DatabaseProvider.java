@@ -46,6 +46,34 @@ public interface DatabaseProvider<G extends GlobalState<O, ?, C>, O extends DBMS
 
     C createDatabase(G globalState) throws Exception;
 
+    /**
+     * Creates a copy of the database named {@link GlobalState#getDatabaseName()} and connects to it. The source
+     * database is not in use while it is being copied.
+     *
+     * @param globalState
+     *            the state whose database should be copied
+     * @param cloneName
+     *            the name of the copy, which is replaced if it already exists
+     *
+     * @return the connection to the copy
+     *
+     * @throws Exception
+     *             if copying the database fails
+     */
+    C cloneDatabase(G globalState, String cloneName) throws Exception;
+
+    /**
+     * Drops the database named {@link GlobalState#getDatabaseName()}, which must not be in use. DBMS that cannot drop
+     * databases leave them in place.
+     *
+     * @param globalState
+     *            the state whose database should be dropped
+     *
+     * @throws Exception
+     *             if dropping the database fails
+     */
+    void dropDatabase(G globalState) throws Exception;
+
     /**
      * The DBMS name is used to name the log directory and command to test the respective DBMS.
      *
@@ -0,0 +1,207 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import sqlancer.common.query.Query;
+
+/**
+ * Reduces the statements that reproduce a bug based on the delta debugging algorithm (ddmin). Rather than removing a
+ * single statement at a time, as done by {@link StatementReducer}, chunks of statements are removed, starting with
+ * halves of the statement list and halving the chunk size whenever no chunk can be removed. All candidates of a round
+ * are tested concurrently, each worker thread using its own database, which is dropped once the reduction ends.
+ *
+ * @param <G>
+ *            the global state type
+ * @param <O>
+ *            the DBMS-specific options type
+ * @param <C>
+ *            the connection type
+ */
+public class DeltaDebuggingReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpecificOptions<?>, C extends SQLancerDBConnection>
+        implements Reducer<G> {
+
+    private final DatabaseProvider<G, O, C> provider;
+    private final int nrThreads;
+
+    public DeltaDebuggingReducer(DatabaseProvider<G, O, C> provider, int nrThreads) {
+        if (nrThreads < 1) {
+            throw new IllegalArgumentException(String.valueOf(nrThreads));
+        }
+        this.provider = provider;
+        this.nrThreads = nrThreads;
+    }
+
+    private final class ReductionWorker {
+
+        private final DatabaseProvider<G, O, C> workerProvider;
+        private final G workerState;
+        private final long seed;
+        private boolean createdDatabase;
+
+        ReductionWorker(DatabaseProvider<G, O, C> workerProvider, G workerState, long seed) {
+            this.workerProvider = workerProvider;
+            this.workerState = workerState;
+            this.seed = seed;
+        }
+
+        boolean bugStillTriggers(List<Query<C>> candidateStatements, Reproducer<G> reproducer) throws Exception {
+            // Randomly is not thread-safe and its stream belongs to the calling thread, so each candidate is replayed
+            // with its own instance seeded in the same way, no matter which worker and thread test the candidate
+            workerState.setRandomly(new Randomly(seed));
+            createdDatabase = true;
+            try (C con = workerProvider.createDatabase(workerState)) {
+                workerState.setConnection(con);
+                workerState.getState().setStatements(candidateStatements.stream().collect(Collectors.toList()));
+                for (Query<C> s : candidateStatements) {
+                    try {
+                        s.execute(workerState);
+                    } catch (Throwable ignoredException) {
+                        // ignore
+                    }
+                }
+                try {
+                    return reproducer.bugStillTriggers(workerState);
+                } catch (Throwable ignoredException) {
+                    return false;
+                }
+            }
+        }
+
+        void dropDatabase() throws Exception {
+            if (createdDatabase) {
+                workerProvider.dropDatabase(workerState);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void reduce(G state, Reproducer<G> reproducer, G newGlobalState) throws Exception {
+        List<Query<C>> knownToReproduceBugStatements = new ArrayList<>();
+        for (Query<?> stat : state.getState().getStatements()) {
+            knownToReproduceBugStatements.add((Query<C>) stat);
+        }
+        System.out.println("Starting query:");
+        printQueries(knownToReproduceBugStatements);
+        System.out.println();
+
+        List<ReductionWorker> allWorkers = new ArrayList<>();
+        for (int i = 0; i < nrThreads; i++) {
+            allWorkers.add(createWorker(newGlobalState, i));
+        }
+        BlockingQueue<ReductionWorker> workers = new ArrayBlockingQueue<>(nrThreads, false, allWorkers);
+        ExecutorService executor = Executors.newFixedThreadPool(nrThreads);
+        try {
+            knownToReproduceBugStatements = ddmin(knownToReproduceBugStatements, reproducer, executor, workers);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            dropDatabases(allWorkers);
+        }
+
+        newGlobalState.getState().setStatements(new ArrayList<>(knownToReproduceBugStatements));
+        System.out.println("Reduced query:");
+        printQueries(knownToReproduceBugStatements);
+    }
+
+    // tries to drop all workers' databases, and throws the first failure
+    private void dropDatabases(List<ReductionWorker> allWorkers) throws Exception {
+        Exception failure = null;
+        for (ReductionWorker worker : allWorkers) {
+            try {
+                worker.dropDatabase();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private List<Query<C>> ddmin(List<Query<C>> statements, Reproducer<G> reproducer, ExecutorService executor,
+            BlockingQueue<ReductionWorker> workers) throws Exception {
+        List<Query<C>> current = statements;
+        int nrChunks = 2;
+        while (current.size() >= 2) {
+            int chunkSize = (current.size() + nrChunks - 1) / nrChunks;
+            List<List<Query<C>>> candidates = new ArrayList<>();
+            for (int start = 0; start < current.size(); start += chunkSize) {
+                List<Query<C>> candidate = new ArrayList<>(current.subList(0, start));
+                candidate.addAll(current.subList(Math.min(start + chunkSize, current.size()), current.size()));
+                candidates.add(candidate);
+            }
+            List<Query<C>> reduced = findFirstReproducingCandidate(candidates, reproducer, executor, workers);
+            if (reduced != null) {
+                current = reduced;
+                nrChunks = Math.max(nrChunks - 1, 2);
+            } else if (chunkSize == 1) {
+                break;
+            } else {
+                nrChunks = Math.min(nrChunks * 2, current.size());
+            }
+        }
+        return current;
+    }
+
+    // tests the candidates concurrently and returns the first one (in list order) that still triggers the bug, so
+    // that the reduction result does not depend on thread scheduling
+    private List<Query<C>> findFirstReproducingCandidate(List<List<Query<C>>> candidates, Reproducer<G> reproducer,
+            ExecutorService executor, BlockingQueue<ReductionWorker> workers) throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (List<Query<C>> candidate : candidates) {
+            results.add(executor.submit(() -> {
+                ReductionWorker worker = workers.take();
+                try {
+                    return worker.bugStillTriggers(candidate, reproducer);
+                } finally {
+                    workers.put(worker);
+                }
+            }));
+        }
+        List<Query<C>> firstReproducingCandidate = null;
+        for (int i = 0; i < results.size(); i++) {
+            if (firstReproducingCandidate != null) {
+                results.get(i).cancel(false);
+            } else if (results.get(i).get()) {
+                firstReproducingCandidate = candidates.get(i);
+            }
+        }
+        return firstReproducingCandidate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReductionWorker createWorker(G newGlobalState, int i) throws Exception {
+        DatabaseProvider<G, O, C> workerProvider = provider.getClass().getDeclaredConstructor().newInstance();
+        G workerState = provider.getGlobalStateClass().getDeclaredConstructor().newInstance();
+        String databaseName = newGlobalState.getDatabaseName() + "_reduce" + i;
+        workerState.setState(workerProvider.getStateToReproduce(databaseName));
+        workerState.setDatabaseName(databaseName);
+        workerState.setMainOptions(newGlobalState.getOptions());
+        workerState.setDbmsSpecificOptions(newGlobalState.getDbmsSpecificOptions());
+        workerState.setStateLogger(new Main.StateLogger(databaseName, workerProvider, newGlobalState.getOptions()));
+        workerState.setManager(new Main.QueryManager<>(workerState));
+        return new ReductionWorker(workerProvider, workerState, newGlobalState.getRandomly().getSeed());
+    }
+
+    private void printQueries(List<Query<C>> statements) {
+        System.out.println("===============================");
+        for (Query<?> q : statements) {
+            System.out.println(q.getLogString());
+        }
+        System.out.println("===============================");
+    }
+
+}
@@ -0,0 +1,29 @@
+package sqlancer;
+
+import sqlancer.common.ast.ExpressionReducer;
+
+/**
+ * A reproducer whose bug-triggering query is built from an expression (e.g., the WHERE condition), which can be reduced
+ * after the statements have been reduced.
+ *
+ * @param <G>
+ *            the global state type
+ * @param <E>
+ *            the expression type
+ */
+public interface ExpressionReproducer<G extends GlobalState<?, ?, ?>, E> extends Reproducer<G> {
+
+    E getExpression();
+
+    boolean bugStillTriggers(G globalState, E expression);
+
+    String getQueryString(E expression);
+
+    ExpressionReducer<E> getExpressionReducer();
+
+    @Override
+    default boolean bugStillTriggers(G globalState) {
+        return bugStillTriggers(globalState, getExpression());
+    }
+
+}
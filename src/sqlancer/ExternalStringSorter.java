@@ -0,0 +1,265 @@
+package sqlancer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts a multiset of strings, such as the values of a result set's column, that might not fit into memory. The strings
+ * are buffered in memory until their estimated size exceeds a limit. Then, the buffer is sorted and written to a
+ * temporary file, a so-called run. {@link #iterator()} merges the runs, so that the strings are returned in sorted
+ * order, with NULL values first. The temporary files are deleted by {@link #close()}.
+ */
+final class ExternalStringSorter implements Closeable {
+
+    static final Comparator<String> ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final int NULL_LENGTH = -1;
+
+    private final long memoryLimit;
+    private final List<String> buffer = new ArrayList<>();
+    private long bufferSize;
+    private final List<Run> runs = new ArrayList<>();
+    private long size;
+
+    /**
+     * Creates an empty sorter.
+     *
+     * @param memoryLimit
+     *            the approximate number of bytes that the buffered strings may occupy, or 0 to never write runs
+     */
+    ExternalStringSorter(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    // an approximation of the heap memory that a string and the reference to it occupy
+    static long estimateSize(String value) {
+        return value == null ? 8 : 48 + 2L * value.length();
+    }
+
+    void add(String value) {
+        buffer.add(value);
+        bufferSize += estimateSize(value);
+        size++;
+        if (memoryLimit > 0 && bufferSize > memoryLimit) {
+            writeRun();
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    int getNrRuns() {
+        return runs.size();
+    }
+
+    private void writeRun() {
+        buffer.sort(ORDER);
+        try {
+            Run run = new Run(Files.createTempFile("sqlancer-result", ".run"), buffer.size());
+            runs.add(run);
+            // the characters are written as they are, since an encoding such as UTF-8 cannot represent unpaired
+            // surrogates
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run.file)))) {
+                for (String value : buffer) {
+                    if (value == null) {
+                        out.writeInt(NULL_LENGTH);
+                    } else {
+                        out.writeInt(value.length());
+                        out.writeChars(value);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+        bufferSize = 0;
+    }
+
+    /**
+     * Returns the strings in sorted order. No strings may be added while the iterator is used.
+     *
+     * @return an iterator over all strings that were added
+     */
+    Iterator<String> iterator() {
+        buffer.sort(ORDER);
+        List<Iterator<String>> sources = new ArrayList<>();
+        sources.add(buffer.iterator());
+        for (Run run : runs) {
+            sources.add(run.open());
+        }
+        return new MergingIterator(sources);
+    }
+
+    /**
+     * Returns the distinct strings in sorted order. No strings may be added while the iterator is used.
+     *
+     * @return an iterator over the strings that were added, which returns each string once
+     */
+    Iterator<String> distinctIterator() {
+        Iterator<String> sorted = iterator();
+        return new Iterator<String>() {
+
+            private boolean hasNext = sorted.hasNext();
+            private String next = hasNext ? sorted.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                String current = next;
+                hasNext = false;
+                while (sorted.hasNext()) {
+                    next = sorted.next();
+                    if (!Objects.equals(current, next)) {
+                        hasNext = true;
+                        break;
+                    }
+                }
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (Run run : runs) {
+                run.close();
+                Files.deleteIfExists(run.file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        runs.clear();
+        buffer.clear();
+    }
+
+    private static final class Run implements Closeable {
+
+        private final Path file;
+        private final int nrValues;
+        private final List<DataInputStream> openStreams = new ArrayList<>();
+
+        Run(Path file, int nrValues) {
+            this.file = file;
+            this.nrValues = nrValues;
+        }
+
+        Iterator<String> open() {
+            DataInputStream in;
+            try {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            openStreams.add(in);
+            return new Iterator<String>() {
+
+                private int nrRead;
+
+                @Override
+                public boolean hasNext() {
+                    return nrRead < nrValues;
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    nrRead++;
+                    try {
+                        int length = in.readInt();
+                        if (length == NULL_LENGTH) {
+                            return null;
+                        }
+                        char[] chars = new char[length];
+                        for (int i = 0; i < length; i++) {
+                            chars[i] = in.readChar();
+                        }
+                        return new String(chars);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (DataInputStream in : openStreams) {
+                in.close();
+            }
+            openStreams.clear();
+        }
+
+    }
+
+    // merges sorted iterators by repeatedly taking the smallest of their next strings
+    private static final class MergingIterator implements Iterator<String> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> ORDER.compare(a.value, b.value));
+
+        MergingIterator(List<Iterator<String>> sources) {
+            for (Iterator<String> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.source.hasNext()) {
+                heads.add(new Head(head.source.next(), head.source));
+            }
+            return head.value;
+        }
+
+    }
+
+    private static final class Head {
+
+        private final String value;
+        private final Iterator<String> source;
+
+        Head(String value, Iterator<String> source) {
+            this.value = value;
+            this.source = source;
+        }
+
+    }
+
+}
@@ -3,7 +3,8 @@ package sqlancer;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.common.schema.AbstractSchema;
-import sqlancer.common.schema.AbstractTable;
+import sqlancer.common.schema.SchemaUpdate;
+import sqlancer.common.schema.TableDataEpochs;
 
 public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends AbstractSchema<?, ?>, C extends SQLancerDBConnection> {
 
@@ -16,9 +17,15 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     private StateToReproduce state;
     private Main.QueryManager<C> manager;
     private String databaseName;
+    private String currentActionName;
+    private MetricsRegistry.Counters counters;
+    private final TableDataEpochs dataEpochs = new TableDataEpochs();
+    private int nrSchemaUpdatesSinceRead;
 
     public void setConnection(C con) {
         this.databaseConnection = con;
+        // the new connection might be to a different database, e.g., a newly created one or a restored snapshot
+        dataEpochs.databaseReplaced();
     }
 
     public C getConnection() {
@@ -82,12 +89,38 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         this.databaseName = databaseName;
     }
 
+    public String getCurrentActionName() {
+        return currentActionName;
+    }
+
+    /**
+     * Sets the action (e.g., the statement kind or the test oracle) on whose behalf the following statements are
+     * executed, by which their latencies are grouped.
+     *
+     * @param currentActionName
+     *            the name of the action, or null if statements are executed on behalf of no specific action
+     */
+    public void setCurrentActionName(String currentActionName) {
+        this.currentActionName = currentActionName;
+        this.counters = null;
+    }
+
+    /**
+     * Increments a counter of the DBMS and the current action.
+     *
+     * @param counter
+     *            the counter to increment
+     */
+    public void incrementCounter(MetricsRegistry.Counter counter) {
+        if (counters == null) {
+            counters = MetricsRegistry.getCounters(getState().getDatabaseProvider().getDBMSName(), currentActionName);
+        }
+        counters.increment(counter);
+    }
+
+    // returns a started timer if the execution time is logged or the latency is recorded, and null otherwise
     private ExecutionTimer executePrologue(Query<?> q) throws Exception {
         boolean logExecutionTime = getOptions().logExecutionTime();
-        ExecutionTimer timer = null;
-        if (logExecutionTime) {
-            timer = new ExecutionTimer().start();
-        }
         if (getOptions().printAllStatements()) {
             System.out.println(q.getLogString());
         }
@@ -98,14 +131,48 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
                 getLogger().writeCurrent(q.getLogString());
             }
         }
-        return timer;
+        if (logExecutionTime || getOptions().printLatencySummary()) {
+            return new ExecutionTimer().start();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Records the latency of a statement for the current action, if latencies are recorded.
+     *
+     * @param nanos
+     *            the latency in nanoseconds
+     */
+    public void recordLatency(long nanos) {
+        if (getOptions().printLatencySummary()) {
+            LatencyHistogram.record(currentActionName, nanos);
+        }
+    }
+
+    /**
+     * Records a statement in the calling thread's trace of recently executed statements, if such a trace is kept.
+     *
+     * @param q
+     *            the statement
+     */
+    public void traceStatement(Query<?> q) {
+        int nrRecentStatements = getOptions().getNrRecentStatements();
+        if (nrRecentStatements > 0) {
+            StatementTrace.record(q, nrRecentStatements);
+        }
     }
 
+    // the timer is null unless the execution time is logged or the latency is recorded
     protected abstract void executeEpilogue(Query<?> q, boolean success, ExecutionTimer timer) throws Exception;
 
     public boolean executeStatement(Query<C> q, String... fills) throws Exception {
         ExecutionTimer timer = executePrologue(q);
+        traceStatement(q);
         boolean success = manager.execute(q, fills);
+        if (timer != null) {
+            recordLatency(timer.end().getElapsedNanos());
+        }
         executeEpilogue(q, success, timer);
         return success;
     }
@@ -116,6 +183,9 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
         boolean success = result != null;
         if (success) {
             result.registerEpilogue(() -> {
+                if (timer != null) {
+                    timer.end();
+                }
                 try {
                     executeEpilogue(q, success, timer);
                 } catch (Exception e) {
@@ -142,10 +212,55 @@ public abstract class GlobalState<O extends DBMSSpecificOptions<?>, S extends Ab
     }
 
     public void updateSchema() throws Exception {
+        nrSchemaUpdatesSinceRead = 0;
         setSchema(readSchema());
-        for (AbstractTable<?, ?, ?> table : schema.getDatabaseTables()) {
-            table.recomputeCount();
+    }
+
+    /**
+     * Updates the schema after a statement that could affect it. If the statement's effect on the schema is known (see
+     * {@link Query#getSchemaUpdate()}) and the statement succeeded, it is applied to the current schema. Otherwise, as
+     * well as periodically (see --schema-verification-interval) and when the effect cannot be applied, the schema is read
+     * from the DBMS. The effect of a failed statement is unknown, since it might have rolled back the current
+     * transaction (e.g., SQLite's INSERT OR ROLLBACK), which undoes the effects of earlier statements.
+     *
+     * @param q
+     *            the statement
+     * @param success
+     *            whether the statement succeeded
+     *
+     * @throws Exception
+     *             if the schema cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public void updateSchema(Query<?> q, boolean success) throws Exception {
+        SchemaUpdate<S> update = (SchemaUpdate<S>) q.getSchemaUpdate();
+        if (update != null && success && schema != null
+                && nrSchemaUpdatesSinceRead + 1 < getOptions().getSchemaVerificationInterval()) {
+            nrSchemaUpdatesSinceRead++;
+            try {
+                update.apply(schema);
+                schema.invalidateLookups();
+                return;
+            } catch (RuntimeException e) {
+                // the in-memory schema has diverged from the DBMS's schema
+            }
         }
+        updateSchema();
+    }
+
+    public TableDataEpochs getDataEpochs() {
+        return dataEpochs;
+    }
+
+    /**
+     * Advances the data epochs of the tables whose rows a statement might modify (see
+     * {@link TableDataEpochs#statementExecuted(String, AbstractSchema)}).
+     *
+     * @param statement
+     *            the statement, which is about to be executed
+     */
+    public void recordDataModification(String statement) {
+        dataEpochs.statementExecuted(statement, schema);
     }
 
     protected abstract S readSchema() throws Exception;
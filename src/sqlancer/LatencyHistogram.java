@@ -0,0 +1,154 @@
+package sqlancer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of statement latencies in nanoseconds. Like in HdrHistogram, each power of two is split into linear
+ * sub-buckets, so that the relative error of a percentile is below 1/16 for any latency. Each thread records into its
+ * own histogram per action, which is written without locks or read-modify-write operations; the histograms of all
+ * threads are merged when a summary is requested.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int NR_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF_COUNT;
+    private static final String DEFAULT_ACTION_NAME = "OTHER";
+
+    private static final Map<String, Queue<LatencyHistogram>> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, LatencyHistogram>> THREAD_HISTOGRAMS = ThreadLocal
+            .withInitial(HashMap::new);
+
+    private final AtomicLongArray counts = new AtomicLongArray(NR_BUCKETS);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records the latency of a statement in the calling thread's histogram for the given action.
+     *
+     * @param actionName
+     *            the action or oracle that issued the statement, or null if unknown
+     * @param nanos
+     *            the latency in nanoseconds
+     */
+    public static void record(String actionName, long nanos) {
+        String name = actionName == null ? DEFAULT_ACTION_NAME : actionName;
+        Map<String, LatencyHistogram> threadHistograms = THREAD_HISTOGRAMS.get();
+        LatencyHistogram histogram = threadHistograms.get(name);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            threadHistograms.put(name, histogram);
+            HISTOGRAMS.computeIfAbsent(name, n -> new ConcurrentLinkedQueue<>()).add(histogram);
+        }
+        histogram.recordValue(nanos);
+    }
+
+    public static SortedMap<String, LatencyHistogram> getMergedHistograms() {
+        SortedMap<String, LatencyHistogram> mergedHistograms = new TreeMap<>();
+        for (Map.Entry<String, Queue<LatencyHistogram>> entry : HISTOGRAMS.entrySet()) {
+            LatencyHistogram merged = new LatencyHistogram();
+            for (LatencyHistogram histogram : entry.getValue()) {
+                merged.add(histogram);
+            }
+            mergedHistograms.put(entry.getKey(), merged);
+        }
+        return mergedHistograms;
+    }
+
+    public static String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : getMergedHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            sb.append(String.format("%-30s %,12d  p50 %10s  p99 %10s  p99.9 %10s  max %10s%n", entry.getKey(),
+                    histogram.getTotalCount(), formatNanos(histogram.getValueAtPercentile(50)),
+                    formatNanos(histogram.getValueAtPercentile(99)), formatNanos(histogram.getValueAtPercentile(99.9)),
+                    formatNanos(histogram.getMaxValue())));
+        }
+        return sb.toString();
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000d);
+    }
+
+    // values below 2^SUB_BUCKET_BITS have a bucket each; above, [2^e, 2^(e+1)) is split into SUB_BUCKET_HALF_COUNT
+    // buckets of width 2^(e-SUB_BUCKET_BITS+1)
+    static int getBucketIndex(long value) {
+        if (value < 1 << SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        return (shift + 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    static long getLowestValue(int bucketIndex) {
+        if (bucketIndex < 1 << SUB_BUCKET_BITS) {
+            return bucketIndex;
+        }
+        int shift = bucketIndex / SUB_BUCKET_HALF_COUNT - 1;
+        return (long) (bucketIndex % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT) << shift;
+    }
+
+    public void recordValue(long nanos) {
+        long value = Math.max(nanos, 0);
+        int index = getBucketIndex(value);
+        // only the owning thread writes, so a plain increment that is published lazily suffices
+        counts.lazySet(index, counts.get(index) + 1);
+        if (value > maxValue.get()) {
+            maxValue.lazySet(value);
+        }
+    }
+
+    private void add(LatencyHistogram other) {
+        for (int i = 0; i < NR_BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.lazySet(i, counts.get(i) + count);
+            }
+        }
+        maxValue.lazySet(Math.max(maxValue.get(), other.maxValue.get()));
+    }
+
+    public long getTotalCount() {
+        long totalCount = 0;
+        for (int i = 0; i < NR_BUCKETS; i++) {
+            totalCount += counts.get(i);
+        }
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the highest latency that is equivalent (i.e., in the same bucket) to the given percentile.
+     *
+     * @param percentile
+     *            the percentile between 0 and 100
+     *
+     * @return the latency in nanoseconds, or 0 if no latency has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long totalCount = getTotalCount();
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulativeCount = 0;
+        for (int i = 0; i < NR_BUCKETS; i++) {
+            cumulativeCount += counts.get(i);
+            if (cumulativeCount >= rank) {
+                long highestEquivalentValue = i == NR_BUCKETS - 1 ? Long.MAX_VALUE : getLowestValue(i + 1) - 1;
+                return Math.min(highestEquivalentValue, getMaxValue());
+            }
+        }
+        return 0;
+    }
+
+}
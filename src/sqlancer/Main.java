@@ -23,17 +23,18 @@ import java.util.concurrent.atomic.AtomicLong;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.JCommander.Builder;
 
+import sqlancer.MainOptions.ReducerKind;
+import sqlancer.MetricsRegistry.Counter;
+import sqlancer.common.ast.ExpressionReducer;
+import sqlancer.common.log.GroupCommitLogWriter;
 import sqlancer.common.log.Loggable;
+import sqlancer.common.log.LoggableFactory;
 import sqlancer.common.query.Query;
 import sqlancer.common.query.SQLancerResultSet;
 
 public final class Main {
 
     public static final File LOG_DIRECTORY = new File("logs");
-    public static volatile AtomicLong nrQueries = new AtomicLong();
-    public static volatile AtomicLong nrDatabases = new AtomicLong();
-    public static volatile AtomicLong nrSuccessfulActions = new AtomicLong();
-    public static volatile AtomicLong nrUnsuccessfulActions = new AtomicLong();
     public static volatile AtomicLong threadsShutdown = new AtomicLong();
     static boolean progressMonitorStarted;
 
@@ -53,8 +54,10 @@ public final class Main {
         private File curFile;
         private File queryPlanFile;
         private FileWriter logFileWriter;
-        public FileWriter currentFileWriter;
+        private FileWriter currentFileWriter;
+        private GroupCommitLogWriter currentLogWriter;
         private FileWriter queryPlanFileWriter;
+        private GroupCommitLogWriter queryPlanLogWriter;
         private static final List<String> INITIALIZED_PROVIDER_NAMES = new ArrayList<>();
         private final boolean logEachSelect;
         private final boolean logQueryPlan;
@@ -131,7 +134,7 @@ public final class Main {
             return logFileWriter;
         }
 
-        public FileWriter getCurrentFileWriter() {
+        private FileWriter getCurrentFileWriter() {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
@@ -145,7 +148,47 @@ public final class Main {
             return currentFileWriter;
         }
 
-        public FileWriter getQueryPlanFileWriter() {
+        private GroupCommitLogWriter getCurrentLogWriter() {
+            if (currentLogWriter == null) {
+                currentLogWriter = new GroupCommitLogWriter(getCurrentFileWriter());
+            }
+            return currentLogWriter;
+        }
+
+        /**
+         * Writes the statements that are still buffered to the current log and closes it. The current log is truncated
+         * when it is written to again.
+         */
+        public void closeCurrentFileWriter() {
+            try {
+                if (currentLogWriter != null) {
+                    currentLogWriter.close();
+                } else if (currentFileWriter != null) {
+                    currentFileWriter.close();
+                }
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            currentLogWriter = null;
+            currentFileWriter = null;
+        }
+
+        /**
+         * Writes the statements that are still buffered to the current log, so that they are not lost if the DBMS
+         * crashes the JVM while executing the next statement.
+         */
+        public void flushCurrent() {
+            if (!logEachSelect) {
+                throw new UnsupportedOperationException();
+            }
+            try {
+                getCurrentLogWriter().flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        private FileWriter getQueryPlanFileWriter() {
             if (!logQueryPlan) {
                 throw new UnsupportedOperationException();
             }
@@ -159,14 +202,33 @@ public final class Main {
             return queryPlanFileWriter;
         }
 
+        private GroupCommitLogWriter getQueryPlanLogWriter() {
+            if (queryPlanLogWriter == null) {
+                queryPlanLogWriter = new GroupCommitLogWriter(getQueryPlanFileWriter());
+            }
+            return queryPlanLogWriter;
+        }
+
+        public void closeQueryPlanFileWriter() {
+            try {
+                if (queryPlanLogWriter != null) {
+                    queryPlanLogWriter.close();
+                } else if (queryPlanFileWriter != null) {
+                    queryPlanFileWriter.close();
+                }
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            queryPlanLogWriter = null;
+            queryPlanFileWriter = null;
+        }
+
         public void writeCurrent(StateToReproduce state) {
             if (!logEachSelect) {
                 throw new UnsupportedOperationException();
             }
-            printState(getCurrentFileWriter(), state);
             try {
-                currentFileWriter.flush();
-
+                getCurrentLogWriter().write(getStateString(state));
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -185,9 +247,7 @@ public final class Main {
                 throw new UnsupportedOperationException();
             }
             try {
-                getCurrentFileWriter().write(loggable.getLogString());
-
-                currentFileWriter.flush();
+                getCurrentLogWriter().write(loggable.getLogString());
             } catch (IOException e) {
                 throw new AssertionError();
             }
@@ -198,8 +258,7 @@ public final class Main {
                 throw new UnsupportedOperationException();
             }
             try {
-                getQueryPlanFileWriter().append(removeNamesFromQueryPlans(queryPlan));
-                queryPlanFileWriter.flush();
+                getQueryPlanLogWriter().write(removeNamesFromQueryPlans(queryPlan));
             } catch (IOException e) {
                 throw new AssertionError();
             }
@@ -209,8 +268,16 @@ public final class Main {
             Loggable stackTrace = getStackTrace(reduce);
             FileWriter logFileWriter2 = getLogFileWriter();
             try {
+                // the statements that led to the bug must be in the current log and the query plan log as well
+                if (currentLogWriter != null) {
+                    currentLogWriter.flush();
+                }
+                if (queryPlanLogWriter != null) {
+                    queryPlanLogWriter.flush();
+                }
                 logFileWriter2.write(stackTrace.getLogString());
-                printState(logFileWriter2, state);
+                logFileWriter2.write(getStateString(state));
+                logFileWriter2.write(getRecentStatementsString());
             } catch (IOException e) {
                 throw new AssertionError(e);
             } finally {
@@ -227,7 +294,7 @@ public final class Main {
             return databaseProvider.getLoggableFactory().convertStacktraceToLoggable(e1);
         }
 
-        private void printState(FileWriter writer, StateToReproduce state) {
+        private String getStateString(StateToReproduce state) {
             StringBuilder sb = new StringBuilder();
 
             sb.append(databaseProvider.getLoggableFactory()
@@ -236,11 +303,22 @@ public final class Main {
             for (Query<?> s : state.getStatements()) {
                 sb.append(databaseProvider.getLoggableFactory().createLoggable(s.getLogString()).getLogString());
             }
-            try {
-                writer.write(sb.toString());
-            } catch (IOException e) {
-                throw new AssertionError(e);
+            return sb.toString();
+        }
+
+        private String getRecentStatementsString() {
+            List<Query<?>> recentStatements = StatementTrace.getRecentStatements();
+            if (recentStatements.isEmpty()) {
+                return "";
+            }
+            LoggableFactory loggableFactory = databaseProvider.getLoggableFactory();
+            StringBuilder sb = new StringBuilder();
+            sb.append(loggableFactory.createCommentLoggable("Statements most recently executed by the thread:")
+                    .getLogString());
+            for (Query<?> s : recentStatements) {
+                sb.append(loggableFactory.createCommentLoggable(s.getLogString()).getLogString());
             }
+            return sb.toString();
         }
 
         private String removeNamesFromQueryPlans(String queryPlan) {
@@ -263,7 +341,7 @@ public final class Main {
         public boolean execute(Query<C> q, String... fills) throws Exception {
             boolean success;
             success = q.execute(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             if (globalState.getOptions().loggerPrintFailed() || success) {
                 globalState.getState().logStatement(q);
             }
@@ -274,20 +352,20 @@ public final class Main {
             globalState.getState().logStatement(q);
             SQLancerResultSet result;
             result = q.executeAndGet(globalState, fills);
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             return result;
         }
 
         public void incrementSelectQueryCount() {
-            Main.nrQueries.addAndGet(1);
+            globalState.incrementCounter(Counter.QUERIES);
         }
 
         public Long getSelectQueryCount() {
-            return Main.nrQueries.get();
+            return MetricsRegistry.getSnapshot().get(Counter.QUERIES);
         }
 
         public void incrementCreateDatabase() {
-            Main.nrDatabases.addAndGet(1);
+            globalState.incrementCounter(Counter.DATABASES);
         }
 
     }
@@ -335,6 +413,7 @@ public final class Main {
         }
 
         public void run() throws Exception {
+            r.startDatabaseStream();
             G state = createGlobalState();
             stateToRepro = provider.getStateToReproduce(databaseName);
             stateToRepro.seedValue = r.getSeed();
@@ -363,12 +442,7 @@ public final class Main {
                 } else {
                     reproducer = provider.generateAndTestDatabase(state);
                 }
-                try {
-                    logger.getCurrentFileWriter().close();
-                    logger.currentFileWriter = null;
-                } catch (IOException e) {
-                    throw new AssertionError(e);
-                }
+                logger.closeCurrentFileWriter();
                 if (reproducer != null && options.useReducer()) {
                     System.out.println("EXPERIMENTAL: Trying to reduce queries using a simple reducer.");
                     System.out.println("Reduced query will be output to stdout but not logs.");
@@ -382,13 +456,44 @@ public final class Main {
                     newGlobalState.setStateLogger(new StateLogger(databaseName, provider, options));
                     newGlobalState.setManager(newManager);
 
-                    Reducer<G> reducer = new StatementReducer<>(provider);
+                    Reducer<G> reducer;
+                    if (options.getReducerKind() == ReducerKind.DDMIN) {
+                        reducer = new DeltaDebuggingReducer<>(provider, options.getNrReducerThreads());
+                    } else {
+                        reducer = new StatementReducer<>(provider, options.getReducerSnapshotInterval());
+                    }
                     reducer.reduce(state, reproducer, newGlobalState);
+                    if (reproducer instanceof ExpressionReproducer) {
+                        @SuppressWarnings("unchecked")
+                        ExpressionReproducer<G, ?> expressionReproducer = (ExpressionReproducer<G, ?>) reproducer;
+                        reduceExpression(expressionReproducer, newGlobalState);
+                    }
                     throw new AssertionError("Found a potential bug");
                 }
             }
         }
 
+        // the reduced statements do not change while reducing the expression, so all candidates share one database
+        @SuppressWarnings("unchecked")
+        private <E> void reduceExpression(ExpressionReproducer<G, E> reproducer, G newGlobalState) throws Exception {
+            try (C con = provider.createDatabase(newGlobalState)) {
+                newGlobalState.setConnection(con);
+                for (Query<?> statement : newGlobalState.getState().getStatements()) {
+                    try {
+                        ((Query<C>) statement).execute(newGlobalState);
+                    } catch (Throwable ignoredException) {
+                        // ignore
+                    }
+                }
+                ExpressionReducer<E> expressionReducer = reproducer.getExpressionReducer();
+                E reducedExpression = expressionReducer.reduce(reproducer.getExpression(),
+                        candidate -> reproducer.bugStillTriggers(newGlobalState, candidate));
+                System.out.println(
+                        "Reduced expression (" + expressionReducer.getNrTestedCandidates() + " candidates tested):");
+                System.out.println(reproducer.getQueryString(reducedExpression));
+            }
+        }
+
         private G getInitializedGlobalState(long seed) {
             G state = createGlobalState();
             stateToRepro = provider.getStateToReproduce(databaseName);
@@ -473,7 +578,7 @@ public final class Main {
 
         Randomly.initialize(options);
         if (options.printProgressInformation()) {
-            startProgressMonitor();
+            startProgressMonitor(options.printLatencySummary());
             if (options.printProgressSummary()) {
                 Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
 
@@ -481,12 +586,18 @@ public final class Main {
                     public void run() {
                         System.out.println("Overall execution statistics");
                         System.out.println("============================");
-                        System.out.println(formatInteger(nrQueries.get()) + " queries");
-                        System.out.println(formatInteger(nrDatabases.get()) + " databases");
-                        System.out.println(
-                                formatInteger(nrSuccessfulActions.get()) + " successfully-executed statements");
-                        System.out.println(
-                                formatInteger(nrUnsuccessfulActions.get()) + " unsuccessfuly-executed statements");
+                        MetricsRegistry.Snapshot snapshot = MetricsRegistry.getSnapshot();
+                        System.out.println(formatInteger(snapshot.get(Counter.QUERIES)) + " queries");
+                        System.out.println(formatInteger(snapshot.get(Counter.DATABASES)) + " databases");
+                        System.out.println(formatInteger(snapshot.get(Counter.SUCCESSFUL_STATEMENTS))
+                                + " successfully-executed statements");
+                        System.out.println(formatInteger(snapshot.get(Counter.UNSUCCESSFUL_STATEMENTS))
+                                + " unsuccessfuly-executed statements");
+                        if (options.printLatencySummary()) {
+                            System.out.println("Statement latencies");
+                            System.out.println("===================");
+                            System.out.print(LatencyHistogram.getSummary());
+                        }
                     }
 
                     private String formatInteger(long intValue) {
@@ -500,7 +611,8 @@ public final class Main {
             }
         }
 
-        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads());
+        ExecutorService execService = Executors.newFixedThreadPool(options.getNumberConcurrentThreads(),
+                Randomly.RandomThread::new);
         DBMSExecutorFactory<?, ?, ?> executorFactory = nameToProvider.get(jc.getParsedCommand());
 
         if (options.performConnectionTest()) {
@@ -567,15 +679,11 @@ public final class Main {
                         executor.getLogger().logException(reduce, executor.getStateToReproduce());
                         return false;
                     } finally {
-                        try {
-                            if (options.logEachSelect()) {
-                                if (executor.getLogger().currentFileWriter != null) {
-                                    executor.getLogger().currentFileWriter.close();
-                                }
-                                executor.getLogger().currentFileWriter = null;
-                            }
-                        } catch (IOException e) {
-                            e.printStackTrace();
+                        if (options.logEachSelect()) {
+                            executor.getLogger().closeCurrentFileWriter();
+                        }
+                        if (options.logQueryPlan()) {
+                            executor.getLogger().closeQueryPlanFileWriter();
                         }
                     }
                 }
@@ -612,7 +720,7 @@ public final class Main {
         return providers;
     }
 
-    private static synchronized void startProgressMonitor() {
+    private static synchronized void startProgressMonitor(boolean printLatencySummary) {
         if (progressMonitorStarted) {
             /*
              * it might be already started if, for example, the main method is called multiple times in a test (see
@@ -636,20 +744,25 @@ public final class Main {
             @Override
             public void run() {
                 long elapsedTimeMillis = System.currentTimeMillis() - timeMillis;
-                long currentNrQueries = nrQueries.get();
+                MetricsRegistry.Snapshot snapshot = MetricsRegistry.getSnapshot();
+                long currentNrQueries = snapshot.get(Counter.QUERIES);
                 long nrCurrentQueries = currentNrQueries - lastNrQueries;
                 double throughput = nrCurrentQueries / (elapsedTimeMillis / 1000d);
-                long currentNrDbs = nrDatabases.get();
+                long currentNrDbs = snapshot.get(Counter.DATABASES);
                 long nrCurrentDbs = currentNrDbs - lastNrDbs;
                 double throughputDbs = nrCurrentDbs / (elapsedTimeMillis / 1000d);
-                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulActions.get()
-                        / (nrSuccessfulActions.get() + nrUnsuccessfulActions.get()));
+                long nrSuccessfulStatements = snapshot.get(Counter.SUCCESSFUL_STATEMENTS);
+                long successfulStatementsRatio = (long) (100.0 * nrSuccessfulStatements
+                        / (nrSuccessfulStatements + snapshot.get(Counter.UNSUCCESSFUL_STATEMENTS)));
                 DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
                 Date date = new Date();
                 System.out.println(String.format(
                         "[%s] Executed %d queries (%d queries/s; %.2f/s dbs, successful statements: %2d%%). Threads shut down: %d.",
                         dateFormat.format(date), currentNrQueries, (int) throughput, throughputDbs,
                         successfulStatementsRatio, threadsShutdown.get()));
+                if (printLatencySummary) {
+                    System.out.print(LatencyHistogram.getSummary());
+                }
                 timeMillis = System.currentTimeMillis();
                 lastNrQueries = currentNrQueries;
                 lastNrDbs = currentNrDbs;
@@ -37,6 +37,10 @@ public class MainOptions {
             "--num-queries" }, description = "Specifies the number of queries to be issued to a database before creating a new database")
     private int nrQueries = 100000; // NOPMD
 
+    @Parameter(names = {
+            "--num-database-clones" }, description = "EXPERIMENTAL Specifies how many times a generated database is cloned (e.g., using CREATE DATABASE ... TEMPLATE) to test another --num-queries queries on the copy before creating a new database (not supported by all DBMS)")
+    private int nrDatabaseClones; // NOPMD
+
     @Parameter(names = {
             "--num-statement-kind-retries" }, description = "Specifies the number of times a specific statement kind (e.g., INSERT) should be retried when the DBMS indicates that it failed")
     private int nrStatementRetryCount = 1000; // NOPMD
@@ -44,6 +48,9 @@ public class MainOptions {
     @Parameter(names = "--log-each-select", description = "Logs every statement issued", arity = 1)
     private boolean logEachSelect = true; // NOPMD
 
+    @Parameter(names = "--num-recent-statements", description = "The number of statements most recently executed by each thread that are kept in memory and written to the log file when a bug is found, as a cheaper alternative to --log-each-select (0 to disable)")
+    private int nrRecentStatements; // NOPMD
+
     @Parameter(names = "--log-execution-time", description = "Logs the execution time of each statement (requires --log-each-select to be enabled)", arity = 1)
     private boolean logExecutionTime = true; // NOPMD
 
@@ -83,6 +90,9 @@ public class MainOptions {
     @Parameter(names = "--print-progress-summary", description = "Whether to print an execution summary when exiting SQLancer", arity = 1)
     private boolean printProgressSummary; // NOPMD
 
+    @Parameter(names = "--print-latency-summary", description = "Whether to record the latency of each statement and print its percentiles per action and test oracle with the progress information and when exiting SQLancer", arity = 1)
+    private boolean printLatencySummary; // NOPMD
+
     @Parameter(names = "--timeout-seconds", description = "The timeout in seconds")
     private int timeoutSeconds = -1; // NOPMD
 
@@ -104,6 +114,30 @@ public class MainOptions {
     @Parameter(names = "--pqs-test-aggregates", description = "Partially test aggregate functions when all tables contain only a single row.", arity = 1)
     private boolean testAggregateFunctions; // NOPMD
 
+    @Parameter(names = "--server-side-result-hashing", description = "Let the DBMS count and hash the result sets that the TLP and NoREC oracles compare, so that the rows are only transferred when the hashes differ (not yet implemented for all DBMSs)", arity = 1)
+    private boolean serverSideResultHashing; // NOPMD
+
+    @Parameter(names = "--result-fetch-size", description = "The number of rows that the JDBC driver should fetch at once when reading a result set, so that large result sets are streamed rather than transferred at once (0 = the driver's default). Some drivers only stream under additional conditions, e.g., PostgreSQL's outside of auto-commit mode.")
+    private int resultFetchSize; // NOPMD
+
+    @Parameter(names = "--max-result-rows", description = "The maximum number of rows that an oracle reads from the result set of a query, which is skipped if it has more rows (0 = unlimited)")
+    private int maxResultRows; // NOPMD
+
+    @Parameter(names = "--max-result-memory-mb", description = "The approximate number of megabytes that the rows of a result set may occupy in memory. When comparing result sets that are larger, the TLP oracles sort them on disk, and other oracles skip the query (0 = unlimited).")
+    private int maxResultMemoryMB = 64; // NOPMD
+
+    @Parameter(names = "--max-join-rows", description = "Skip queries of the TLP and NoREC oracles whose joins are estimated to produce more rows than this number, before executing them. The estimate is computed from the tables' numbers of rows, which are counted for this purpose, and refined by the query planner's estimate where available (0 = disabled; not yet implemented for all DBMSs).")
+    private long maxJoinRows; // NOPMD
+
+    @Parameter(names = "--schema-verification-interval", description = "Statements that know their effect on the schema (e.g., CREATE INDEX) apply it to the in-memory schema, rather than causing the schema to be read from the DBMS. After this number of statements that could affect the schema, and whenever applying an effect fails, the schema is read again, which corrects divergences (1 = always read the schema; not yet implemented for all DBMSs).")
+    private int schemaVerificationInterval = 20; // NOPMD
+
+    @Parameter(names = "--pivot-row-sample-size", description = "The PQS oracles draw their pivot rows from a random sample of this number of rows per table, which is read once and reused until the table might have been modified (not yet implemented for all DBMSs).")
+    private int pivotRowSampleSize = 100; // NOPMD
+
+    @Parameter(names = "--pqs-batch-size", description = "The number of pivot rows whose containment the PQS oracles check in a single query, which reduces the number of round trips to the DBMS. The pivot rows that the batched query reports as missing are checked again individually before a bug is reported (1 = check each pivot row individually; not yet implemented for all DBMSs).")
+    private int pqsBatchSize = 1; // NOPMD
+
     @Parameter(names = "--random-string-generation", description = "Select the random-string eneration approach")
     private StringGenerationStrategy randomStringGenerationStrategy = StringGenerationStrategy.SOPHISTICATED; // NOPMD
 
@@ -125,6 +159,19 @@ public class MainOptions {
     @Parameter(names = "--use-reducer", description = "EXPERIMENTAL Attempt to reduce queries using a simple reducer")
     private boolean useReducer = false; // NOPMD
 
+    @Parameter(names = "--reducer", description = "EXPERIMENTAL The reducer used by --use-reducer: SIMPLE removes one statement at a time, DDMIN removes chunks of statements using delta debugging")
+    private ReducerKind reducerKind = ReducerKind.SIMPLE; // NOPMD
+
+    @Parameter(names = "--num-reducer-threads", description = "EXPERIMENTAL How many threads the DDMIN reducer uses to test candidates concurrently, each on a separate database")
+    private int nrReducerThreads = 4; // NOPMD
+
+    @Parameter(names = "--reducer-snapshot-interval", description = "EXPERIMENTAL Let the SIMPLE reducer keep a copy of the database after every given number of statements, so that candidates are replayed from the nearest copy rather than from an empty database (0 = disabled). Requires a DBMS that supports --num-database-clones.")
+    private int reducerSnapshotInterval = 0; // NOPMD
+
+    public enum ReducerKind {
+        SIMPLE, DDMIN
+    }
+
     public int getMaxExpressionDepth() {
         return maxExpressionDepth;
     }
@@ -137,6 +184,10 @@ public class MainOptions {
         return nrConcurrentThreads;
     }
 
+    public int getNrRecentStatements() {
+        return nrRecentStatements;
+    }
+
     public boolean logEachSelect() {
         return logEachSelect;
     }
@@ -156,10 +207,8 @@ public class MainOptions {
     }
 
     public boolean logExecutionTime() {
-        if (!logEachSelect) {
-            throw new AssertionError();
-        }
-        return logExecutionTime;
+        // the execution time is written to the current log, so there is nothing to log it to without --log-each-select
+        return logEachSelect && logExecutionTime;
     }
 
     public boolean loggerPrintFailed() {
@@ -190,6 +239,10 @@ public class MainOptions {
         return nrQueries;
     }
 
+    public int getNrDatabaseClones() {
+        return nrDatabaseClones;
+    }
+
     public int getMaxNumberInserts() {
         return maxNumberInserts;
     }
@@ -222,6 +275,10 @@ public class MainOptions {
         return printProgressSummary;
     }
 
+    public boolean printLatencySummary() {
+        return printLatencySummary;
+    }
+
     public int getTimeoutSeconds() {
         return timeoutSeconds;
     }
@@ -242,6 +299,38 @@ public class MainOptions {
         return testAggregateFunctions;
     }
 
+    public boolean useServerSideResultHashing() {
+        return serverSideResultHashing;
+    }
+
+    public int getResultFetchSize() {
+        return resultFetchSize;
+    }
+
+    public int getMaxResultRows() {
+        return maxResultRows;
+    }
+
+    public long getMaxResultMemoryBytes() {
+        return maxResultMemoryMB * 1024L * 1024L;
+    }
+
+    public long getMaxJoinRows() {
+        return maxJoinRows;
+    }
+
+    public int getSchemaVerificationInterval() {
+        return schemaVerificationInterval;
+    }
+
+    public int getPivotRowSampleSize() {
+        return pivotRowSampleSize;
+    }
+
+    public int getPQSBatchSize() {
+        return pqsBatchSize;
+    }
+
     public boolean testOnlyWithMoreThanZeroRows() {
         return testOnlyWithMoreThanZeroRows;
     }
@@ -285,4 +374,16 @@ public class MainOptions {
     public boolean useReducer() {
         return useReducer;
     }
+
+    public ReducerKind getReducerKind() {
+        return reducerKind;
+    }
+
+    public int getNrReducerThreads() {
+        return nrReducerThreads;
+    }
+
+    public int getReducerSnapshotInterval() {
+        return reducerSnapshotInterval;
+    }
 }
@@ -0,0 +1,120 @@
+package sqlancer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the executed queries, created databases, and executed statements per DBMS and action (i.e., the statement kind
+ * or the test oracle). The counters are {@link LongAdder}s, which are striped across threads, so that threads that
+ * increment the same counter do not contend on a single cache line. The counters are read through a {@link Snapshot}.
+ */
+public final class MetricsRegistry {
+
+    private static final String DEFAULT_ACTION_NAME = "OTHER";
+
+    private static final Map<String, Map<String, Counters>> COUNTERS = new ConcurrentHashMap<>();
+
+    public enum Counter {
+        QUERIES, DATABASES, SUCCESSFUL_STATEMENTS, UNSUCCESSFUL_STATEMENTS
+    }
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * Returns the counters for the given DBMS and action, which can be kept to increment them without a lookup.
+     *
+     * @param dbmsName
+     *            the name of the DBMS
+     * @param actionName
+     *            the action or oracle that executes the statements, or null if unknown
+     *
+     * @return the counters
+     */
+    public static Counters getCounters(String dbmsName, String actionName) {
+        String name = actionName == null ? DEFAULT_ACTION_NAME : actionName;
+        return COUNTERS.computeIfAbsent(dbmsName, d -> new ConcurrentHashMap<>()).computeIfAbsent(name,
+                a -> new Counters());
+    }
+
+    public static Snapshot getSnapshot() {
+        SortedMap<String, SortedMap<String, long[]>> values = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Counters>> dbmsEntry : COUNTERS.entrySet()) {
+            SortedMap<String, long[]> actionValues = new TreeMap<>();
+            for (Map.Entry<String, Counters> actionEntry : dbmsEntry.getValue().entrySet()) {
+                actionValues.put(actionEntry.getKey(), actionEntry.getValue().sum());
+            }
+            values.put(dbmsEntry.getKey(), actionValues);
+        }
+        return new Snapshot(values);
+    }
+
+    public static final class Counters {
+
+        private final LongAdder[] adders = new LongAdder[Counter.values().length];
+
+        Counters() {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+
+        public void increment(Counter counter) {
+            adders[counter.ordinal()].increment();
+        }
+
+        private long[] sum() {
+            long[] values = new long[adders.length];
+            for (int i = 0; i < adders.length; i++) {
+                values[i] = adders[i].sum();
+            }
+            return values;
+        }
+
+    }
+
+    /**
+     * The values of all counters at some point in time. The values of different counters are read one after another, so
+     * they might not be consistent with each other while statements are being executed.
+     */
+    public static final class Snapshot {
+
+        private final SortedMap<String, SortedMap<String, long[]>> values;
+
+        private Snapshot(SortedMap<String, SortedMap<String, long[]>> values) {
+            this.values = values;
+        }
+
+        public long get(Counter counter) {
+            long sum = 0;
+            for (SortedMap<String, long[]> actionValues : values.values()) {
+                for (long[] counterValues : actionValues.values()) {
+                    sum += counterValues[counter.ordinal()];
+                }
+            }
+            return sum;
+        }
+
+        public long get(Counter counter, String dbmsName, String actionName) {
+            long[] counterValues = values.getOrDefault(dbmsName, Collections.emptySortedMap())
+                    .get(actionName == null ? DEFAULT_ACTION_NAME : actionName);
+            return counterValues == null ? 0 : counterValues[counter.ordinal()];
+        }
+
+        public SortedSet<String> getDBMSNames() {
+            return new TreeSet<>(values.keySet());
+        }
+
+        public SortedSet<String> getActionNames(String dbmsName) {
+            return new TreeSet<>(values.getOrDefault(dbmsName, Collections.emptySortedMap()).keySet());
+        }
+
+    }
+
+}
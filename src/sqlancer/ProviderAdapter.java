@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import sqlancer.StateToReproduce.OracleRunReproductionState;
@@ -16,6 +17,9 @@ import sqlancer.common.schema.AbstractSchema;
 public abstract class ProviderAdapter<G extends GlobalState<O, ? extends AbstractSchema<G, ?>, C>, O extends DBMSSpecificOptions<? extends OracleFactory<G>>, C extends SQLancerDBConnection>
         implements DatabaseProvider<G, O, C> {
 
+    // numbers the clones of databases, whose names must be unique across all threads
+    private static final AtomicLong NR_CLONES = new AtomicLong();
+
     private final Class<G> globalClass;
     private final Class<O> optionClass;
 
@@ -48,33 +52,62 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
 
     @Override
     public Reproducer<G> generateAndTestDatabase(G globalState) throws Exception {
+        String databaseName = globalState.getDatabaseName();
         try {
+            // the statements of the previous database are not part of this database's bug report
+            StatementTrace.clear();
             generateDatabase(globalState);
             checkViewsAreValid(globalState);
             globalState.getManager().incrementCreateDatabase();
 
-            TestOracle<G> oracle = getTestOracle(globalState);
-            for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
-                try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
-                    assert localState != null;
-                    try {
-                        oracle.check();
-                        globalState.getManager().incrementSelectQueryCount();
-                    } catch (IgnoreMeException e) {
-
-                    } catch (AssertionError e) {
-                        Reproducer<G> reproducer = oracle.getLastReproducer();
-                        if (reproducer != null) {
-                            return reproducer;
-                        }
-                        throw e;
-                    }
-                    assert localState != null;
-                    localState.executedWithoutError();
+            Reproducer<G> reproducer = testDatabase(globalState);
+            for (int i = 0; reproducer == null && i < globalState.getOptions().getNrDatabaseClones(); i++) {
+                // the source database must not be in use while it is being cloned
+                globalState.getConnection().close();
+                globalState.setDatabaseName(databaseName);
+                String cloneName = databaseName + "_clone" + NR_CLONES.incrementAndGet();
+                globalState.setConnection(cloneDatabase(globalState, cloneName));
+                globalState.setDatabaseName(cloneName);
+                try {
+                    // session-local state such as temporary tables is not part of the clone
+                    globalState.updateSchema();
+                    checkViewsAreValid(globalState);
+                    reproducer = testDatabase(globalState);
+                } finally {
+                    globalState.getConnection().close();
+                    dropDatabase(globalState);
                 }
             }
+            return reproducer;
         } finally {
             globalState.getConnection().close();
+            globalState.setDatabaseName(databaseName);
+        }
+    }
+
+    private Reproducer<G> testDatabase(G globalState) throws Exception {
+        TestOracle<G> oracle = getTestOracle(globalState);
+        for (int i = 0; i < globalState.getOptions().getNrQueries(); i++) {
+            try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
+                assert localState != null;
+                globalState.setCurrentActionName(oracle.getClass().getSimpleName());
+                try {
+                    oracle.check();
+                    globalState.getManager().incrementSelectQueryCount();
+                } catch (IgnoreMeException e) {
+
+                } catch (AssertionError e) {
+                    Reproducer<G> reproducer = oracle.getLastReproducer();
+                    if (reproducer != null) {
+                        return reproducer;
+                    }
+                    throw e;
+                } finally {
+                    globalState.setCurrentActionName(null);
+                }
+                assert localState != null;
+                localState.executedWithoutError();
+            }
         }
         return null;
     }
@@ -117,6 +150,7 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
             weightedAverageReward = initializeWeightedAverageReward(); // Same length as the list of mutators
         }
         try {
+            StatementTrace.clear();
             generateDatabase(globalState);
             checkViewsAreValid(globalState);
             globalState.getManager().incrementCreateDatabase();
@@ -129,7 +163,12 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
                     try (OracleRunReproductionState localState = globalState.getState().createLocalState()) {
                         assert localState != null;
                         try {
-                            oracle.check();
+                            globalState.setCurrentActionName(oracle.getClass().getSimpleName());
+                            try {
+                                oracle.check();
+                            } finally {
+                                globalState.setCurrentActionName(null);
+                            }
                             String query = oracle.getLastQueryString();
                             executedQueryCount += 1;
                             if (addQueryPlan(query, globalState)) {
@@ -253,6 +292,18 @@ public abstract class ProviderAdapter<G extends GlobalState<O, ? extends Abstrac
         throw new UnsupportedOperationException();
     }
 
+    // Clone mode: create a copy of the generated database and connect to it (required implementation in specific DBMS
+    // when enabling --num-database-clones or --reducer-snapshot-interval)
+    @Override
+    public C cloneDatabase(G globalState, String cloneName) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    // Databases created only for reduction are left behind unless the specific DBMS implements dropping them
+    @Override
+    public void dropDatabase(G globalState) throws Exception {
+    }
+
     // QPG: add rows to all tables (required implementation in specific DBMS when enabling PQS oracle for QPG)
     protected boolean addRowsToAllTables(G globalState) throws Exception {
         throw new UnsupportedOperationException();
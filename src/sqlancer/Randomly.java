@@ -3,9 +3,11 @@ package sqlancer;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.Supplier;
 
 public final class Randomly {
@@ -15,39 +17,151 @@ public final class Randomly {
     private static boolean useCaching = true;
     private static int cacheSize = 100;
 
-    private final List<Long> cachedLongs = new ArrayList<>();
+    private final LongCache cachedLongs = new LongCache();
+    private final Set<String> cachedStringSet = new HashSet<>();
     private final List<String> cachedStrings = new ArrayList<>();
-    private final List<Double> cachedDoubles = new ArrayList<>();
+    // the doubles are cached by their bit patterns, which is how Double.equals compares them
+    private final LongCache cachedDoubles = new LongCache();
     private final List<byte[]> cachedBytes = new ArrayList<>();
     private Supplier<String> provider;
 
-    private static final ThreadLocal<Random> THREAD_RANDOM = new ThreadLocal<>();
+    private static final ThreadLocal<ThreadState> THREAD_STATE = ThreadLocal.withInitial(ThreadState::new);
     private long seed;
+    // only used to split a stream for each database, so that a database's values do not depend on the previous ones
+    private final SplittableRandom threadStream;
+
+    // the random stream of a thread, and the scratch space used to select random subsets without allocating it
+    private static final class ThreadState {
+
+        private SplittableRandom stream;
+        private int[] indices = new int[16];
+
+    }
+
+    /**
+     * A thread that keeps its random stream in a field, so that the static methods of {@link Randomly} do not need a
+     * {@link ThreadLocal} lookup on each call. Other threads keep their stream in a {@link ThreadLocal}.
+     */
+    public static final class RandomThread extends Thread {
+
+        private final ThreadState state = new ThreadState();
+
+        public RandomThread(Runnable runnable) {
+            super(runnable);
+        }
+
+    }
+
+    /**
+     * A set of longs that uses open addressing with linear probing, so that neither a lookup nor an insertion boxes the
+     * value or scans the set. The elements are also kept in a dense array in insertion order, from which a random
+     * element is picked. Both arrays grow as needed, up to the constant cache size.
+     */
+    static final class LongCache {
+
+        private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+        // 0 marks an empty slot, so whether 0 is an element is stored separately
+        private long[] table = new long[16];
+        private boolean containsZero;
+        private long[] values = new long[8];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean contains(long value) {
+            if (value == 0) {
+                return containsZero;
+            }
+            int mask = table.length - 1;
+            for (int i = getSlot(value, mask);; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return true;
+                } else if (table[i] == 0) {
+                    return false;
+                }
+            }
+        }
+
+        void add(long value) {
+            if (value == 0) {
+                if (containsZero) {
+                    return;
+                }
+                containsZero = true;
+            } else if (!insertIntoTable(table, value)) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            // keep the table at most half full, so that the probe sequences stay short
+            if (size * 2 > table.length) {
+                long[] newTable = new long[table.length * 2];
+                for (int i = 0; i < size; i++) {
+                    if (values[i] != 0) {
+                        insertIntoTable(newTable, values[i]);
+                    }
+                }
+                table = newTable;
+            }
+        }
+
+        long getRandom() {
+            return values[(int) getNextLong(0, size)];
+        }
+
+        void clear() {
+            Arrays.fill(table, 0);
+            containsZero = false;
+            size = 0;
+        }
+
+        private static boolean insertIntoTable(long[] table, long value) {
+            int mask = table.length - 1;
+            for (int i = getSlot(value, mask);; i = (i + 1) & mask) {
+                if (table[i] == value) {
+                    return false;
+                } else if (table[i] == 0) {
+                    table[i] = value;
+                    return true;
+                }
+            }
+        }
+
+        private static int getSlot(long value, int mask) {
+            return (int) ((value * HASH_MULTIPLIER) >>> 32) & mask;
+        }
+
+    }
 
     private void addToCache(long val) {
-        if (useCaching && cachedLongs.size() < cacheSize && !cachedLongs.contains(val)) {
+        if (useCaching && cachedLongs.size() < cacheSize) {
             cachedLongs.add(val);
         }
     }
 
     private void addToCache(double val) {
-        if (useCaching && cachedDoubles.size() < cacheSize && !cachedDoubles.contains(val)) {
-            cachedDoubles.add(val);
+        if (useCaching && cachedDoubles.size() < cacheSize) {
+            cachedDoubles.add(Double.doubleToLongBits(val));
         }
     }
 
     private void addToCache(String val) {
-        if (useCaching && cachedStrings.size() < cacheSize && !cachedStrings.contains(val)) {
+        if (useCaching && cachedStrings.size() < cacheSize && cachedStringSet.add(val)) {
             cachedStrings.add(val);
         }
     }
 
-    private Long getFromLongCache() {
-        if (!useCaching || cachedLongs.isEmpty()) {
-            return null;
-        } else {
-            return Randomly.fromList(cachedLongs);
-        }
+    private boolean longCacheProbability() {
+        return cacheProbability() && !cachedLongs.isEmpty();
     }
 
     private Double getFromDoubleCache() {
@@ -55,9 +169,9 @@ public final class Randomly {
             return null;
         }
         if (Randomly.getBoolean() && !cachedLongs.isEmpty()) {
-            return (double) Randomly.fromList(cachedLongs);
+            return (double) cachedLongs.getRandom();
         } else if (!cachedDoubles.isEmpty()) {
-            return Randomly.fromList(cachedDoubles);
+            return Double.longBitsToDouble(cachedDoubles.getRandom());
         } else {
             return null;
         }
@@ -68,9 +182,9 @@ public final class Randomly {
             return null;
         }
         if (Randomly.getBoolean() && !cachedLongs.isEmpty()) {
-            return String.valueOf(Randomly.fromList(cachedLongs));
+            return String.valueOf(cachedLongs.getRandom());
         } else if (Randomly.getBoolean() && !cachedDoubles.isEmpty()) {
-            return String.valueOf(Randomly.fromList(cachedDoubles));
+            return String.valueOf(Double.longBitsToDouble(cachedDoubles.getRandom()));
         } else if (Randomly.getBoolean() && !cachedBytes.isEmpty()
                 && stringGenerationStrategy == StringGenerationStrategy.SOPHISTICATED) {
             return new String(Randomly.fromList(cachedBytes));
@@ -133,58 +247,111 @@ public final class Randomly {
     }
 
     public static <T> List<T> subset(int nr, @SuppressWarnings("unchecked") T... values) {
-        List<T> list = new ArrayList<>();
-        Collections.addAll(list, values);
-        return extractNrRandomColumns(list, nr);
+        return extractNrRandomColumns(Arrays.asList(values), nr);
     }
 
     public static <T> List<T> subset(@SuppressWarnings("unchecked") T... values) {
-        List<T> list = new ArrayList<>(Arrays.asList(values));
-        return subset(list);
+        return subset(Arrays.asList(values));
     }
 
     public static <T> List<T> extractNrRandomColumns(List<T> columns, int nr) {
         assert nr >= 0;
-        List<T> selectedColumns = new ArrayList<>();
-        List<T> remainingColumns = new ArrayList<>(columns);
+        List<T> candidates = columns instanceof RandomAccess ? columns : new ArrayList<>(columns);
+        int size = candidates.size();
+        if (nr > size) {
+            throw new IndexOutOfBoundsException(nr + " " + size);
+        }
+        // a partial Fisher-Yates shuffle of the indices, which are kept in the thread's scratch array
+        ThreadState state = getThreadState();
+        if (state.indices.length < size) {
+            state.indices = new int[Math.max(size, state.indices.length * 2)];
+        }
+        int[] indices = state.indices;
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        List<T> selectedColumns = new ArrayList<>(nr);
         for (int i = 0; i < nr; i++) {
-            selectedColumns.add(remainingColumns.remove(getNextInt(0, remainingColumns.size())));
+            int j = getNextInt(i, size);
+            int selectedIndex = indices[j];
+            int unselectedIndex = indices[i];
+            indices[j] = unselectedIndex;
+            selectedColumns.add(candidates.get(selectedIndex));
         }
         return selectedColumns;
     }
 
     public static int smallNumber() {
         // no need to cache for small numbers
-        return (int) (Math.abs(getThreadRandom().get().nextGaussian())) * 2;
+        return (int) (Math.abs(nextGaussian(getStream()))) * 2;
     }
 
     public static boolean getBoolean() {
-        return getThreadRandom().get().nextBoolean();
+        return getStream().nextBoolean();
     }
 
     public static double getPercentage() {
-        return getThreadRandom().get().nextDouble();
+        return getStream().nextDouble();
+    }
+
+    private static ThreadState getThreadState() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof RandomThread) {
+            return ((RandomThread) thread).state;
+        } else {
+            return THREAD_STATE.get();
+        }
     }
 
-    private static ThreadLocal<Random> getThreadRandom() {
-        if (THREAD_RANDOM.get() == null) {
+    private static SplittableRandom getStream() {
+        ThreadState state = getThreadState();
+        if (state.stream == null) {
             // a static method has been called, before Randomly was instantiated
-            THREAD_RANDOM.set(new Random());
+            state.stream = new SplittableRandom();
         }
-        return THREAD_RANDOM;
+        return state.stream;
+    }
+
+    private static void setStream(SplittableRandom stream) {
+        getThreadState().stream = stream;
+    }
+
+    /**
+     * Makes the calling thread generate values from a new stream that is split from the stream of this instance. The
+     * values generated for a database thus only depend on the seed and on the number of previously generated databases,
+     * but not on how many values were generated for these. The constants cached for the previous databases are
+     * discarded for the same reason.
+     */
+    public void startDatabaseStream() {
+        setStream(threadStream.split());
+        cachedLongs.clear();
+        cachedStringSet.clear();
+        cachedStrings.clear();
+        cachedDoubles.clear();
+        cachedBytes.clear();
+    }
+
+    // the polar method as used by Random.nextGaussian(), which SplittableRandom does not provide in Java 11
+    private static double nextGaussian(SplittableRandom stream) {
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * stream.nextDouble() - 1;
+            v2 = 2 * stream.nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
     }
 
     public long getInteger() {
         if (smallBiasProbability()) {
             return Randomly.fromOptions(-1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L, 0L);
         } else {
-            if (cacheProbability()) {
-                Long l = getFromLongCache();
-                if (l != null) {
-                    return l;
-                }
+            if (longCacheProbability()) {
+                return cachedLongs.getRandom();
             }
-            long nextLong = getThreadRandom().get().nextInt();
+            long nextLong = getStream().nextInt();
             addToCache(nextLong);
             return nextLong;
         }
@@ -328,7 +495,7 @@ public final class Randomly {
     public byte[] getBytes() {
         int size = Randomly.smallNumber();
         byte[] arr = new byte[size];
-        getThreadRandom().get().nextBytes(arr);
+        getStream().nextBytes(arr);
         return arr;
     }
 
@@ -337,9 +504,9 @@ public final class Randomly {
         if (smallBiasProbability()) {
             return Randomly.fromOptions(-1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L);
         }
-        if (cacheProbability()) {
-            Long l = getFromLongCache();
-            if (l != null && l != 0) {
+        if (longCacheProbability()) {
+            long l = cachedLongs.getRandom();
+            if (l != 0) {
                 return l;
             }
         }
@@ -351,9 +518,9 @@ public final class Randomly {
     }
 
     public long getPositiveInteger() {
-        if (cacheProbability()) {
-            Long value = getFromLongCache();
-            if (value != null && value >= 0) {
+        if (longCacheProbability()) {
+            long value = cachedLongs.getRandom();
+            if (value >= 0) {
                 return value;
             }
         }
@@ -387,17 +554,17 @@ public final class Randomly {
                 return d;
             }
         }
-        double value = getThreadRandom().get().nextDouble();
+        double value = getStream().nextDouble();
         addToCache(value);
         return value;
     }
 
     private static boolean smallBiasProbability() {
-        return getThreadRandom().get().nextInt(100) == 1;
+        return getStream().nextInt(100) == 1;
     }
 
     public static boolean getBooleanWithRatherLowProbability() {
-        return getThreadRandom().get().nextInt(10) == 1;
+        return getStream().nextInt(10) == 1;
     }
 
     public static boolean getBooleanWithSmallProbability() {
@@ -420,7 +587,7 @@ public final class Randomly {
     }
 
     public BigDecimal getRandomBigDecimal() {
-        return BigDecimal.valueOf(getThreadRandom().get().nextDouble());
+        return BigDecimal.valueOf(getStream().nextDouble());
     }
 
     public long getPositiveIntegerNotNull() {
@@ -433,7 +600,7 @@ public final class Randomly {
     }
 
     public static long getNonCachedInteger() {
-        return getThreadRandom().get().nextLong();
+        return getStream().nextLong();
     }
 
     public static long getPositiveOrZeroNonCachedInteger() {
@@ -446,19 +613,22 @@ public final class Randomly {
 
     public Randomly(Supplier<String> provider) {
         this.provider = provider;
+        this.threadStream = getStream();
     }
 
+    // continues the calling thread's stream, so that creating an instance while testing does not affect reproducibility
     public Randomly() {
-        THREAD_RANDOM.set(new Random());
+        this.threadStream = getStream();
     }
 
     public Randomly(long seed) {
         this.seed = seed;
-        THREAD_RANDOM.set(new Random(seed));
+        this.threadStream = new SplittableRandom(seed);
+        setStream(threadStream);
     }
 
     public static double getUncachedDouble() {
-        return getThreadRandom().get().nextDouble();
+        return getStream().nextDouble();
     }
 
     public String getChar() {
@@ -479,9 +649,6 @@ public final class Randomly {
         }
     }
 
-    // see https://stackoverflow.com/a/2546158
-    // uniformity does not seem to be important for us
-    // SQLancer previously used ThreadLocalRandom.current().nextLong(lower, upper)
     private static long getNextLong(long lower, long upper) {
         if (lower > upper) {
             throw new IllegalArgumentException(lower + " " + upper);
@@ -489,7 +656,7 @@ public final class Randomly {
         if (lower == upper) {
             return lower;
         }
-        return getThreadRandom().get().longs(lower, upper).findFirst().getAsLong();
+        return getStream().nextLong(lower, upper);
     }
 
     private static int getNextInt(int lower, int upper) {
@@ -0,0 +1,229 @@
+package sqlancer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import sqlancer.common.query.SQLancerResultSet;
+
+/**
+ * A row of a result set, whose values are read according to their JDBC types and canonicalized, so that rows can be
+ * compared across all columns. Exact numbers (e.g., integers and decimals) are compared by their values, independent of
+ * their scale, and approximate numbers (i.e., floating-point numbers) are compared with the tolerance of
+ * {@link ComparatorHelper#isEqualDouble(String, String)}. Other values are compared by their string representations.
+ *
+ * Rows are ordered by their values with the floating-point numbers rounded to the precision of that tolerance, so that
+ * rows that differ only within the tolerance are ordered by their other values in the same way on both sides of a
+ * comparison. Rows whose rounded values are all equal are ordered by their exact values.
+ */
+public final class ResultRow implements Comparable<ResultRow> {
+
+    private static final MathContext SORT_KEY_PRECISION = new MathContext(3, RoundingMode.HALF_EVEN);
+    private static final int SORT_KEY_SCALE = 3;
+
+    // each value is null, a BigDecimal without trailing zeros, a Double, or a String
+    private final Object[] values;
+    // the values with finite Doubles rounded to BigDecimals, or the values themselves if there are no such Doubles
+    private final Object[] sortKeys;
+
+    ResultRow(Object... values) {
+        this.values = values.clone();
+        this.sortKeys = getSortKeys(this.values);
+    }
+
+    /**
+     * Reads the current row of the result set.
+     *
+     * @param rs
+     *            the result set, which is positioned on a row
+     * @param nrColumns
+     *            the number of columns to read
+     *
+     * @return the row
+     *
+     * @throws SQLException
+     *             if a value cannot be read
+     */
+    public static ResultRow read(SQLancerResultSet rs, int nrColumns) throws SQLException {
+        Object[] values = new Object[nrColumns];
+        for (int i = 0; i < nrColumns; i++) {
+            values[i] = readValue(rs, i + 1);
+        }
+        return new ResultRow(values);
+    }
+
+    private static Object readValue(SQLancerResultSet rs, int column) throws SQLException {
+        Object value;
+        try {
+            value = rs.getObject(column);
+        } catch (SQLException e) {
+            // e.g., a date that cannot be represented by a Java object
+            return rs.getString(column);
+        }
+        if (value == null) {
+            return null;
+        } else if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).stripTrailingZeros();
+        } else {
+            return rs.getString(column);
+        }
+    }
+
+    private static Object[] getSortKeys(Object[] values) {
+        Object[] sortKeys = values;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Double && Double.isFinite((double) values[i])) {
+                if (sortKeys == values) {
+                    sortKeys = values.clone();
+                }
+                sortKeys[i] = round((double) values[i]);
+            }
+        }
+        return sortKeys;
+    }
+
+    // rounds to the absolute tolerance for small numbers, and to the relative tolerance for the others
+    private static BigDecimal round(double value) {
+        BigDecimal exactValue = new BigDecimal(value);
+        BigDecimal roundedValue;
+        if (Math.abs(value) < 1) {
+            roundedValue = exactValue.setScale(SORT_KEY_SCALE, SORT_KEY_PRECISION.getRoundingMode());
+        } else {
+            roundedValue = exactValue.round(SORT_KEY_PRECISION);
+        }
+        return roundedValue.stripTrailingZeros();
+    }
+
+    // an approximation of the heap memory that the row and the reference to it occupy
+    long estimateSize() {
+        long size = 32 + 8L * values.length;
+        if (sortKeys != values) {
+            size += 32 + 40L * values.length;
+        }
+        for (Object value : values) {
+            if (value instanceof String) {
+                size += ExternalStringSorter.estimateSize((String) value);
+            } else if (value != null) {
+                size += 32;
+            }
+        }
+        return size;
+    }
+
+    public int getNrColumns() {
+        return values.length;
+    }
+
+    /**
+     * Checks whether this row is equal to another one, where floating-point numbers are compared with a tolerance.
+     *
+     * @param other
+     *            the other row
+     *
+     * @return whether all values are equal
+     */
+    public boolean isEqual(ResultRow other) {
+        if (values.length != other.values.length) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (!isEqual(values[i], other.values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEqual(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a instanceof Double || b instanceof Double) {
+            if (!(a instanceof Number) || !(b instanceof Number)) {
+                return false;
+            }
+            double first = ((Number) a).doubleValue();
+            double second = ((Number) b).doubleValue();
+            return Double.isNaN(first) && Double.isNaN(second) || ComparatorHelper.equals(first, second);
+        }
+        return compare(a, b) == 0;
+    }
+
+    // orders NULL values before numbers, and numbers before other values
+    private static int compare(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? b == null ? 0 : -1 : 1;
+        }
+        boolean aIsNumber = a instanceof Number;
+        boolean bIsNumber = b instanceof Number;
+        if (aIsNumber && bIsNumber) {
+            if (a instanceof BigDecimal && b instanceof BigDecimal) {
+                return ((BigDecimal) a).compareTo((BigDecimal) b);
+            } else if (a instanceof Double && b instanceof Double) {
+                return compare((double) a, (double) b);
+            } else if (a instanceof Double) {
+                return compare((double) a, (BigDecimal) b);
+            } else {
+                return -compare((double) b, (BigDecimal) a);
+            }
+        } else if (aIsNumber || bIsNumber) {
+            return aIsNumber ? -1 : 1;
+        } else {
+            return ((String) a).compareTo((String) b);
+        }
+    }
+
+    // like Double.compare(), but with -0.0 equal to 0.0, which is also equal to BigDecimal.ZERO
+    private static int compare(double a, double b) {
+        return a == b ? 0 : Double.compare(a, b);
+    }
+
+    // compares exactly rather than by converting the BigDecimal to a double, so that the order is transitive
+    private static int compare(double a, BigDecimal b) {
+        if (Double.isNaN(a) || a == Double.POSITIVE_INFINITY) {
+            return 1;
+        } else if (a == Double.NEGATIVE_INFINITY) {
+            return -1;
+        } else {
+            return new BigDecimal(a).compareTo(b);
+        }
+    }
+
+    @Override
+    public int compareTo(ResultRow other) {
+        int comparison = compare(sortKeys, other.sortKeys);
+        if (comparison == 0 && (sortKeys != values || other.sortKeys != other.values)) {
+            comparison = compare(values, other.values);
+        }
+        return comparison;
+    }
+
+    private static int compare(Object[] a, Object[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            int comparison = compare(a[i], b[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(values)
+                .map(v -> v instanceof BigDecimal ? ((BigDecimal) v).toPlainString() : String.valueOf(v))
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+}
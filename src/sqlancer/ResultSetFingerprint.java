@@ -0,0 +1,105 @@
+package sqlancer;
+
+/**
+ * An order-independent fingerprint of a multiset of values, such as the values of a result set's column. Each value is
+ * hashed to 128 bits, and the hashes are summed, so that two multisets that contain the same values the same number of
+ * times have the same fingerprint, independent of the order in which the values were added. A result set can thus be
+ * compared to another one while it is being read, without keeping its rows in memory.
+ *
+ * Alternatively, the DBMS can compute a summary of a result set (see
+ * {@link SQLGlobalState#getResultHashQuery(String)}), which is added by {@link #addServerSideHash(long, long, long)}.
+ * Since the DBMS uses a different hash function, a fingerprint is only equal to another one if the values of both were
+ * added the same way.
+ */
+public final class ResultSetFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long NULL_HASH = 0x5bd1e9955bd1e995L;
+
+    private long nrValues;
+    private long sum1;
+    private long sum2;
+    private boolean hasClientSideValues;
+    private boolean hasServerSideHashes;
+    private long serverNrNulls;
+    private long serverHashSum;
+
+    public void add(String value) {
+        long h1;
+        long h2;
+        if (value == null) {
+            h1 = NULL_HASH;
+            h2 = ~NULL_HASH;
+        } else {
+            // two independent 64-bit hashes: FNV-1a and a polynomial hash
+            h1 = FNV_OFFSET_BASIS;
+            h2 = value.length();
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                h1 = (h1 ^ c) * FNV_PRIME;
+                h2 = (h2 + c) * GOLDEN_GAMMA;
+            }
+        }
+        nrValues++;
+        sum1 += mix(h1);
+        sum2 += mix(h2 ^ GOLDEN_GAMMA);
+        hasClientSideValues = true;
+    }
+
+    /**
+     * Adds the summary of a result set that the DBMS computed.
+     *
+     * @param nrRows
+     *            the number of rows
+     * @param nrNulls
+     *            the number of NULL values
+     * @param hashSum
+     *            the sum of the hashes of the other values, modulo 2^64
+     */
+    public void addServerSideHash(long nrRows, long nrNulls, long hashSum) {
+        nrValues += nrRows;
+        serverNrNulls += nrNulls;
+        serverHashSum += hashSum;
+        hasServerSideHashes = true;
+    }
+
+    // the finalizer of MurmurHash3, so that each bit of the hash depends on all bits of the input
+    private static long mix(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public long getNrValues() {
+        return nrValues;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ResultSetFingerprint)) {
+            return false;
+        }
+        ResultSetFingerprint other = (ResultSetFingerprint) obj;
+        return nrValues == other.nrValues && sum1 == other.sum1 && sum2 == other.sum2
+                && hasClientSideValues == other.hasClientSideValues && hasServerSideHashes == other.hasServerSideHashes
+                && serverNrNulls == other.serverNrNulls && serverHashSum == other.serverHashSum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sum1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d values, %016x%016x, %d NULLs and %016x on the server", nrValues, sum1, sum2,
+                serverNrNulls, serverHashSum);
+    }
+
+}
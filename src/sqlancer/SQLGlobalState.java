@@ -1,5 +1,7 @@
 package sqlancer;
 
+import java.sql.SQLException;
+
 import sqlancer.common.query.Query;
 import sqlancer.common.schema.AbstractSchema;
 
@@ -21,10 +23,39 @@ public abstract class SQLGlobalState<O extends DBMSSpecificOptions<?>, S extends
             System.out.println(q.getQueryString());
         }
         if (logExecutionTime) {
-            getLogger().writeCurrent(" -- " + timer.end().asString());
+            getLogger().writeCurrent(" -- " + timer.asString());
         }
         if (q.couldAffectSchema()) {
-            updateSchema();
+            updateSchema(q, success);
         }
     }
+
+    /**
+     * Returns a query that computes a summary of the given query's result set on the server, for
+     * --server-side-result-hashing. The query must return a single row with the number of rows, the number of NULL
+     * values in the first column, and the sum of the hashes of the first column's other values.
+     *
+     * @param queryString
+     *            the query whose result set is summarized
+     *
+     * @return the query, or null if the DBMS does not support computing the summary
+     */
+    public String getResultHashQuery(String queryString) {
+        return null;
+    }
+
+    /**
+     * Returns the query planner's estimate of the number of rows that the given query returns, for --max-join-rows.
+     *
+     * @param queryString
+     *            the query
+     *
+     * @return the estimate, or -1 if the DBMS does not provide one
+     *
+     * @throws SQLException
+     *             if the estimate cannot be read
+     */
+    public long getEstimatedRowCount(String queryString) throws SQLException {
+        return -1;
+    }
 }
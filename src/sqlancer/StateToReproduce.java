@@ -36,6 +36,10 @@ public class StateToReproduce {
         return databaseName;
     }
 
+    public DatabaseProvider<?, ?, ?> getDatabaseProvider() {
+        return databaseProvider;
+    }
+
     public String getDatabaseVersion() {
         return databaseVersion;
     }
@@ -1,8 +1,5 @@
 package sqlancer;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import sqlancer.common.query.Query;
 
 public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends AbstractAction<G>> {
@@ -33,51 +30,40 @@ public class StatementExecutor<G extends GlobalState<?, ?, ?>, A extends Abstrac
     public void executeStatements() throws Exception {
         Randomly r = globalState.getRandomly();
         int[] nrRemaining = new int[actions.length];
-        List<A> availableActions = new ArrayList<>();
-        int total = 0;
         for (int i = 0; i < actions.length; i++) {
-            A action = actions[i];
-            int nrPerformed = mapping.map(globalState, action);
-            if (nrPerformed != 0) {
-                availableActions.add(action);
-            }
-            nrRemaining[i] = nrPerformed;
-            total += nrPerformed;
+            nrRemaining[i] = mapping.map(globalState, actions[i]);
         }
-        while (total != 0) {
-            A nextAction = null;
-            int selection = r.getInteger(0, total);
-            int previousRange = 0;
-            int i;
-            for (i = 0; i < nrRemaining.length; i++) {
-                if (previousRange <= selection && selection < previousRange + nrRemaining[i]) {
-                    nextAction = actions[i];
-                    break;
-                } else {
-                    previousRange += nrRemaining[i];
-                }
-            }
-            assert nextAction != null;
-            assert nrRemaining[i] > 0;
-            nrRemaining[i]--;
+        WeightedSampler sampler = new WeightedSampler(nrRemaining);
+        while (sampler.getTotal() != 0) {
+            int i = sampler.sample(r);
+            A nextAction = actions[i];
+            sampler.decrement(i);
             @SuppressWarnings("rawtypes")
             Query query = null;
+            globalState.setCurrentActionName(nextAction.toString());
+            // whether the schema was updated after the last query, which is done by executeStatement() unless it fails
+            boolean schemaUpdated = true;
             try {
                 boolean success;
                 int nrTries = 0;
                 do {
                     query = nextAction.getQuery(globalState);
+                    schemaUpdated = false;
                     success = globalState.executeStatement(query);
+                    schemaUpdated = true;
                 } while (nextAction.canBeRetried() && !success
                         && nrTries++ < globalState.getOptions().getNrStatementRetryCount());
             } catch (IgnoreMeException ignored) {
 
+            } finally {
+                globalState.setCurrentActionName(null);
             }
             if (query != null && query.couldAffectSchema()) {
-                globalState.updateSchema();
+                if (!schemaUpdated) {
+                    globalState.updateSchema();
+                }
                 queryConsumer.notify(query);
             }
-            total--;
         }
     }
 }
@@ -1,7 +1,11 @@
 package sqlancer;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -11,9 +15,20 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         implements Reducer<G> {
     private final DatabaseProvider<G, O, C> provider;
     private boolean observedChange;
+    private int snapshotInterval;
+    // maps n to the name of a copy of the database after executing the first n of the current statements
+    private final NavigableMap<Integer, String> snapshots = new TreeMap<>();
 
     public StatementReducer(DatabaseProvider<G, O, C> provider) {
+        this(provider, 0);
+    }
+
+    public StatementReducer(DatabaseProvider<G, O, C> provider, int snapshotInterval) {
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException(String.valueOf(snapshotInterval));
+        }
         this.provider = provider;
+        this.snapshotInterval = snapshotInterval;
     }
 
     @SuppressWarnings("unchecked")
@@ -28,43 +43,76 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         printQueries(knownToReproduceBugStatements);
         System.out.println();
 
+        List<Query<C>> reducedStatements;
+        try {
+            try {
+                reducedStatements = removeStatements(state, reproducer, newGlobalState,
+                        knownToReproduceBugStatements);
+            } catch (UnsupportedOperationException e) {
+                if (snapshotInterval == 0) {
+                    throw e;
+                }
+                System.out.println("The DBMS does not support copying databases, reducing without snapshots.");
+                reducedStatements = null;
+            }
+            // session settings are not carried over to the snapshots, so the result is checked by replaying all
+            // statements
+            if (snapshotInterval != 0 && (reducedStatements == null
+                    || !bugStillTriggersFromScratch(reproducer, newGlobalState, reducedStatements))) {
+                if (reducedStatements != null) {
+                    System.out.println(
+                            "The statements reduced using snapshots do not reproduce the bug, reducing again.");
+                }
+                snapshotInterval = 0;
+                reducedStatements = removeStatements(state, reproducer, newGlobalState,
+                        knownToReproduceBugStatements);
+            }
+        } finally {
+            dropSnapshots(newGlobalState, snapshots);
+        }
+
+        newGlobalState.getState().setStatements(new ArrayList<>(reducedStatements));
+        System.out.println("Reduced query:");
+        printQueries(reducedStatements);
+    }
+
+    private List<Query<C>> removeStatements(G state, Reproducer<G> reproducer, G newGlobalState,
+            List<Query<C>> knownToReproduceBugStatements) throws Exception {
+        List<Query<C>> statements = knownToReproduceBugStatements;
+        dropSnapshots(newGlobalState, snapshots);
         do {
             observedChange = false;
-            knownToReproduceBugStatements = tryReduction(state, reproducer, newGlobalState,
-                    knownToReproduceBugStatements, (candidateStatements, i) -> {
-                        candidateStatements.remove((int) i);
-                        return true;
-                    });
+            statements = tryReduction(state, reproducer, newGlobalState, statements, (candidateStatements, i) -> {
+                candidateStatements.remove((int) i);
+                return true;
+            });
         } while (observedChange);
-
-        System.out.println("Reduced query:");
-        printQueries(knownToReproduceBugStatements);
+        return statements;
     }
 
+    // the reduction operation may only modify the statements starting at the given index, as the candidate is
+    // replayed from a snapshot taken before that index
     private List<Query<C>> tryReduction(G state, // NOPMD
             Reproducer<G> reproducer, G newGlobalState, List<Query<C>> knownToReproduceBugStatements,
             BiFunction<List<Query<C>>, Integer, Boolean> reductionOperation) throws Exception {
 
         List<Query<C>> statements = knownToReproduceBugStatements;
         for (int i = 0; i < statements.size(); i++) {
-            try (C con2 = provider.createDatabase(newGlobalState)) {
-                newGlobalState.setConnection(con2);
-                List<Query<C>> candidateStatements = new ArrayList<>(statements);
-                if (!reductionOperation.apply(candidateStatements, i)) {
-                    continue;
-                }
+            List<Query<C>> candidateStatements = new ArrayList<>(statements);
+            if (!reductionOperation.apply(candidateStatements, i)) {
+                continue;
+            }
+            int nrExecutedStatements = connectToNearestSnapshot(newGlobalState, statements, i);
+            try (C con2 = newGlobalState.getConnection()) {
                 newGlobalState.getState().setStatements(candidateStatements.stream().collect(Collectors.toList()));
-                for (Query<C> s : candidateStatements) {
-                    try {
-                        s.execute(newGlobalState);
-                    } catch (Throwable ignoredException) {
-                        // ignore
-                    }
-                }
+                executeStatements(newGlobalState,
+                        candidateStatements.subList(nrExecutedStatements, candidateStatements.size()));
                 try {
                     if (reproducer.bugStillTriggers(newGlobalState)) {
                         observedChange = true;
                         statements = candidateStatements;
+                        // the snapshots taken after the removed statement include its effects
+                        dropSnapshots(newGlobalState, snapshots.tailMap(i, false));
                         // reproducer.outputHook((SQLite3GlobalState) newGlobalState);
                         // state.getLogger().logReduced(newGlobalState.getState());
                     }
@@ -76,6 +124,71 @@ public class StatementReducer<G extends GlobalState<O, ?, C>, O extends DBMSSpec
         return statements;
     }
 
+    // connects to a copy of the nearest snapshot taken at or before the given index (or to a new database) and returns
+    // how many of the statements have already been executed on it
+    private int connectToNearestSnapshot(G newGlobalState, List<Query<C>> statements, int index) throws Exception {
+        if (snapshotInterval == 0 || index < snapshotInterval) {
+            newGlobalState.setConnection(provider.createDatabase(newGlobalState));
+            return 0;
+        }
+        int position = index / snapshotInterval * snapshotInterval;
+        String databaseName = newGlobalState.getDatabaseName();
+        if (!snapshots.containsKey(position)) {
+            int nrExecutedStatements = connectToNearestSnapshot(newGlobalState, statements, position - 1);
+            executeStatements(newGlobalState, statements.subList(nrExecutedStatements, position));
+            newGlobalState.getConnection().close();
+            String snapshotName = databaseName + "_snapshot" + position;
+            provider.cloneDatabase(newGlobalState, snapshotName).close();
+            snapshots.put(position, snapshotName);
+        }
+        newGlobalState.setDatabaseName(snapshots.get(position));
+        try {
+            newGlobalState.setConnection(provider.cloneDatabase(newGlobalState, databaseName));
+        } finally {
+            newGlobalState.setDatabaseName(databaseName);
+        }
+        return position;
+    }
+
+    // drops the copies of the database and removes them from the map
+    private void dropSnapshots(G newGlobalState, Map<Integer, String> snapshotsToDrop) throws Exception {
+        String databaseName = newGlobalState.getDatabaseName();
+        try {
+            Iterator<String> it = snapshotsToDrop.values().iterator();
+            while (it.hasNext()) {
+                newGlobalState.setDatabaseName(it.next());
+                provider.dropDatabase(newGlobalState);
+                it.remove();
+            }
+        } finally {
+            newGlobalState.setDatabaseName(databaseName);
+        }
+    }
+
+    private boolean bugStillTriggersFromScratch(Reproducer<G> reproducer, G newGlobalState, List<Query<C>> statements)
+            throws Exception {
+        try (C con = provider.createDatabase(newGlobalState)) {
+            newGlobalState.setConnection(con);
+            newGlobalState.getState().setStatements(statements.stream().collect(Collectors.toList()));
+            executeStatements(newGlobalState, statements);
+            try {
+                return reproducer.bugStillTriggers(newGlobalState);
+            } catch (Throwable ignoredException) {
+                return false;
+            }
+        }
+    }
+
+    private void executeStatements(G newGlobalState, List<Query<C>> statements) {
+        for (Query<C> s : statements) {
+            try {
+                s.execute(newGlobalState);
+            } catch (Throwable ignoredException) {
+                // ignore
+            }
+        }
+    }
+
     private void printQueries(List<Query<C>> statements) {
         System.out.println("===============================");
         for (Query<?> q : statements) {
@@ -0,0 +1,66 @@
+package sqlancer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.common.query.Query;
+
+/**
+ * The statements that a thread executed most recently, which are written to the log file when a bug is found. The
+ * statements are kept in a fixed-size ring buffer per thread, so that recording a statement neither allocates memory
+ * nor formats the statement.
+ */
+public final class StatementTrace {
+
+    private static final ThreadLocal<StatementTrace> TRACES = new ThreadLocal<>();
+
+    private final Query<?>[] statements;
+    private long nrStatements;
+
+    private StatementTrace(int capacity) {
+        statements = new Query<?>[capacity];
+    }
+
+    /**
+     * Records a statement that the calling thread executes.
+     *
+     * @param statement
+     *            the statement
+     * @param capacity
+     *            the number of statements that are kept
+     */
+    public static void record(Query<?> statement, int capacity) {
+        StatementTrace trace = TRACES.get();
+        if (trace == null || trace.statements.length != capacity) {
+            trace = new StatementTrace(capacity);
+            TRACES.set(trace);
+        }
+        trace.statements[(int) (trace.nrStatements++ % capacity)] = statement;
+    }
+
+    /**
+     * Forgets the statements that the calling thread executed, e.g., when it starts generating a new database.
+     */
+    public static void clear() {
+        TRACES.remove();
+    }
+
+    /**
+     * Returns the statements that the calling thread executed most recently.
+     *
+     * @return the statements, from the oldest to the most recent one
+     */
+    public static List<Query<?>> getRecentStatements() {
+        StatementTrace trace = TRACES.get();
+        List<Query<?>> recentStatements = new ArrayList<>();
+        if (trace == null) {
+            return recentStatements;
+        }
+        int capacity = trace.statements.length;
+        for (long i = Math.max(0, trace.nrStatements - capacity); i < trace.nrStatements; i++) {
+            recentStatements.add(trace.statements[(int) (i % capacity)]);
+        }
+        return recentStatements;
+    }
+
+}
@@ -0,0 +1,88 @@
+package sqlancer;
+
+/**
+ * Samples indices with probabilities proportional to their weights, where the weight of a sampled index can be
+ * decremented, as needed to execute each action its determined number of times in random order. The weights are kept in
+ * a Fenwick tree, so that both sampling and decrementing take O(log n) time instead of a linear scan over the
+ * cumulative weights.
+ */
+public final class WeightedSampler {
+
+    // 1-based; tree[i] is the sum of the weights in (i - lowestOneBit(i), i]
+    private final long[] tree;
+    private final int[] weights;
+    private long total;
+
+    public WeightedSampler(int... weights) {
+        this.weights = weights.clone();
+        tree = new long[weights.length + 1];
+        for (int i = 1; i <= weights.length; i++) {
+            if (weights[i - 1] < 0) {
+                throw new IllegalArgumentException(String.valueOf(weights[i - 1]));
+            }
+            tree[i] += weights[i - 1];
+            int parent = i + Integer.lowestOneBit(i);
+            if (parent <= weights.length) {
+                tree[parent] += tree[i];
+            }
+            total += weights[i - 1];
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Returns the index whose range contains the selection, when the range [0, total) is divided into consecutive
+     * ranges whose lengths are the weights of the indices.
+     *
+     * @param selection
+     *            a number in [0, total), which is typically chosen at random
+     *
+     * @return the index, whose weight is greater than 0
+     */
+    public int find(long selection) {
+        if (selection < 0 || selection >= total) {
+            throw new IllegalArgumentException(selection + " " + total);
+        }
+        int position = 0;
+        long remaining = selection;
+        for (int step = Integer.highestOneBit(weights.length); step != 0; step >>= 1) {
+            int next = position + step;
+            if (next <= weights.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Samples an index with a probability proportional to its weight.
+     *
+     * @param r
+     *            the source of randomness
+     *
+     * @return the index
+     */
+    public int sample(Randomly r) {
+        return find(r.getLong(0, total));
+    }
+
+    public void decrement(int index) {
+        if (weights[index] == 0) {
+            throw new IllegalStateException(String.valueOf(index));
+        }
+        weights[index]--;
+        total--;
+        for (int i = index + 1; i < tree.length; i += Integer.lowestOneBit(i)) {
+            tree[i]--;
+        }
+    }
+
+}
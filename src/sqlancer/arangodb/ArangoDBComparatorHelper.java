@@ -7,7 +7,7 @@ import java.util.Set;
 import com.arangodb.entity.BaseDocument;
 
 import sqlancer.IgnoreMeException;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.arangodb.query.ArangoDBSelectQuery;
 import sqlancer.common.query.ExpectedErrors;
 
@@ -23,14 +23,14 @@ public final class ArangoDBComparatorHelper {
         List<BaseDocument> result;
         try {
             query.executeAndGet(state);
-            Main.nrSuccessfulActions.addAndGet(1);
+            state.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             result = query.getResultSet();
             return result;
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
                 throw e;
             }
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            state.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             if (e.getMessage() == null) {
                 throw new AssertionError(query.getLogString(), e);
             }
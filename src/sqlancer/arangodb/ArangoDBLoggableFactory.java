@@ -18,6 +18,11 @@ public class ArangoDBLoggableFactory extends LoggableFactory {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Loggable createCommentLoggable(String input) {
+        return new LoggedString("// " + input.replace("\n", "\\n").replace("\r", "\\r") + "\n");
+    }
+
     @Override
     public Query<?> commentOutQuery(Query<?> query) {
         throw new UnsupportedOperationException();
@@ -5,7 +5,7 @@ import java.util.Collections;
 import com.arangodb.ArangoCollection;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.arangodb.ArangoDBConnection;
 import sqlancer.arangodb.ArangoDBQueryAdapter;
 import sqlancer.arangodb.ArangoDBSchema;
@@ -31,10 +31,10 @@ public class ArangoDBCreateIndexQuery extends ArangoDBQueryAdapter {
             ArangoCollection collection = globalState.getConnection().getDatabase()
                     .collection(column.getTable().getName());
             collection.ensureHashIndex(Collections.singletonList(column.getName()), null);
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             throw e;
         }
     }
@@ -1,7 +1,7 @@
 package sqlancer.arangodb.query;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.arangodb.ArangoDBConnection;
 import sqlancer.arangodb.ArangoDBQueryAdapter;
 import sqlancer.common.query.ExpectedErrors;
@@ -24,10 +24,10 @@ public class ArangoDBCreateTableQuery extends ArangoDBQueryAdapter {
             throws Exception {
         try {
             globalState.getConnection().getDatabase().createCollection(tableName);
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             throw e;
         }
     }
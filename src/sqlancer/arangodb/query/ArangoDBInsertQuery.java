@@ -5,7 +5,7 @@ import java.util.Map;
 import com.arangodb.entity.BaseDocument;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.arangodb.ArangoDBConnection;
 import sqlancer.arangodb.ArangoDBQueryAdapter;
 import sqlancer.arangodb.ArangoDBSchema;
@@ -31,10 +31,10 @@ public class ArangoDBInsertQuery extends ArangoDBQueryAdapter {
             throws Exception {
         try {
             globalState.getConnection().getDatabase().collection(table.getName()).insertDocument(documentToBeInserted);
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             throw e;
         }
     }
@@ -403,6 +403,12 @@ public class CitusProvider extends PostgresProvider {
         }
     }
 
+    @Override
+    public SQLConnection cloneDatabase(PostgresGlobalState globalState, String cloneName) {
+        // a template copy of the coordinator's database would not include the shards on the worker nodes
+        throw new UnsupportedOperationException();
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public SQLConnection createDatabase(PostgresGlobalState globalState) throws SQLException {
@@ -8,6 +8,7 @@ import java.util.stream.IntStream;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.ResultSetFingerprint;
 import sqlancer.clickhouse.ClickHouseErrors;
 import sqlancer.clickhouse.ClickHouseProvider;
 import sqlancer.clickhouse.ClickHouseVisitor;
@@ -27,7 +28,8 @@ public class ClickHouseTLPWhereOracle extends ClickHouseTLPBase {
                     .mapToObj(i -> gen.generateExpressionWithColumns(columns, 5)).collect(Collectors.toList()));
         }
         String originalQueryString = ClickHouseVisitor.asString(select);
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultSetFingerprint fingerprint = ComparatorHelper.getResultSetFirstColumnFingerprint(originalQueryString,
+                errors, state);
 
         boolean orderBy = Randomly.getBooleanWithRatherLowProbability();
         if (orderBy) {
@@ -42,9 +44,9 @@ public class ClickHouseTLPWhereOracle extends ClickHouseTLPBase {
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = ClickHouseVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        ResultSetFingerprint secondFingerprint = ComparatorHelper.getCombinedResultSetFingerprint(firstQueryString,
+                secondQueryString, thirdQueryString, combinedString, !orderBy, state, errors);
+        ComparatorHelper.assumeResultSetsAreEqual(fingerprint, secondFingerprint, originalQueryString, combinedString,
+                state, errors);
     }
 }
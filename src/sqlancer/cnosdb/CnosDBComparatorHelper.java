@@ -1,6 +1,5 @@
 package sqlancer.cnosdb;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -23,12 +22,7 @@ public final class CnosDBComparatorHelper {
         if (state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
+            state.getLogger().flushCurrent();
         }
         CnosDBSelectQuery q = new CnosDBSelectQuery(queryString, errors);
         List<String> result = new ArrayList<>();
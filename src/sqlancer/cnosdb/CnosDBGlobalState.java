@@ -14,10 +14,10 @@ public class CnosDBGlobalState extends GlobalState<CnosDBOptions, CnosDBSchema,
             System.out.println(q.getQueryString());
         }
         if (logExecutionTime) {
-            getLogger().writeCurrent(" -- " + timer.end().asString());
+            getLogger().writeCurrent(" -- " + timer.asString());
         }
         if (q.couldAffectSchema()) {
-            updateSchema();
+            updateSchema(q, success);
         }
     }
 
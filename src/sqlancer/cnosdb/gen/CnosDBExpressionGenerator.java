@@ -2,9 +2,7 @@ package sqlancer.cnosdb.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
@@ -37,6 +35,7 @@ import sqlancer.cnosdb.ast.CnosDBPrefixOperation;
 import sqlancer.cnosdb.ast.CnosDBPrefixOperation.PrefixOperator;
 import sqlancer.cnosdb.ast.CnosDBSimilarTo;
 import sqlancer.common.gen.ExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 
 public class CnosDBExpressionGenerator implements ExpressionGenerator<CnosDBExpression> {
 
@@ -45,6 +44,8 @@ public class CnosDBExpressionGenerator implements ExpressionGenerator<CnosDBExpr
     private final Randomly r;
 
     private List<CnosDBColumn> columns;
+    private ColumnsByType<CnosDBColumn, CnosDBDataType> columnsByType = new ColumnsByType<>(null,
+            CnosDBColumn::getType);
 
     private boolean allowAggregateFunctions;
 
@@ -94,6 +95,7 @@ public class CnosDBExpressionGenerator implements ExpressionGenerator<CnosDBExpr
 
     public CnosDBExpressionGenerator setColumns(List<CnosDBColumn> columns) {
         this.columns = columns;
+        this.columnsByType = new ColumnsByType<>(columns, CnosDBColumn::getType);
         return this;
     }
 
@@ -360,11 +362,7 @@ public class CnosDBExpressionGenerator implements ExpressionGenerator<CnosDBExpr
     }
 
     final List<CnosDBColumn> filterColumns(CnosDBDataType type) {
-        if (columns == null) {
-            return Collections.emptyList();
-        } else {
-            return columns.stream().filter(c -> c.getType() == type).collect(Collectors.toList());
-        }
+        return columnsByType.get(type);
     }
 
     public List<CnosDBExpression> generateExpressions(int nr) {
@@ -1,6 +1,5 @@
 package sqlancer.cnosdb.oracle.tlp;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -101,12 +100,7 @@ public class CnosDBTLPAggregateOracle extends CnosDBTLPBase implements TestOracl
         if (state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
+            state.getLogger().flushCurrent();
         }
         String resultString = null;
 
@@ -1,6 +1,5 @@
 package sqlancer.cockroachdb;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -18,6 +17,7 @@ import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
+import sqlancer.WeightedSampler;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBTable;
 import sqlancer.cockroachdb.gen.CockroachDBCommentOnGenerator;
@@ -164,7 +164,6 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
 
         int[] nrRemaining = new int[Action.values().length];
         List<Action> actions = new ArrayList<>();
-        int total = 0;
         for (int i = 0; i < Action.values().length; i++) {
             Action action = Action.values()[i];
             int nrPerformed = 0;
@@ -215,24 +214,12 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
                 actions.add(action);
             }
             nrRemaining[action.ordinal()] = nrPerformed;
-            total += nrPerformed;
         }
+        WeightedSampler sampler = new WeightedSampler(nrRemaining);
 
-        while (total != 0) {
-            Action nextAction = null;
-            int selection = globalState.getRandomly().getInteger(0, total);
-            int previousRange = 0;
-            for (int i = 0; i < nrRemaining.length; i++) {
-                if (previousRange <= selection && selection < previousRange + nrRemaining[i]) {
-                    nextAction = Action.values()[i];
-                    break;
-                } else {
-                    previousRange += nrRemaining[i];
-                }
-            }
-            assert nextAction != null;
-            assert nrRemaining[nextAction.ordinal()] > 0;
-            nrRemaining[nextAction.ordinal()]--;
+        while (sampler.getTotal() != 0) {
+            Action nextAction = Action.values()[sampler.sample(globalState.getRandomly())];
+            sampler.decrement(nextAction.ordinal());
             SQLQueryAdapter query = null;
             try {
                 boolean success;
@@ -247,7 +234,6 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
             if (query != null && query.couldAffectSchema() && globalState.getSchema().getDatabaseTables().isEmpty()) {
                 throw new IgnoreMeException();
             }
-            total--;
         }
     }
 
@@ -293,11 +279,7 @@ public class CockroachDBProvider extends SQLProviderAdapter<CockroachDBGlobalSta
         String explainQuery = "EXPLAIN (OPT) " + selectStr;
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(explainQuery);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            globalState.getLogger().flushCurrent();
         }
         SQLQueryAdapter q = new SQLQueryAdapter(explainQuery);
         boolean afterProjection = false; // Remove the concrete expression after each Projection operator
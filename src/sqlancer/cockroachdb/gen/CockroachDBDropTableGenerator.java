@@ -12,7 +12,7 @@ public final class CockroachDBDropTableGenerator {
     }
 
     public static SQLQueryAdapter drop(CockroachDBGlobalState globalState) {
-        if (globalState.getSchema().getTables(t -> !t.isView()).size() <= 1) {
+        if (globalState.getSchema().getDatabaseTablesWithoutViews().size() <= 1) {
             throw new IgnoreMeException();
         }
 
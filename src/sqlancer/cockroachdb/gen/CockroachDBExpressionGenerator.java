@@ -2,7 +2,6 @@ package sqlancer.cockroachdb.gen;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import sqlancer.Randomly;
 import sqlancer.cockroachdb.CockroachDBCommon;
@@ -40,16 +39,26 @@ import sqlancer.cockroachdb.ast.CockroachDBTypeAnnotation;
 import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation;
 import sqlancer.cockroachdb.ast.CockroachDBUnaryPostfixOperation.CockroachDBUnaryPostfixOperator;
 import sqlancer.common.gen.TypedExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 
 public class CockroachDBExpressionGenerator
         extends TypedExpressionGenerator<CockroachDBExpression, CockroachDBColumn, CockroachDBCompositeDataType> {
 
     private final CockroachDBGlobalState globalState;
+    private ColumnsByType<CockroachDBColumn, CockroachDBCompositeDataType> columnsByType = new ColumnsByType<>(
+            columns, CockroachDBColumn::getType);
 
     public CockroachDBExpressionGenerator(CockroachDBGlobalState globalState) {
         this.globalState = globalState;
     }
 
+    @Override
+    public <U extends TypedExpressionGenerator<CockroachDBExpression, CockroachDBColumn, CockroachDBCompositeDataType>> U setColumns(
+            List<CockroachDBColumn> columns) {
+        columnsByType = new ColumnsByType<>(columns, CockroachDBColumn::getType);
+        return super.setColumns(columns);
+    }
+
     @Override
     public CockroachDBExpression generateExpression(CockroachDBCompositeDataType dataType) {
         return generateExpression(dataType, 0);
@@ -265,7 +274,7 @@ public class CockroachDBExpressionGenerator
 
     @Override
     protected boolean canGenerateColumnOfType(CockroachDBCompositeDataType type) {
-        return columns.stream().anyMatch(c -> c.getType() == type);
+        return columnsByType.contains(type);
     }
 
     @Override
@@ -334,8 +343,7 @@ public class CockroachDBExpressionGenerator
 
     @Override
     protected CockroachDBExpression generateColumn(CockroachDBCompositeDataType type) {
-        CockroachDBColumn column = Randomly
-                .fromList(columns.stream().filter(c -> c.getType() == type).collect(Collectors.toList()));
+        CockroachDBColumn column = Randomly.fromList(columnsByType.get(type));
         CockroachDBExpression columnReference = new CockroachDBColumnReference(column);
         if (column.getType().isString() && Randomly.getBooleanWithRatherLowProbability()) {
             columnReference = new CockroachDBCollate(columnReference, CockroachDBCommon.getRandomCollate());
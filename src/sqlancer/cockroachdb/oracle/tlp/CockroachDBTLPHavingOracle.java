@@ -6,6 +6,7 @@ import java.util.List;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.ResultSetFingerprint;
 import sqlancer.cockroachdb.CockroachDBProvider.CockroachDBGlobalState;
 import sqlancer.cockroachdb.CockroachDBSchema.CockroachDBDataType;
 import sqlancer.cockroachdb.CockroachDBVisitor;
@@ -34,7 +35,8 @@ public class CockroachDBTLPHavingOracle extends CockroachDBTLPBase {
         select.setHavingClause(null);
         String originalQueryString = CockroachDBVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultSetFingerprint fingerprint = ComparatorHelper.getResultSetFirstColumnFingerprint(originalQueryString,
+                errors, state);
 
         CockroachDBExpression predicate = gen.generateExpression(CockroachDBDataType.BOOL.get());
         select.setHavingClause(predicate);
@@ -44,10 +46,10 @@ public class CockroachDBTLPHavingOracle extends CockroachDBTLPBase {
         select.setHavingClause(gen.isNull(predicate));
         String thirdQueryString = CockroachDBVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, !orderBy, state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        ResultSetFingerprint secondFingerprint = ComparatorHelper.getCombinedResultSetFingerprint(firstQueryString,
+                secondQueryString, thirdQueryString, combinedString, !orderBy, state, errors);
+        ComparatorHelper.assumeResultSetsAreEqual(fingerprint, secondFingerprint, originalQueryString, combinedString,
+                state, errors);
     }
 
     @Override
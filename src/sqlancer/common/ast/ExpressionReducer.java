@@ -0,0 +1,109 @@
+package sqlancer.common.ast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Reduces an expression that triggers a bug by repeatedly replacing one of its subtrees with one of the subtree's
+ * children or with a constant, as long as the bug is still triggered. The outcome of each candidate is memoized by its
+ * string representation, so that candidates that are reached in several ways, or again when reducing another time, are
+ * not executed again.
+ *
+ * @param <E>
+ *            the expression type
+ */
+public abstract class ExpressionReducer<E> {
+
+    private final Map<String, Boolean> outcomes = new HashMap<>();
+    private Set<String> constantStrings;
+
+    /**
+     * Returns the direct subexpressions of the expression that can be replaced.
+     *
+     * @param expression
+     *            the expression
+     *
+     * @return the subexpressions, or an empty list if the expression is a leaf or cannot be rebuilt
+     */
+    protected abstract List<E> getChildren(E expression);
+
+    /**
+     * Creates a copy of the expression with its subexpressions replaced.
+     *
+     * @param expression
+     *            the expression to copy
+     * @param children
+     *            the new subexpressions, in the order returned by {@link #getChildren(Object)}
+     *
+     * @return the copy
+     */
+    protected abstract E withChildren(E expression, List<E> children);
+
+    /**
+     * Returns the constants that a subexpression can be replaced with.
+     *
+     * @return the constants, ordered by preference
+     */
+    protected abstract List<E> getConstants();
+
+    protected abstract String asString(E expression);
+
+    public E reduce(E expression, Predicate<E> bugStillTriggers) {
+        E reducedExpression = expression;
+        boolean observedChange;
+        do {
+            observedChange = false;
+            for (E candidate : getCandidates(reducedExpression)) {
+                Boolean triggersBug = outcomes.get(asString(candidate));
+                if (triggersBug == null) {
+                    try {
+                        triggersBug = bugStillTriggers.test(candidate);
+                    } catch (Throwable ignoredException) {
+                        triggersBug = false;
+                    }
+                    outcomes.put(asString(candidate), triggersBug);
+                }
+                if (triggersBug) {
+                    reducedExpression = candidate;
+                    observedChange = true;
+                    break;
+                }
+            }
+        } while (observedChange);
+        return reducedExpression;
+    }
+
+    public int getNrTestedCandidates() {
+        return outcomes.size();
+    }
+
+    // all expressions obtained by replacing a single subtree, with replacements closer to the root coming first. A
+    // constant only replaces subtrees that are not a constant already, so that each replacement makes progress.
+    private List<E> getCandidates(E expression) {
+        if (constantStrings == null) {
+            constantStrings = new HashSet<>();
+            for (E constant : getConstants()) {
+                constantStrings.add(asString(constant));
+            }
+        }
+        List<E> children = getChildren(expression);
+        List<E> candidates = new ArrayList<>(children);
+        if (!constantStrings.contains(asString(expression))) {
+            candidates.addAll(getConstants());
+        }
+        for (int i = 0; i < children.size(); i++) {
+            for (E childCandidate : getCandidates(children.get(i))) {
+                List<E> newChildren = new ArrayList<>(children);
+                newChildren.set(i, childCandidate);
+                candidates.add(withChildren(expression, newChildren));
+            }
+        }
+        return candidates;
+    }
+
+}
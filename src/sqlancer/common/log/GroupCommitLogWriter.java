@@ -0,0 +1,124 @@
+package sqlancer.common.log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes log records to a file in groups. Records are appended to an in-memory buffer, which a background thread writes
+ * and flushes periodically, so that the thread that logs a record neither waits for the file system nor flushes the
+ * file for each record. The buffer is also written when it is full, when {@link #flush()} is called, and when the JVM
+ * shuts down, so that the log is complete when a bug is found.
+ */
+public final class GroupCommitLogWriter {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+
+    private static final Set<GroupCommitLogWriter> WRITERS = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService flusher;
+
+    private final Writer writer;
+    private final Object flushLock = new Object();
+    private String[] buffer = new String[BUFFER_SIZE];
+    private String[] spareBuffer = new String[BUFFER_SIZE];
+    private int size;
+    private IOException flushException;
+
+    public GroupCommitLogWriter(Writer writer) {
+        this.writer = writer;
+        startFlusher();
+        WRITERS.add(this);
+    }
+
+    private static synchronized void startFlusher() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(GroupCommitLogWriter::flushAll, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(GroupCommitLogWriter::flushAll));
+    }
+
+    private static void flushAll() {
+        for (GroupCommitLogWriter writer : WRITERS) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                // reported to the thread that logs the next record
+            }
+        }
+    }
+
+    public void write(String record) throws IOException {
+        while (true) {
+            synchronized (this) {
+                if (flushException != null) {
+                    throw flushException;
+                }
+                if (size < BUFFER_SIZE) {
+                    buffer[size++] = record;
+                    return;
+                }
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Writes and flushes all buffered records.
+     *
+     * @throws IOException
+     *             if the records could not be written
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            String[] records;
+            int nrRecords;
+            // swap the buffers, so that records can be appended while the previous ones are written
+            synchronized (this) {
+                records = buffer;
+                nrRecords = size;
+                buffer = spareBuffer;
+                size = 0;
+            }
+            try {
+                for (int i = 0; i < nrRecords; i++) {
+                    writer.write(records[i]);
+                    records[i] = null;
+                }
+                if (nrRecords != 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    flushException = e;
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    spareBuffer = records;
+                }
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        WRITERS.remove(this);
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+}
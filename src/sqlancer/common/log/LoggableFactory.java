@@ -18,6 +18,10 @@ public abstract class LoggableFactory {
 
     protected abstract Loggable createLoggable(String input, String suffix);
 
+    public Loggable createCommentLoggable(String input) {
+        return new LoggedString("-- " + input.replace("\n", "\\n").replace("\r", "\\r") + "\n");
+    }
+
     public abstract Query<?> getQueryForStateToReproduce(String queryString);
 
     @Deprecated
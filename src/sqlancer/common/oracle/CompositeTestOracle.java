@@ -18,6 +18,7 @@ public class CompositeTestOracle<G extends GlobalState<?, ?, ?>> implements Test
 
     @Override
     public void check() throws Exception {
+        globalState.setCurrentActionName(oracles.get(i).getClass().getSimpleName());
         try {
             oracles.get(i).check();
             iLast = i;
@@ -0,0 +1,102 @@
+package sqlancer.common.oracle;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import sqlancer.IgnoreMeException;
+import sqlancer.SQLGlobalState;
+
+/**
+ * Estimates how many rows the FROM clause of a query produces before the query is executed, so that test oracles can
+ * skip queries whose joins produce more rows than --max-join-rows, which would take long to compute and compare. The
+ * estimate is computed from the numbers of rows of the tables and the types of the joins, which are added from left to
+ * right. Since the selectivity of the join conditions is unknown, it is an upper bound. Only if it exceeds the budget,
+ * the DBMS's query planner is asked for its estimate (see {@link SQLGlobalState#getEstimatedRowCount(String)}), if it
+ * provides one.
+ */
+public final class JoinFanOutEstimator {
+
+    public enum JoinKind {
+        // also a table in a comma-separated list, or a CROSS or NATURAL join
+        INNER, LEFT, RIGHT, FULL
+    }
+
+    private final SQLGlobalState<?, ?> state;
+    private final long budget;
+    // a double, which saturates at infinity rather than overflowing
+    private double upperBound = 1;
+
+    public JoinFanOutEstimator(SQLGlobalState<?, ?> state) {
+        this.state = state;
+        this.budget = state.getOptions().getMaxJoinRows();
+    }
+
+    /**
+     * Returns whether --max-join-rows is set. Otherwise, the numbers of rows of the tables, which might have to be
+     * counted, need not be added.
+     *
+     * @return whether queries are checked
+     */
+    public boolean isEnabled() {
+        return budget > 0;
+    }
+
+    /**
+     * Joins the rows produced so far with a table or subquery.
+     *
+     * @param nrRows
+     *            the number of rows of the table, or a negative number if it is unknown (e.g., for a subquery)
+     * @param kind
+     *            the type of the join
+     */
+    public void join(long nrRows, JoinKind kind) {
+        double n = nrRows < 0 ? Double.POSITIVE_INFINITY : nrRows;
+        switch (kind) {
+        case INNER:
+            upperBound *= n;
+            break;
+        case LEFT:
+            // each row on the left is kept even if it matches no row on the right
+            upperBound *= Math.max(n, 1);
+            break;
+        case RIGHT:
+            upperBound = Math.max(upperBound, 1) * n;
+            break;
+        case FULL:
+            upperBound = upperBound * n + upperBound + n;
+            break;
+        default:
+            throw new AssertionError(kind);
+        }
+        if (Double.isNaN(upperBound)) {
+            // zero rows times an unknown number of rows
+            upperBound = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Skips the test case (by throwing an {@link IgnoreMeException}) if the query produces more rows than
+     * --max-join-rows. If the upper bound is exceeded, the query planner's estimate decides; without one, a query is
+     * skipped only if its upper bound is known.
+     *
+     * @param querySupplier
+     *            a supplier of a query that consists of the FROM clause, for the query planner's estimate
+     *
+     * @throws SQLException
+     *             if the query planner's estimate cannot be read
+     */
+    public void assumeWithinBudget(Supplier<String> querySupplier) throws SQLException {
+        if (!isEnabled() || upperBound <= budget) {
+            return;
+        }
+        long estimate = state.getEstimatedRowCount(querySupplier.get());
+        if (estimate < 0 ? upperBound != Double.POSITIVE_INFINITY : estimate > budget) {
+            throw new IgnoreMeException();
+        }
+    }
+
+}
@@ -9,7 +9,7 @@ import sqlancer.common.query.ExpectedErrors;
 public abstract class NoRECBase<S extends SQLGlobalState<?, ?>> implements TestOracle<S> {
 
     protected final S state;
-    protected final ExpectedErrors errors = new ExpectedErrors();
+    protected final ExpectedErrors errors;
     protected final StateLogger logger;
     protected final MainOptions options;
     protected final SQLConnection con;
@@ -17,7 +17,12 @@ public abstract class NoRECBase<S extends SQLGlobalState<?, ?>> implements TestO
     protected String unoptimizedQueryString;
 
     protected NoRECBase(S state) {
+        this(state, new ExpectedErrors());
+    }
+
+    protected NoRECBase(S state, ExpectedErrors errors) {
         this.state = state;
+        this.errors = errors;
         this.con = state.getConnection();
         this.logger = state.getLogger();
         this.options = state.getOptions();
@@ -2,6 +2,7 @@ package sqlancer.common.oracle;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import sqlancer.GlobalState;
 import sqlancer.IgnoreMeException;
@@ -33,8 +34,39 @@ public abstract class PivotedQuerySynthesisBase<S extends GlobalState<?, ?, C>,
         this.globalState = globalState;
     }
 
+    // the state of a pivot row's check that is needed to report it as missing
+    private final class PivotRowCheck {
+
+        private final R pivotRow;
+        private final List<E> rectifiedPredicates;
+        private final List<E> pivotRowExpression;
+        private final Query<C> pivotRowQuery;
+        private final Query<C> isContainedQuery;
+
+        PivotRowCheck(Query<C> pivotRowQuery, Query<C> isContainedQuery) {
+            this.pivotRow = PivotedQuerySynthesisBase.this.pivotRow;
+            this.rectifiedPredicates = new ArrayList<>(PivotedQuerySynthesisBase.this.rectifiedPredicates);
+            this.pivotRowExpression = PivotedQuerySynthesisBase.this.pivotRowExpression;
+            this.pivotRowQuery = pivotRowQuery;
+            this.isContainedQuery = isContainedQuery;
+        }
+
+        void restore() {
+            PivotedQuerySynthesisBase.this.pivotRow = pivotRow;
+            PivotedQuerySynthesisBase.this.rectifiedPredicates.clear();
+            PivotedQuerySynthesisBase.this.rectifiedPredicates.addAll(rectifiedPredicates);
+            PivotedQuerySynthesisBase.this.pivotRowExpression = pivotRowExpression;
+        }
+
+    }
+
     @Override
     public final void check() throws Exception {
+        int batchSize = globalState.getOptions().getPQSBatchSize();
+        if (batchSize > 1) {
+            checkBatch(batchSize);
+            return;
+        }
         rectifiedPredicates.clear();
         Query<C> pivotRowQuery = getRectifiedQuery();
         if (globalState.getOptions().logEachSelect()) {
@@ -52,6 +84,116 @@ public abstract class PivotedQuerySynthesisBase<S extends GlobalState<?, ?, C>,
         }
     }
 
+    /**
+     * Checks the containment of multiple pivot rows, each in its own rectified query, with a single batched query (see
+     * {@link #getBatchedContainmentCheckQuery(List)}). Since the batched query might fail with an expected error
+     * because of a single rectified query, the pivot rows are then checked individually. A pivot row that the batched
+     * query reports as missing is checked again individually, which confirms the bug and provides a query that
+     * reproduces it.
+     *
+     * @param batchSize
+     *            the number of pivot rows
+     *
+     * @throws Exception
+     *             if a query unexpectedly fails
+     */
+    private void checkBatch(int batchSize) throws Exception {
+        List<PivotRowCheck> checks = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            rectifiedPredicates.clear();
+            try {
+                Query<C> pivotRowQuery = getRectifiedQuery();
+                Query<C> isContainedQuery = getContainmentCheckQuery(pivotRowQuery);
+                if (globalState.getOptions().logEachSelect()) {
+                    globalState.getLogger().writeCurrent(pivotRowQuery.getQueryString());
+                    globalState.getLogger().writeCurrent(isContainedQuery.getQueryString());
+                }
+                checks.add(new PivotRowCheck(pivotRowQuery, isContainedQuery));
+            } catch (IgnoreMeException e) {
+                // only this pivot row is skipped
+            }
+        }
+        if (checks.isEmpty()) {
+            throw new IgnoreMeException();
+        }
+        boolean[] isContained = areContained(
+                checks.stream().map(check -> check.isContainedQuery).collect(Collectors.toList()));
+        List<PivotRowCheck> missing = new ArrayList<>();
+        for (int i = 0; i < checks.size(); i++) {
+            PivotRowCheck check = checks.get(i);
+            if (isContained != null && isContained[i]) {
+                continue;
+            }
+            globalState.getState().getLocalState().log(check.isContainedQuery.getQueryString());
+            boolean pivotRowIsContained;
+            try {
+                pivotRowIsContained = containsRows(check.isContainedQuery);
+            } catch (IgnoreMeException e) {
+                continue;
+            }
+            if (!pivotRowIsContained) {
+                missing.add(check);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        globalState.getState().getLocalState()
+                .log(String.format("-- %d of %d pivot rows are missing:", missing.size(), checks.size()));
+        for (PivotRowCheck check : missing) {
+            globalState.getState().getLocalState().log("-- " + check.isContainedQuery.getQueryString());
+        }
+        PivotRowCheck reported = missing.get(0);
+        reported.restore();
+        reportMissingPivotRow(reported.pivotRowQuery);
+    }
+
+    /**
+     * Executes a batched containment check query.
+     *
+     * @param isContainedQueries
+     *            the containment check queries of the pivot rows
+     *
+     * @return whether each pivot row is contained, or null if the pivot rows must be checked individually
+     *
+     * @throws Exception
+     *             if the query unexpectedly fails
+     */
+    private boolean[] areContained(List<Query<C>> isContainedQueries) throws Exception {
+        Query<C> batchedQuery = getBatchedContainmentCheckQuery(isContainedQueries);
+        if (batchedQuery == null) {
+            return null;
+        }
+        if (globalState.getOptions().logEachSelect()) {
+            globalState.getLogger().writeCurrent(batchedQuery.getQueryString());
+        }
+        try (SQLancerResultSet result = batchedQuery.executeAndGet(globalState)) {
+            if (result == null || !result.next()) {
+                return null;
+            }
+            boolean[] isContained = new boolean[isContainedQueries.size()];
+            for (int i = 0; i < isContained.length; i++) {
+                isContained[i] = result.getInt(i + 1) != 0;
+            }
+            return isContained;
+        }
+    }
+
+    /**
+     * Builds a query that checks the containment of multiple pivot rows. It fetches a single row with a column for each
+     * containment check query, which is 1 if the query fetches at least one row, and 0 otherwise.
+     *
+     * @param isContainedQueries
+     *            the containment check queries
+     *
+     * @return the query string
+     */
+    protected static String getBatchedContainmentCheckQueryString(List<? extends Query<?>> isContainedQueries) {
+        return isContainedQueries.stream()
+                .map(q -> "CASE WHEN EXISTS (" + q.getUnterminatedQueryString() + ") THEN 1 ELSE 0 END")
+                .collect(Collectors.joining(", ", "SELECT ", ""));
+    }
+
     /**
      * Checks whether the result set contains at least a single row.
      *
@@ -113,6 +255,20 @@ public abstract class PivotedQuerySynthesisBase<S extends GlobalState<?, ?, C>,
      */
     protected abstract Query<C> getContainmentCheckQuery(Query<?> pivotRowQuery) throws Exception;
 
+    /**
+     * Gets a query that checks the containment of multiple pivot rows with a single round trip to the DBMS, for
+     * --pqs-batch-size (see {@link #getBatchedContainmentCheckQueryString(List)}).
+     *
+     * @param isContainedQueries
+     *            the queries returned by {@link #getContainmentCheckQuery(Query)} for the pivot rows
+     *
+     * @return a query that fetches a row with a column for each pivot row, which is non-zero if the pivot row is
+     *         contained, or null if the pivot rows are to be checked individually
+     */
+    protected Query<C> getBatchedContainmentCheckQuery(List<Query<C>> isContainedQueries) {
+        return null;
+    }
+
     /**
      * Obtains a rectified query (i.e., a query that is guaranteed to fetch the pivot row. This corresponds to steps 2-5
      * of the PQS paper.
@@ -21,10 +21,15 @@ public abstract class TernaryLogicPartitioningOracleBase<E, S extends GlobalStat
     protected E isNullPredicate;
 
     protected final S state;
-    protected final ExpectedErrors errors = new ExpectedErrors();
+    protected final ExpectedErrors errors;
 
     protected TernaryLogicPartitioningOracleBase(S state) {
+        this(state, new ExpectedErrors());
+    }
+
+    protected TernaryLogicPartitioningOracleBase(S state, ExpectedErrors errors) {
         this.state = state;
+        this.errors = errors;
     }
 
     protected E generatePredicate() {
@@ -1,5 +1,6 @@
 package sqlancer.common.query;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -11,16 +12,30 @@ import java.util.regex.Pattern;
  * This class represents the errors that executing a statement might result in. For example, an INSERT statement might
  * result in an error "UNIQUE constraint violated" when it attempts to insert a duplicate value in a column declared as
  * UNIQUE.
+ *
+ * Besides by a substring or regex of its message, an error can be expected by its SQLSTATE (or SQLSTATE class) or its
+ * vendor-specific error code, which are checked first by {@link #exceptionIsExpected(Throwable)}. The codes are more
+ * stable across DBMS versions than the messages, and can be checked by a hash lookup.
+ *
+ * An instance that is populated only once (e.g., by a test oracle) can be frozen with {@link #freeze()} and shared
+ * between oracle instances and threads. Freezing compiles the expected errors, so that checking a message scans it once
+ * for all substrings and once for all regexes. Other instances, which are typically created for a single statement,
+ * check the substrings and regexes one by one, since compiling them would cost more than it saves.
  */
 public class ExpectedErrors {
 
     private final Set<String> errors = new HashSet<>();
     private final List<Pattern> regexes = new ArrayList<>();
+    private final Set<String> sqlStates = new HashSet<>();
+    private final Set<Integer> vendorCodes = new HashSet<>();
+    private boolean frozen;
+    private CompiledErrors compiledErrors;
 
     public ExpectedErrors add(String error) {
         if (error == null) {
             throw new IllegalArgumentException();
         }
+        checkNotFrozen();
         errors.add(error);
         return this;
     }
@@ -29,11 +44,13 @@ public class ExpectedErrors {
         if (errorPattern == null) {
             throw new IllegalArgumentException();
         }
+        checkNotFrozen();
         regexes.add(errorPattern);
         return this;
     }
 
     public ExpectedErrors addAll(Collection<String> list) {
+        checkNotFrozen();
         errors.addAll(list);
         return this;
     }
@@ -42,10 +59,68 @@ public class ExpectedErrors {
         if (list == null) {
             throw new IllegalArgumentException();
         }
+        checkNotFrozen();
         regexes.addAll(list);
         return this;
     }
 
+    /**
+     * Adds an SQLSTATE (e.g., "22012" for a division by zero) or an SQLSTATE class (e.g., "22" for all data exceptions)
+     * as expected.
+     *
+     * @param sqlState
+     *            the five-character SQLSTATE, or its two-character class
+     *
+     * @return this instance
+     */
+    public ExpectedErrors addSQLState(String sqlState) {
+        if (sqlState == null || sqlState.length() != 2 && sqlState.length() != 5) {
+            throw new IllegalArgumentException(sqlState);
+        }
+        checkNotFrozen();
+        sqlStates.add(sqlState);
+        return this;
+    }
+
+    /**
+     * Adds a vendor-specific error code, as returned by {@link SQLException#getErrorCode()}, as expected.
+     *
+     * @param vendorCode
+     *            the error code, which must not be 0, since drivers use 0 if there is no error code
+     *
+     * @return this instance
+     */
+    public ExpectedErrors addVendorCode(int vendorCode) {
+        if (vendorCode == 0) {
+            throw new IllegalArgumentException();
+        }
+        checkNotFrozen();
+        vendorCodes.add(vendorCode);
+        return this;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("the expected errors are frozen");
+        }
+    }
+
+    /**
+     * Compiles the expected errors and prevents further errors from being added, so that the instance can be shared,
+     * for example, in a static field.
+     *
+     * @return this instance
+     */
+    public ExpectedErrors freeze() {
+        frozen = true;
+        compiledErrors = new CompiledErrors(errors, regexes);
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
     public static ExpectedErrors from(String... errors) {
         ExpectedErrors expectedErrors = new ExpectedErrors();
         for (String error : errors) {
@@ -67,12 +142,15 @@ public class ExpectedErrors {
         if (error == null) {
             throw new IllegalArgumentException();
         }
-        for (String s : this.errors) {
+        if (compiledErrors != null) {
+            return compiledErrors.matches(error);
+        }
+        for (String s : errors) {
             if (error.contains(s)) {
                 return true;
             }
         }
-        for (Pattern p : this.regexes) {
+        for (Pattern p : regexes) {
             if (p.matcher(error).find()) {
                 return true;
             }
@@ -80,4 +158,79 @@ public class ExpectedErrors {
         return false;
     }
 
+    /**
+     * Checks whether the exception is expected, first by its SQLSTATE and vendor error code if it is an
+     * {@link SQLException}, and then by its message.
+     *
+     * @param exception
+     *            the exception, e.g., thrown by the JDBC driver of the DBMS under test
+     *
+     * @return whether the exception's code or message is specified as expected error
+     */
+    public boolean exceptionIsExpected(Throwable exception) {
+        if (exception instanceof SQLException && codeIsExpected((SQLException) exception)) {
+            return true;
+        }
+        return errorIsExpected(exception.getMessage());
+    }
+
+    /**
+     * Checks whether the SQLSTATE or the vendor error code of the exception is specified as expected error.
+     *
+     * @param exception
+     *            the exception
+     *
+     * @return whether the exception's SQLSTATE, SQLSTATE class, or vendor error code is expected
+     */
+    public boolean codeIsExpected(SQLException exception) {
+        if (!sqlStates.isEmpty()) {
+            String sqlState = exception.getSQLState();
+            if (sqlState != null && sqlState.length() == 5
+                    && (sqlStates.contains(sqlState) || sqlStates.contains(sqlState.substring(0, 2)))) {
+                return true;
+            }
+        }
+        return exception.getErrorCode() != 0 && vendorCodes.contains(exception.getErrorCode());
+    }
+
+    private static final class CompiledErrors {
+
+        private final SubstringMatcher substrings;
+        // regexes without flags and groups are combined to a single alternation; the others are matched separately
+        private final Pattern combinedRegex;
+        private final List<Pattern> otherRegexes = new ArrayList<>();
+
+        CompiledErrors(Collection<String> errors, List<Pattern> regexes) {
+            substrings = new SubstringMatcher(errors);
+            StringBuilder alternation = new StringBuilder();
+            for (Pattern p : regexes) {
+                if (p.flags() == 0 && p.matcher("").groupCount() == 0) {
+                    if (alternation.length() != 0) {
+                        alternation.append('|');
+                    }
+                    alternation.append("(?:").append(p.pattern()).append(')');
+                } else {
+                    otherRegexes.add(p);
+                }
+            }
+            combinedRegex = alternation.length() == 0 ? null : Pattern.compile(alternation.toString());
+        }
+
+        boolean matches(String error) {
+            if (substrings.containsAny(error)) {
+                return true;
+            }
+            if (combinedRegex != null && combinedRegex.matcher(error).find()) {
+                return true;
+            }
+            for (Pattern p : otherRegexes) {
+                if (p.matcher(error).find()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
 }
@@ -3,6 +3,7 @@ package sqlancer.common.query;
 import sqlancer.GlobalState;
 import sqlancer.SQLancerDBConnection;
 import sqlancer.common.log.Loggable;
+import sqlancer.common.schema.SchemaUpdate;
 
 public abstract class Query<C extends SQLancerDBConnection> implements Loggable {
 
@@ -27,6 +28,17 @@ public abstract class Query<C extends SQLancerDBConnection> implements Loggable
      */
     public abstract boolean couldAffectSchema();
 
+    /**
+     * Gets the effect of the query on the schema, if it could affect the schema and its effect is known. Then, the
+     * effect is applied to the in-memory schema after the query has been executed, rather than reading the schema from
+     * the DBMS.
+     *
+     * @return the effect on the schema, or null if the schema must be read after the query
+     */
+    public SchemaUpdate<?> getSchemaUpdate() {
+        return null;
+    }
+
     public abstract <G extends GlobalState<?, ?, C>> boolean execute(G globalState, String... fills) throws Exception;
 
     public abstract ExpectedErrors getExpectedErrors();
@@ -4,16 +4,19 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Objects;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.SQLConnection;
+import sqlancer.common.schema.SchemaUpdate;
 
 public class SQLQueryAdapter extends Query<SQLConnection> {
 
     private final String query;
     private final ExpectedErrors expectedErrors;
     private final boolean couldAffectSchema;
+    private final SchemaUpdate<?> schemaUpdate;
 
     public SQLQueryAdapter(String query) {
         this(query, new ExpectedErrors());
@@ -31,6 +34,25 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         this.query = canonicalizeString(query);
         this.expectedErrors = expectedErrors;
         this.couldAffectSchema = couldAffectSchema;
+        this.schemaUpdate = null;
+        checkQueryString();
+    }
+
+    /**
+     * Creates a statement that could affect the schema, and whose effect on the schema is known.
+     *
+     * @param query
+     *            the statement
+     * @param expectedErrors
+     *            the errors that the statement is expected to raise
+     * @param schemaUpdate
+     *            the effect of the statement on the schema, if it succeeds
+     */
+    public SQLQueryAdapter(String query, ExpectedErrors expectedErrors, SchemaUpdate<?> schemaUpdate) {
+        this.query = canonicalizeString(query);
+        this.expectedErrors = expectedErrors;
+        this.couldAffectSchema = true;
+        this.schemaUpdate = schemaUpdate;
         checkQueryString();
     }
 
@@ -80,16 +102,17 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         } else {
             s = globalState.getConnection().createStatement();
         }
+        globalState.recordDataModification(query);
         try {
             if (fills.length > 0) {
                 ((PreparedStatement) s).execute();
             } else {
                 s.execute(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             return true;
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             checkException(e);
             return false;
         } finally {
@@ -99,11 +122,17 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
 
     public void checkException(Exception e) throws AssertionError {
         Throwable ex = e;
+        String previousMessage = null;
 
         while (ex != null) {
-            if (expectedErrors.errorIsExpected(ex.getMessage())) {
+            String message = ex.getMessage();
+            // JDBC drivers often wrap an exception in one with the same message, which need not be checked twice
+            boolean checkMessage = ex == e || !Objects.equals(message, previousMessage);
+            if (ex instanceof SQLException && expectedErrors.codeIsExpected((SQLException) ex)
+                    || checkMessage && expectedErrors.errorIsExpected(message)) {
                 return;
             } else {
+                previousMessage = message;
                 ex = ex.getCause();
             }
         }
@@ -123,21 +152,35 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         } else {
             s = globalState.getConnection().createStatement();
         }
+        int fetchSize = globalState.getOptions().getResultFetchSize();
+        if (fetchSize > 0) {
+            s.setFetchSize(fetchSize);
+        }
         ResultSet result;
+        globalState.traceStatement(this);
+        globalState.recordDataModification(query);
+        long startNanos = System.nanoTime();
         try {
             if (fills.length > 0) {
                 result = ((PreparedStatement) s).executeQuery();
             } else {
                 result = s.executeQuery(query);
             }
-            Main.nrSuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             if (result == null) {
+                globalState.recordLatency(System.nanoTime() - startNanos);
                 return null;
             }
-            return new SQLancerResultSet(result);
+            SQLancerResultSet resultSet = new SQLancerResultSet(result);
+            // the latency includes fetching the result, which ends when the result set is closed
+            if (globalState.getOptions().printLatencySummary()) {
+                resultSet.registerEpilogue(() -> globalState.recordLatency(System.nanoTime() - startNanos));
+            }
+            return resultSet;
         } catch (Exception e) {
+            globalState.recordLatency(System.nanoTime() - startNanos);
             s.close();
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             checkException(e);
         }
         return null;
@@ -148,6 +191,11 @@ public class SQLQueryAdapter extends Query<SQLConnection> {
         return couldAffectSchema;
     }
 
+    @Override
+    public SchemaUpdate<?> getSchemaUpdate() {
+        return schemaUpdate;
+    }
+
     @Override
     public ExpectedErrors getExpectedErrors() {
         return expectedErrors;
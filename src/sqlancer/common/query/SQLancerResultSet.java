@@ -46,8 +46,24 @@ public class SQLancerResultSet implements Closeable {
         return rs.getLong(i);
     }
 
+    public Object getObject(int i) throws SQLException {
+        return rs.getObject(i);
+    }
+
+    public int getColumnCount() throws SQLException {
+        return rs.getMetaData().getColumnCount();
+    }
+
     public void registerEpilogue(Runnable runnableEpilogue) {
-        this.runnableEpilogue = runnableEpilogue;
+        Runnable previousEpilogue = this.runnableEpilogue;
+        if (previousEpilogue == null) {
+            this.runnableEpilogue = runnableEpilogue;
+        } else {
+            this.runnableEpilogue = () -> {
+                previousEpilogue.run();
+                runnableEpilogue.run();
+            };
+        }
     }
 
 }
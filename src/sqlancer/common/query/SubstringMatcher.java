@@ -0,0 +1,130 @@
+package sqlancer.common.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An Aho-Corasick automaton that checks whether a string contains any of a set of substrings. In contrast to calling
+ * {@link String#contains(CharSequence)} for each substring, a string is scanned only once, independent of the number of
+ * substrings.
+ */
+final class SubstringMatcher {
+
+    private static final int ROOT = 0;
+
+    // the transitions of node i are labels[first[i]..first[i + 1]) (sorted) and the nodes that they lead to
+    private final int[] first;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] failure;
+    // whether the node, or a node reachable by failure transitions, ends a substring
+    private final boolean[] matches;
+
+    SubstringMatcher(Collection<String> substrings) {
+        // build the trie
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminal.add(false);
+        int nrTransitions = 0;
+        for (String substring : substrings) {
+            int node = ROOT;
+            for (int i = 0; i < substring.length(); i++) {
+                Integer child = children.get(node).get(substring.charAt(i));
+                if (child == null) {
+                    child = children.size();
+                    children.get(node).put(substring.charAt(i), child);
+                    children.add(new HashMap<>());
+                    terminal.add(false);
+                    nrTransitions++;
+                }
+                node = child;
+            }
+            terminal.set(node, true);
+        }
+        int nrNodes = children.size();
+        first = new int[nrNodes + 1];
+        labels = new char[nrTransitions];
+        targets = new int[nrTransitions];
+        failure = new int[nrNodes];
+        matches = new boolean[nrNodes];
+        int transition = 0;
+        for (int node = 0; node < nrNodes; node++) {
+            first[node] = transition;
+            List<Character> sortedLabels = new ArrayList<>(children.get(node).keySet());
+            sortedLabels.sort(null);
+            for (Character label : sortedLabels) {
+                labels[transition] = label;
+                targets[transition] = children.get(node).get(label);
+                transition++;
+            }
+        }
+        first[nrNodes] = transition;
+
+        // compute the failure transitions in breadth-first order, so that the failure transitions of all nodes with a
+        // shorter path from the root are known
+        int[] queue = new int[nrNodes];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        matches[ROOT] = terminal.get(ROOT);
+        while (head < tail) {
+            int node = queue[head++];
+            for (int i = first[node]; i < first[node + 1]; i++) {
+                int child = targets[i];
+                failure[child] = node == ROOT ? ROOT : next(failure[node], labels[i]);
+                matches[child] = terminal.get(child) || matches[failure[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    // follows the transition for the character, or the failure transitions until there is one
+    private int next(int node, char c) {
+        int current = node;
+        while (true) {
+            int child = child(current, c);
+            if (child != -1) {
+                return child;
+            }
+            if (current == ROOT) {
+                return ROOT;
+            }
+            current = failure[current];
+        }
+    }
+
+    private int child(int node, char c) {
+        int low = first[node];
+        int high = first[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < c) {
+                low = mid + 1;
+            } else if (labels[mid] > c) {
+                high = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+
+    boolean containsAny(String s) {
+        int node = ROOT;
+        if (matches[node]) {
+            return true;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            node = next(node, s.charAt(i));
+            if (matches[node]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -16,21 +16,21 @@ public class AbstractRelationalTable<C extends AbstractTableColumn<?, ?>, I exte
 
     @Override
     public long getNrRows(G globalState) {
-        if (rowCount == NO_ROW_COUNT_AVAILABLE) {
-            SQLQueryAdapter q = new SQLQueryAdapter("SELECT COUNT(*) FROM " + name);
-            try (SQLancerResultSet query = q.executeAndGet(globalState)) {
-                if (query == null) {
-                    throw new IgnoreMeException();
-                }
-                query.next();
-                rowCount = query.getLong(1);
-                return rowCount;
-            } catch (Throwable t) {
-                // an exception might be expected, for example, when invalid view is created
+        // the number of rows is counted again only if the table might have been modified since
+        return globalState.getDataEpochs().getFact(this, "COUNT(*)", () -> countRows(globalState));
+    }
+
+    private long countRows(G globalState) {
+        SQLQueryAdapter q = new SQLQueryAdapter("SELECT COUNT(*) FROM " + name);
+        try (SQLancerResultSet query = q.executeAndGet(globalState)) {
+            if (query == null) {
                 throw new IgnoreMeException();
             }
-        } else {
-            return rowCount;
+            query.next();
+            return query.getLong(1);
+        } catch (Throwable t) {
+            // an exception might be expected, for example, when invalid view is created
+            throw new IgnoreMeException();
         }
     }
 
@@ -1,7 +1,9 @@
 package sqlancer.common.schema;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -13,6 +15,10 @@ import sqlancer.Randomly;
 public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTable<?, ?, G>> {
 
     private final List<A> databaseTables;
+    // lookup structures, which are built on first use and then shared by all callers until the schema is updated
+    private Map<String, A> tablesByName;
+    private List<A> views;
+    private List<A> tablesWithoutViews;
 
     public AbstractSchema(List<A> databaseTables) {
         this.databaseTables = Collections.unmodifiableList(databaseTables);
@@ -65,15 +71,50 @@ public class AbstractSchema<G extends GlobalState<?, ?, ?>, A extends AbstractTa
     }
 
     public A getDatabaseTable(String name) {
-        return databaseTables.stream().filter(t -> t.getName().equals(name)).findAny().orElse(null);
+        if (tablesByName == null) {
+            Map<String, A> map = new HashMap<>();
+            for (A t : databaseTables) {
+                map.putIfAbsent(t.getName(), t);
+            }
+            tablesByName = map;
+        }
+        return tablesByName.get(name);
     }
 
+    /**
+     * Returns the views of the schema.
+     *
+     * @return an unmodifiable list of the views
+     */
     public List<A> getViews() {
-        return databaseTables.stream().filter(t -> t.isView()).collect(Collectors.toList());
+        if (views == null) {
+            views = Collections
+                    .unmodifiableList(databaseTables.stream().filter(t -> t.isView()).collect(Collectors.toList()));
+        }
+        return views;
     }
 
+    /**
+     * Returns the tables of the schema that are not views.
+     *
+     * @return an unmodifiable list of the tables
+     */
     public List<A> getDatabaseTablesWithoutViews() {
-        return databaseTables.stream().filter(t -> !t.isView()).collect(Collectors.toList());
+        if (tablesWithoutViews == null) {
+            tablesWithoutViews = Collections
+                    .unmodifiableList(databaseTables.stream().filter(t -> !t.isView()).collect(Collectors.toList()));
+        }
+        return tablesWithoutViews;
+    }
+
+    /**
+     * Discards the lookup structures, so that they are rebuilt on their next use. Needs to be called after the schema
+     * has been modified in place by a {@link SchemaUpdate}.
+     */
+    public void invalidateLookups() {
+        tablesByName = null;
+        views = null;
+        tablesWithoutViews = null;
     }
 
     public A getRandomViewOrBailout() {
@@ -12,12 +12,10 @@ import sqlancer.Randomly;
 public abstract class AbstractTable<C extends AbstractTableColumn<?, ?>, I extends TableIndex, G extends GlobalState<?, ?, ?>>
         implements Comparable<AbstractTable<?, ?, ?>> {
 
-    protected static final int NO_ROW_COUNT_AVAILABLE = -1;
     protected final String name;
     private final List<C> columns;
     private final List<I> indexes;
     private final boolean isView;
-    protected long rowCount = NO_ROW_COUNT_AVAILABLE;
 
     protected AbstractTable(String name, List<C> columns, List<I> indexes, boolean isView) {
         this.name = name;
@@ -105,8 +103,17 @@ public abstract class AbstractTable<C extends AbstractTableColumn<?, ?>, I exten
 
     }
 
-    public void recomputeCount() {
-        rowCount = NO_ROW_COUNT_AVAILABLE;
+    /**
+     * Returns the table's data epoch, which changes whenever a statement might have modified the table's rows, so that
+     * facts derived from its rows need to be recomputed.
+     *
+     * @param globalState
+     *            the global state
+     *
+     * @return the data epoch
+     */
+    public long getDataEpoch(G globalState) {
+        return globalState.getDataEpochs().getEpoch(this);
     }
 
     public abstract long getNrRows(G globalState);
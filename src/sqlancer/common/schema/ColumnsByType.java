@@ -0,0 +1,49 @@
+package sqlancer.common.schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Groups a list of columns by their data type, so that expression generators can pick a column of a given type
+ * without filtering all columns on every call. The index is a snapshot of the list, and needs to be rebuilt when the
+ * columns change.
+ *
+ * @param <C>
+ *            the column type
+ * @param <T>
+ *            the data type, which is compared by {@link Object#equals(Object)}
+ */
+public final class ColumnsByType<C, T> {
+
+    private final Map<T, List<C>> columnsByType = new HashMap<>();
+
+    public ColumnsByType(List<C> columns, Function<C, T> typeOf) {
+        if (columns != null) {
+            for (C c : columns) {
+                columnsByType.computeIfAbsent(typeOf.apply(c), t -> new ArrayList<>()).add(c);
+            }
+            columnsByType.replaceAll((t, typeColumns) -> Collections.unmodifiableList(typeColumns));
+        }
+    }
+
+    /**
+     * Returns the columns of a data type.
+     *
+     * @param type
+     *            the data type
+     *
+     * @return an unmodifiable list of the columns, which might be empty
+     */
+    public List<C> get(T type) {
+        return columnsByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    public boolean contains(T type) {
+        return columnsByType.containsKey(type);
+    }
+
+}
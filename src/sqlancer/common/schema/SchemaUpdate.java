@@ -0,0 +1,38 @@
+package sqlancer.common.schema;
+
+/**
+ * The effect of a statement on the schema, which is applied to the in-memory schema after the statement has been
+ * executed successfully, instead of reading the schema from the DBMS again (see
+ * {@link sqlancer.common.query.Query#getSchemaUpdate()}).
+ *
+ * @param <S>
+ *            the type of the schema
+ */
+@FunctionalInterface
+public interface SchemaUpdate<S extends AbstractSchema<?, ?>> {
+
+    /**
+     * Applies the effect of the statement to the schema, in place. If the schema does not match the statement (e.g.,
+     * because it lacks an object that the statement dropped), a {@link RuntimeException} should be thrown, upon which
+     * the schema is read from the DBMS.
+     *
+     * @param schema
+     *            the current schema
+     */
+    void apply(S schema);
+
+    /**
+     * Returns the effect of a statement that is marked as affecting the schema, but does not change it (e.g., an INSERT
+     * statement).
+     *
+     * @param <S>
+     *            the type of the schema
+     *
+     * @return an update that does nothing
+     */
+    static <S extends AbstractSchema<?, ?>> SchemaUpdate<S> unchanged() {
+        return schema -> {
+        };
+    }
+
+}
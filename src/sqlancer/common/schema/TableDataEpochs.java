@@ -0,0 +1,146 @@
+package sqlancer.common.schema;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tracks which tables' rows might have changed, so that facts derived from a table's rows, such as its number of rows,
+ * can be cached until the table is modified, rather than being recomputed whenever the schema is read. Each table has a
+ * data epoch, which is advanced by each statement that might modify its rows. An INSERT, UPDATE, DELETE, or TRUNCATE
+ * statement on a single table of the schema advances only that table's epoch, while any other statement, except for
+ * queries, conservatively advances the epochs of all tables. Since modifying one table can modify others through
+ * triggers, foreign keys, inheritance, partitions, or the shadow tables of virtual tables, modifications are no longer
+ * attributed to single tables after a statement has mentioned such a dependency. A view's epoch is advanced by any
+ * modification.
+ */
+public final class TableDataEpochs {
+
+    private static final Pattern DEPENDENCY = Pattern
+            .compile("TRIGGER|REFERENCES|FOREIGN|INHERITS|PARTITION|RULE|VIRTUAL", Pattern.CASE_INSENSITIVE);
+    // the table name must be followed by neither a comma, which separates multiple tables, nor a period, which
+    // qualifies the table name, and an UPDATE statement's table name by SET, since MySQL can update multiple tables
+    private static final Pattern SINGLE_TABLE_MODIFICATION = Pattern.compile(
+            "(?:(?:INSERT|REPLACE)(?:\\s+OR\\s+[A-Z]+)?\\s+INTO|DELETE\\s+FROM|TRUNCATE(?:\\s+TABLE)?)(?:\\s+ONLY)?\\s+(\\w+)(?!\\w|\\s*[,.])"
+                    + "|UPDATE(?:\\s+OR\\s+[A-Z]+)?(?:\\s+ONLY)?\\s+(\\w+)\\s+SET\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUERY = Pattern.compile("(?:SELECT|VALUES|SHOW|WITH|EXPLAIN)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern MODIFYING_KEYWORD = Pattern.compile("\\b(?:INSERT|UPDATE|DELETE|MERGE|ANALYZE)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private long clock;
+    private long lastGlobalModification;
+    private final Map<String, Long> lastModifications = new HashMap<>();
+    private boolean hasDependencies;
+    private final Map<String, Map<String, Fact>> facts = new HashMap<>();
+
+    private static final class Fact {
+
+        private final long epoch;
+        private final Object value;
+
+        Fact(long epoch, Object value) {
+            this.epoch = epoch;
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * Advances the data epochs of the tables whose rows a statement might modify. This must be called before the
+     * statement is executed, independently of whether it succeeds.
+     *
+     * @param statement
+     *            the statement
+     * @param schema
+     *            the current schema, which determines whether the modified table is a table, or null if it is unknown
+     */
+    public void statementExecuted(String statement, AbstractSchema<?, ?> schema) {
+        int start = 0;
+        while (start < statement.length()
+                && (Character.isWhitespace(statement.charAt(start)) || statement.charAt(start) == '(')) {
+            start++;
+        }
+        Matcher query = QUERY.matcher(statement).region(start, statement.length());
+        if (query.lookingAt() && !MODIFYING_KEYWORD.matcher(statement).find()) {
+            return;
+        }
+        if (DEPENDENCY.matcher(statement).find()) {
+            hasDependencies = true;
+        }
+        clock++;
+        Matcher modification = SINGLE_TABLE_MODIFICATION.matcher(statement).region(start, statement.length());
+        if (!hasDependencies && schema != null && modification.lookingAt()) {
+            String tableName = modification.group(1) == null ? modification.group(2) : modification.group(1);
+            boolean isTable = schema.getDatabaseTables().stream()
+                    .anyMatch(t -> !t.isView() && t.getName().equalsIgnoreCase(tableName));
+            if (isTable) {
+                lastModifications.put(tableName.toLowerCase(Locale.ROOT), clock);
+                return;
+            }
+        }
+        lastGlobalModification = clock;
+    }
+
+    /**
+     * Advances the data epochs of all tables and discards the cached facts, since the rows of the tables are unrelated
+     * to the previous ones after the connection has been replaced, for example, by a connection to a copy of a database
+     * snapshot.
+     */
+    public void databaseReplaced() {
+        clock++;
+        lastGlobalModification = clock;
+        lastModifications.clear();
+        facts.clear();
+    }
+
+    /**
+     * Returns the data epoch of a table, which differs from its previous epoch if a statement might have modified its
+     * rows in between.
+     *
+     * @param table
+     *            the table
+     *
+     * @return the table's epoch
+     */
+    public long getEpoch(AbstractTable<?, ?, ?> table) {
+        if (table.isView()) {
+            return clock;
+        }
+        long lastModification = lastModifications.getOrDefault(table.getName().toLowerCase(Locale.ROOT), 0L);
+        return Math.max(lastModification, lastGlobalModification);
+    }
+
+    /**
+     * Returns a fact that is derived from a table's rows, which is computed only if the table might have been modified
+     * since it was last computed.
+     *
+     * @param <T>
+     *            the type of the fact
+     * @param table
+     *            the table
+     * @param name
+     *            the name of the fact, e.g., "COUNT(*)"
+     * @param supplier
+     *            computes the fact
+     *
+     * @return the fact
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getFact(AbstractTable<?, ?, ?> table, String name, Supplier<T> supplier) {
+        long epoch = getEpoch(table);
+        Map<String, Fact> tableFacts = facts.computeIfAbsent(table.getName().toLowerCase(Locale.ROOT),
+                n -> new HashMap<>());
+        Fact fact = tableFacts.get(name);
+        if (fact == null || fact.epoch != epoch) {
+            fact = new Fact(epoch, supplier.get());
+            tableFacts.put(name, fact);
+        }
+        return (T) fact.value;
+    }
+
+}
@@ -0,0 +1,115 @@
+package sqlancer.common.schema;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqlancer.Randomly;
+import sqlancer.SQLGlobalState;
+
+/**
+ * Draws random rows from a table, for example, the pivot rows of the PQS oracles. Rather than executing a query with
+ * ORDER BY RANDOM() LIMIT 1 for each row, which scans and sorts the table each time, a uniform random sample of
+ * --pivot-row-sample-size rows is read in a single scan (using reservoir sampling), and reused until the table might
+ * have been modified (see {@link TableDataEpochs}). Since the rows of different tables are drawn independently, a row
+ * of their cross product is also drawn uniformly.
+ */
+public final class TableRowSampler {
+
+    private TableRowSampler() {
+    }
+
+    @FunctionalInterface
+    public interface RowReader<V> {
+
+        /**
+         * Reads the values of the current row of a result set.
+         *
+         * @param rs
+         *            the result set, which is positioned on a row
+         *
+         * @return the values, in the order of the columns of the query
+         *
+         * @throws SQLException
+         *             if the values cannot be read
+         */
+        List<V> read(ResultSet rs) throws SQLException;
+
+    }
+
+    // carries an SQLException through the supplier of a fact, which cannot throw checked exceptions
+    private static final class SampleException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        SampleException(SQLException cause) {
+            super(cause);
+        }
+
+    }
+
+    /**
+     * Returns the values of a random row of a table.
+     *
+     * @param <V>
+     *            the type of the values
+     * @param state
+     *            the global state
+     * @param table
+     *            the table
+     * @param query
+     *            a query that selects the table's rows without ordering or limiting them, which also determines which
+     *            columns the values belong to
+     * @param reader
+     *            converts a row of the query's result to its values
+     *
+     * @return the values of the row, or null if the table is empty
+     *
+     * @throws SQLException
+     *             if the query fails or the values cannot be read
+     */
+    public static <V> List<V> getRandomRow(SQLGlobalState<?, ?> state, AbstractTable<?, ?, ?> table, String query,
+            RowReader<V> reader) throws SQLException {
+        List<List<V>> sample;
+        try {
+            // the query is part of the name, so that a sample is not reused after the table's columns changed
+            sample = state.getDataEpochs().getFact(table, "row sample: " + query,
+                    () -> readSample(state, query, reader));
+        } catch (SampleException e) {
+            throw (SQLException) e.getCause();
+        }
+        if (sample.isEmpty()) {
+            return null;
+        }
+        return Randomly.fromList(sample);
+    }
+
+    private static <V> List<List<V>> readSample(SQLGlobalState<?, ?> state, String query, RowReader<V> reader) {
+        int sampleSize = Math.max(1, state.getOptions().getPivotRowSampleSize());
+        List<List<V>> sample = new ArrayList<>();
+        try (Statement s = state.getConnection().createStatement()) {
+            try (ResultSet rs = s.executeQuery(query)) {
+                int nrRows = 0;
+                while (rs.next()) {
+                    nrRows++;
+                    if (sample.size() < sampleSize) {
+                        sample.add(reader.read(rs));
+                    } else {
+                        // the n-th row replaces a row of the sample with a probability of sampleSize / n, and only
+                        // the rows that are kept are converted
+                        int replaced = (int) Randomly.getNotCachedInteger(0, nrRows);
+                        if (replaced < sampleSize) {
+                            sample.set(replaced, reader.read(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new SampleException(e);
+        }
+        return sample;
+    }
+
+}
@@ -10,7 +10,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
@@ -226,8 +225,7 @@ public class DatabendSchema extends AbstractSchema<DatabendGlobalState, Databend
     }
 
     public DatabendTables getRandomTableNonEmptyAndViewTables() {
-        List<DatabendTable> tables = getDatabaseTables().stream().filter(t -> !t.isView()).collect(Collectors.toList());
-        tables = Randomly.nonEmptySubset(tables);
+        List<DatabendTable> tables = Randomly.nonEmptySubset(getDatabaseTablesWithoutViews());
         return new DatabendTables(tables);
     }
 
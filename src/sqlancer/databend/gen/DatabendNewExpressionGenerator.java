@@ -2,7 +2,6 @@ package sqlancer.databend.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -11,6 +10,7 @@ import sqlancer.Randomly;
 import sqlancer.common.ast.newast.NewOrderingTerm;
 import sqlancer.common.ast.newast.Node;
 import sqlancer.common.gen.TypedExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 import sqlancer.databend.DatabendProvider.DatabendGlobalState;
 import sqlancer.databend.DatabendSchema.DatabendColumn;
 import sqlancer.databend.DatabendSchema.DatabendDataType;
@@ -45,6 +45,8 @@ public class DatabendNewExpressionGenerator
     private DatabendRowValue rowValue;
 
     private Set<DatabendColumnValue> columnOfLeafNode;
+    private ColumnsByType<DatabendColumn, DatabendDataType> columnsByType = new ColumnsByType<>(columns,
+            c -> c.getType().getPrimitiveDataType());
 
     public DatabendNewExpressionGenerator setRowValue(DatabendRowValue rowValue) {
         this.rowValue = rowValue;
@@ -60,6 +62,13 @@ public class DatabendNewExpressionGenerator
         this.maxDepth = globalState.getOptions().getMaxExpressionDepth();
     }
 
+    @Override
+    public <U extends TypedExpressionGenerator<DatabendExpression, DatabendColumn, DatabendDataType>> U setColumns(
+            List<DatabendColumn> columns) {
+        columnsByType = new ColumnsByType<>(columns, c -> c.getType().getPrimitiveDataType());
+        return super.setColumns(columns);
+    }
+
     @Override
     public DatabendExpression generateLeafNode(DatabendDataType dataType) {
         if (Randomly.getBoolean()) {
@@ -74,12 +83,7 @@ public class DatabendNewExpressionGenerator
     }
 
     final List<DatabendColumn> filterColumns(DatabendDataType dataType) {
-        if (columns == null) {
-            return Collections.emptyList();
-        } else {
-            return columns.stream().filter(c -> c.getType().getPrimitiveDataType() == dataType)
-                    .collect(Collectors.toList());
-        }
+        return columnsByType.get(dataType);
     }
 
     private DatabendExpression createColumnOfType(DatabendDataType type) {
@@ -5,7 +5,9 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
@@ -226,12 +228,20 @@ public class DuckDBSchema extends AbstractSchema<DuckDBGlobalState, DuckDBTable>
 
     public static DuckDBSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         List<DuckDBTable> databaseTables = new ArrayList<>();
-        List<String> tableNames = getTableNames(con);
-        for (String tableName : tableNames) {
+        Map<String, List<DuckDBColumn>> tables = getTableColumns(con);
+        for (Map.Entry<String, List<DuckDBColumn>> table : tables.entrySet()) {
+            String tableName = table.getKey();
             if (DBMSCommon.matchesIndexName(tableName)) {
                 continue; // TODO: unexpected?
             }
-            List<DuckDBColumn> databaseColumns = getTableColumns(con, tableName);
+            List<DuckDBColumn> databaseColumns = table.getValue();
+            if (databaseColumns.stream().noneMatch(c -> c.isPrimaryKey())) {
+                // https://github.com/cwida/duckdb/issues/589
+                // https://github.com/cwida/duckdb/issues/588
+                // TODO: implement an option to enable/disable rowids
+                databaseColumns.add(
+                        new DuckDBColumn("rowid", new DuckDBCompositeDataType(DuckDBDataType.INT, 4), false, false));
+            }
             boolean isView = tableName.startsWith("v");
             DuckDBTable t = new DuckDBTable(tableName, databaseColumns, isView);
             for (DuckDBColumn c : databaseColumns) {
@@ -243,39 +253,33 @@ public class DuckDBSchema extends AbstractSchema<DuckDBGlobalState, DuckDBTable>
         return new DuckDBSchema(databaseTables);
     }
 
-    private static List<String> getTableNames(SQLConnection con) throws SQLException {
-        List<String> tableNames = new ArrayList<>();
+    // returns the columns of each table and view, by the name of the table, in a single query rather than calling
+    // pragma_table_info() for each table
+    private static Map<String, List<DuckDBColumn>> getTableColumns(SQLConnection con) throws SQLException {
+        Map<String, List<DuckDBColumn>> tables = new LinkedHashMap<>();
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT * FROM sqlite_master WHERE type='table' or type='view'")) {
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT m.name AS table_name, c.column_name, c.data_type, c.is_nullable, pk.column_name IS NOT NULL AS is_primary_key "
+                            + "FROM sqlite_master m LEFT JOIN duckdb_columns() c ON c.table_name = m.name AND NOT c.internal "
+                            + "LEFT JOIN (SELECT table_name, UNNEST(constraint_column_names) AS column_name FROM duckdb_constraints() WHERE constraint_type = 'PRIMARY KEY') pk "
+                            + "ON pk.table_name = c.table_name AND pk.column_name = c.column_name "
+                            + "WHERE m.type = 'table' OR m.type = 'view' ORDER BY m.name, c.column_index")) {
                 while (rs.next()) {
-                    tableNames.add(rs.getString("name"));
-                }
-            }
-        }
-        return tableNames;
-    }
-
-    private static List<DuckDBColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<DuckDBColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String.format("SELECT * FROM pragma_table_info('%s');", tableName))) {
-                while (rs.next()) {
-                    String columnName = rs.getString("name");
-                    String dataType = rs.getString("type");
-                    boolean isNullable = rs.getString("notnull").contentEquals("false");
-                    boolean isPrimaryKey = rs.getString("pk").contains("true");
+                    List<DuckDBColumn> columns = tables.computeIfAbsent(rs.getString("table_name"),
+                            t -> new ArrayList<>());
+                    String columnName = rs.getString("column_name");
+                    if (columnName == null) {
+                        continue;
+                    }
+                    String dataType = rs.getString("data_type");
+                    boolean isNullable = rs.getBoolean("is_nullable");
+                    boolean isPrimaryKey = rs.getBoolean("is_primary_key");
                     DuckDBColumn c = new DuckDBColumn(columnName, getColumnType(dataType), isPrimaryKey, isNullable);
                     columns.add(c);
                 }
             }
         }
-        if (columns.stream().noneMatch(c -> c.isPrimaryKey())) {
-            // https://github.com/cwida/duckdb/issues/589
-            // https://github.com/cwida/duckdb/issues/588
-            // TODO: implement an option to enable/disable rowids
-            columns.add(new DuckDBColumn("rowid", new DuckDBCompositeDataType(DuckDBDataType.INT, 4), false, false));
-        }
-        return columns;
+        return tables;
     }
 
 }
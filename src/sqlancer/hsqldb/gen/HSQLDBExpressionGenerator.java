@@ -3,13 +3,13 @@ package sqlancer.hsqldb.gen;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import sqlancer.Randomly;
 import sqlancer.common.ast.BinaryOperatorNode;
 import sqlancer.common.ast.newast.NewBinaryOperatorNode;
 import sqlancer.common.ast.newast.Node;
 import sqlancer.common.gen.TypedExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 import sqlancer.hsqldb.HSQLDBProvider;
 import sqlancer.hsqldb.HSQLDBSchema;
 import sqlancer.hsqldb.ast.HSQLDBColumnReference;
@@ -26,9 +26,18 @@ public final class HSQLDBExpressionGenerator extends
     }
 
     HSQLDBProvider.HSQLDBGlobalState hsqldbGlobalState;
+    private ColumnsByType<HSQLDBSchema.HSQLDBColumn, HSQLDBSchema.HSQLDBCompositeDataType> columnsByType;
 
     public HSQLDBExpressionGenerator(HSQLDBProvider.HSQLDBGlobalState globalState) {
         this.hsqldbGlobalState = globalState;
+        this.columnsByType = new ColumnsByType<>(columns, HSQLDBSchema.HSQLDBColumn::getType);
+    }
+
+    @Override
+    public <U extends TypedExpressionGenerator<Node<HSQLDBExpression>, HSQLDBSchema.HSQLDBColumn, HSQLDBSchema.HSQLDBCompositeDataType>> U setColumns(
+            List<HSQLDBSchema.HSQLDBColumn> columns) {
+        columnsByType = new ColumnsByType<>(columns, HSQLDBSchema.HSQLDBColumn::getType);
+        return super.setColumns(columns);
     }
 
     @Override
@@ -112,8 +121,7 @@ public final class HSQLDBExpressionGenerator extends
 
     @Override
     protected Node<HSQLDBExpression> generateColumn(HSQLDBSchema.HSQLDBCompositeDataType type) {
-        HSQLDBSchema.HSQLDBColumn column = Randomly
-                .fromList(columns.stream().filter(c -> c.getType() == type).collect(Collectors.toList()));
+        HSQLDBSchema.HSQLDBColumn column = Randomly.fromList(columnsByType.get(type));
         return new HSQLDBColumnReference(column);
     }
 
@@ -124,7 +132,7 @@ public final class HSQLDBExpressionGenerator extends
 
     @Override
     protected boolean canGenerateColumnOfType(HSQLDBSchema.HSQLDBCompositeDataType type) {
-        return columns.stream().anyMatch(c -> c.getType() == type);
+        return columnsByType.contains(type);
     }
 
     public enum HSQLDBBinaryLogicalOperator implements BinaryOperatorNode.Operator {
@@ -16,6 +16,7 @@ import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
 import sqlancer.SQLProviderAdapter;
+import sqlancer.WeightedSampler;
 import sqlancer.common.DBMSCommon;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.mariadb.MariaDBProvider.MariaDBGlobalState;
@@ -62,7 +63,6 @@ public class MariaDBProvider extends SQLProviderAdapter<MariaDBGlobalState, Mari
 
         int[] nrRemaining = new int[Action.values().length];
         List<Action> actions = new ArrayList<>();
-        int total = 0;
         for (int i = 0; i < Action.values().length; i++) {
             Action action = Action.values()[i];
             int nrPerformed = 0;
@@ -90,23 +90,11 @@ public class MariaDBProvider extends SQLProviderAdapter<MariaDBGlobalState, Mari
                 actions.add(action);
             }
             nrRemaining[action.ordinal()] = nrPerformed;
-            total += nrPerformed;
         }
-        while (total != 0) {
-            Action nextAction = null;
-            int selection = globalState.getRandomly().getInteger(0, total);
-            int previousRange = 0;
-            for (int i = 0; i < nrRemaining.length; i++) {
-                if (previousRange <= selection && selection < previousRange + nrRemaining[i]) {
-                    nextAction = Action.values()[i];
-                    break;
-                } else {
-                    previousRange += nrRemaining[i];
-                }
-            }
-            assert nextAction != null;
-            assert nrRemaining[nextAction.ordinal()] > 0;
-            nrRemaining[nextAction.ordinal()]--;
+        WeightedSampler sampler = new WeightedSampler(nrRemaining);
+        while (sampler.getTotal() != 0) {
+            Action nextAction = Action.values()[sampler.sample(globalState.getRandomly())];
+            sampler.decrement(nextAction.ordinal());
             SQLQueryAdapter query;
             try {
                 switch (nextAction) {
@@ -144,7 +132,6 @@ public class MariaDBProvider extends SQLProviderAdapter<MariaDBGlobalState, Mari
                     throw new AssertionError(nextAction);
                 }
             } catch (IgnoreMeException e) {
-                total--;
                 continue;
             }
             try {
@@ -153,7 +140,6 @@ public class MariaDBProvider extends SQLProviderAdapter<MariaDBGlobalState, Mari
                 System.err.println(query.getQueryString());
                 throw t;
             }
-            total--;
         }
     }
 
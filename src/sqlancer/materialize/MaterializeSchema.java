@@ -220,6 +220,10 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
         try {
             List<MaterializeTable> databaseTables = new ArrayList<>();
             List<String> indexNames = new ArrayList<>();
+            // the columns and indexes of all tables are read at once, rather than for each table
+            Map<String, List<MaterializeColumn>> columns = getTableColumns(con);
+            Map<String, List<MaterializeIndex>> indexes = getIndexes(con);
+            List<MaterializeStatisticsObject> statistics = getStatistics(con);
             try (Statement s = con.createStatement()) {
                 // ERROR: column "is_insertable_into" does not exist
                 try (ResultSet rs = s.executeQuery(
@@ -234,11 +238,10 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
                             isInsertable = false;
                         }
                         MaterializeTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<MaterializeColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<MaterializeIndex> indexes = getIndexes(con, tableName);
-                        List<MaterializeStatisticsObject> statistics = getStatistics(con);
-                        MaterializeTable t = new MaterializeTable(tableName, databaseColumns, indexes, tableType,
-                                statistics, isView, isInsertable);
+                        List<MaterializeColumn> databaseColumns = columns.getOrDefault(tableName, new ArrayList<>());
+                        MaterializeTable t = new MaterializeTable(tableName, databaseColumns,
+                                indexes.getOrDefault(tableName, new ArrayList<>()), tableType,
+                                new ArrayList<>(statistics), isView, isInsertable);
                         for (MaterializeColumn c : databaseColumns) {
                             c.setTable(t);
                         }
@@ -278,17 +281,18 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
         return tableType;
     }
 
-    protected static List<MaterializeIndex> getIndexes(SQLConnection con, String tableName) throws SQLException {
-        List<MaterializeIndex> indexes = new ArrayList<>();
+    // returns the indexes of each table, by the table's name
+    protected static Map<String, List<MaterializeIndex>> getIndexes(SQLConnection con) throws SQLException {
+        Map<String, List<MaterializeIndex>> indexes = new HashMap<>();
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String
-                    // org.postgresql.util.PSQLException: ERROR: unknown catalog item 'pg_indexes'
-                    .format("SELECT c.relname as indexname FROM pg_catalog.pg_class c LEFT JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace LEFT JOIN pg_catalog.pg_index i ON i.indexrelid = c.oid LEFT JOIN pg_catalog.pg_class c2 ON i.indrelid = c2.oid WHERE c.relkind IN ('i','I','') AND n.nspname <> 'pg_catalog' AND n.nspname !~ '^pg_toast' AND n.nspname <> 'information_schema' AND c2.relname = '%s' AND pg_catalog.pg_table_is_visible(c.oid) ORDER BY indexname;",
-                            tableName))) {
+            // org.postgresql.util.PSQLException: ERROR: unknown catalog item 'pg_indexes'
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT c2.relname as tablename, c.relname as indexname FROM pg_catalog.pg_class c LEFT JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace LEFT JOIN pg_catalog.pg_index i ON i.indexrelid = c.oid LEFT JOIN pg_catalog.pg_class c2 ON i.indrelid = c2.oid WHERE c.relkind IN ('i','I','') AND n.nspname <> 'pg_catalog' AND n.nspname !~ '^pg_toast' AND n.nspname <> 'information_schema' AND c2.relname IS NOT NULL AND pg_catalog.pg_table_is_visible(c.oid) ORDER BY indexname;")) {
                 while (rs.next()) {
                     String indexName = rs.getString("indexname");
                     if (DBMSCommon.matchesIndexName(indexName)) {
-                        indexes.add(MaterializeIndex.create(indexName));
+                        indexes.computeIfAbsent(rs.getString("tablename"), t -> new ArrayList<>())
+                                .add(MaterializeIndex.create(indexName));
                     }
                 }
             }
@@ -296,17 +300,17 @@ public class MaterializeSchema extends AbstractSchema<MaterializeGlobalState, Ma
         return indexes;
     }
 
-    protected static List<MaterializeColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<MaterializeColumn> columns = new ArrayList<>();
+    // returns the columns of each table, by the table's name
+    protected static Map<String, List<MaterializeColumn>> getTableColumns(SQLConnection con) throws SQLException {
+        Map<String, List<MaterializeColumn>> columns = new HashMap<>();
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("select column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_name = '"
-                            + tableName + "' ORDER BY column_name")) {
+            try (ResultSet rs = s.executeQuery(
+                    "select table_name, column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY column_name")) {
                 while (rs.next()) {
                     String columnName = rs.getString("column_name");
                     String dataType = rs.getString("data_type");
                     MaterializeColumn c = new MaterializeColumn(columnName, getColumnType(dataType));
-                    columns.add(c);
+                    columns.computeIfAbsent(rs.getString("table_name"), t -> new ArrayList<>()).add(c);
                 }
             }
         }
@@ -2,7 +2,6 @@ package sqlancer.materialize.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -11,6 +10,7 @@ import java.util.stream.Stream;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.gen.ExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 import sqlancer.materialize.MaterializeCompoundDataType;
 import sqlancer.materialize.MaterializeGlobalState;
 import sqlancer.materialize.MaterializeProvider;
@@ -53,6 +53,8 @@ public class MaterializeExpressionGenerator implements ExpressionGenerator<Mater
     private final Randomly r;
 
     private List<MaterializeColumn> columns;
+    private ColumnsByType<MaterializeColumn, MaterializeDataType> columnsByType = new ColumnsByType<>(null,
+            MaterializeColumn::getType);
 
     private MaterializeRowValue rw;
 
@@ -76,6 +78,7 @@ public class MaterializeExpressionGenerator implements ExpressionGenerator<Mater
 
     public MaterializeExpressionGenerator setColumns(List<MaterializeColumn> columns) {
         this.columns = columns;
+        this.columnsByType = new ColumnsByType<>(columns, MaterializeColumn::getType);
         return this;
     }
 
@@ -388,11 +391,7 @@ public class MaterializeExpressionGenerator implements ExpressionGenerator<Mater
     }
 
     final List<MaterializeColumn> filterColumns(MaterializeDataType type) {
-        if (columns == null) {
-            return Collections.emptyList();
-        } else {
-            return columns.stream().filter(c -> c.getType() == type).collect(Collectors.toList());
-        }
+        return columnsByType.get(type);
     }
 
     public MaterializeExpression generateExpressionWithExpectedResult(MaterializeDataType type) {
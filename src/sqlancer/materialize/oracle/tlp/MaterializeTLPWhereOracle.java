@@ -7,6 +7,7 @@ import java.util.List;
 
 import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
+import sqlancer.ResultSetFingerprint;
 import sqlancer.materialize.MaterializeGlobalState;
 import sqlancer.materialize.MaterializeVisitor;
 
@@ -29,7 +30,8 @@ public class MaterializeTLPWhereOracle extends MaterializeTLPBase {
         }
         String originalQueryString = MaterializeVisitor.asString(select);
         generatedQueryString = originalQueryString;
-        List<String> resultSet = ComparatorHelper.getResultSetFirstColumnAsString(originalQueryString, errors, state);
+        ResultSetFingerprint fingerprint = ComparatorHelper.getResultSetFirstColumnFingerprint(originalQueryString,
+                errors, state);
 
         select.setOrderByExpressions(Collections.emptyList());
         select.setWhereClause(predicate);
@@ -39,10 +41,10 @@ public class MaterializeTLPWhereOracle extends MaterializeTLPBase {
         select.setWhereClause(isNullPredicate);
         String thirdQueryString = MaterializeVisitor.asString(select);
         List<String> combinedString = new ArrayList<>();
-        List<String> secondResultSet = ComparatorHelper.getCombinedResultSet(firstQueryString, secondQueryString,
-                thirdQueryString, combinedString, Randomly.getBoolean(), state, errors);
-        ComparatorHelper.assumeResultSetsAreEqual(resultSet, secondResultSet, originalQueryString, combinedString,
-                state);
+        ResultSetFingerprint secondFingerprint = ComparatorHelper.getCombinedResultSetFingerprint(firstQueryString,
+                secondQueryString, thirdQueryString, combinedString, Randomly.getBoolean(), state, errors);
+        ComparatorHelper.assumeResultSetsAreEqual(fingerprint, secondFingerprint, originalQueryString, combinedString,
+                state, errors);
     }
 
     @Override
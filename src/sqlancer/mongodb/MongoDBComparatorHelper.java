@@ -7,7 +7,7 @@ import java.util.Set;
 import org.bson.Document;
 
 import sqlancer.IgnoreMeException;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.mongodb.MongoDBProvider.MongoDBGlobalState;
 import sqlancer.mongodb.query.MongoDBSelectQuery;
@@ -23,14 +23,14 @@ public final class MongoDBComparatorHelper {
         List<Document> result;
         try {
             adapter.executeAndGet(state);
-            Main.nrSuccessfulActions.addAndGet(1);
+            state.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             result = adapter.getResultSet();
             return result;
         } catch (Exception e) {
             if (e instanceof IgnoreMeException) {
                 throw e;
             }
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            state.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             if (e.getMessage() == null) {
                 throw new AssertionError(adapter.getLogString(), e);
             }
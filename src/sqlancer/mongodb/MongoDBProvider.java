@@ -73,10 +73,10 @@ public class MongoDBProvider
                 System.out.println(q.getLogString());
             }
             if (logExecutionTime) {
-                getLogger().writeCurrent("// " + timer.end().asString());
+                getLogger().writeCurrent("// " + timer.asString());
             }
             if (q.couldAffectSchema()) {
-                updateSchema();
+                updateSchema(q, success);
             }
         }
 
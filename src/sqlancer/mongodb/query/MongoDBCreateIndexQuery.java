@@ -8,7 +8,7 @@ import org.bson.conversions.Bson;
 import com.mongodb.client.model.Indexes;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.mongodb.MongoDBConnection;
 import sqlancer.mongodb.MongoDBQueryAdapter;
@@ -58,7 +58,7 @@ public class MongoDBCreateIndexQuery extends MongoDBQueryAdapter {
     @Override
     public <G extends GlobalState<?, ?, MongoDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
-        Main.nrSuccessfulActions.addAndGet(1);
+        globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
         Bson index;
         if (indeces.size() > 1) {
             index = Indexes.compoundIndex(indeces);
@@ -11,7 +11,7 @@ import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.ValidationOptions;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.mongodb.MongoDBConnection;
 import sqlancer.mongodb.MongoDBQueryAdapter;
@@ -39,7 +39,7 @@ public class MongoDBCreateTableQuery extends MongoDBQueryAdapter {
     public <G extends GlobalState<?, ?, MongoDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
         ValidationOptions collOptions = new ValidationOptions().validator(this.validationFilter);
-        Main.nrSuccessfulActions.addAndGet(1);
+        globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
         globalState.getConnection().getDatabase().createCollection(tableName,
                 new CreateCollectionOptions().validationOptions(collOptions));
         return true;
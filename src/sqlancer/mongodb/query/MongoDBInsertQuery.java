@@ -8,7 +8,7 @@ import org.bson.types.ObjectId;
 import com.mongodb.client.result.InsertOneResult;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.mongodb.MongoDBConnection;
 import sqlancer.mongodb.MongoDBQueryAdapter;
@@ -74,7 +74,7 @@ public class MongoDBInsertQuery extends MongoDBQueryAdapter {
     @Override
     public <G extends GlobalState<?, ?, MongoDBConnection>> boolean execute(G globalState, String... fills)
             throws Exception {
-        Main.nrSuccessfulActions.addAndGet(1);
+        globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
         InsertOneResult result = globalState.getConnection().getDatabase().getCollection(table.getName())
                 .insertOne(documentToBeInserted);
         return result.wasAcknowledged();
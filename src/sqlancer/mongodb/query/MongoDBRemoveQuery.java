@@ -6,7 +6,7 @@ import org.bson.types.ObjectId;
 import com.mongodb.client.result.DeleteResult;
 
 import sqlancer.GlobalState;
-import sqlancer.Main;
+import sqlancer.MetricsRegistry.Counter;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.mongodb.MongoDBConnection;
 import sqlancer.mongodb.MongoDBQueryAdapter;
@@ -34,13 +34,13 @@ public class MongoDBRemoveQuery extends MongoDBQueryAdapter {
             DeleteResult result = globalState.getConnection().getDatabase().getCollection(table.getName())
                     .deleteOne(new Document("_id", new ObjectId(objectId)));
             if (result.wasAcknowledged()) {
-                Main.nrSuccessfulActions.addAndGet(1);
+                globalState.incrementCounter(Counter.SUCCESSFUL_STATEMENTS);
             } else {
-                Main.nrUnsuccessfulActions.addAndGet(1);
+                globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             }
             return result.wasAcknowledged();
         } catch (Exception e) {
-            Main.nrUnsuccessfulActions.addAndGet(1);
+            globalState.incrementCounter(Counter.UNSUCCESSFUL_STATEMENTS);
             return false;
         }
     }
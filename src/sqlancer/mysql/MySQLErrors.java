@@ -12,4 +12,20 @@ public final class MySQLErrors {
         errors.add("is not valid for CHARACTER SET");
     }
 
+    public static void addInsertErrors(ExpectedErrors errors) {
+        errors.addSQLState("22001"); // reported by the driver as "Data truncation"
+        errors.addVendorCode(1048); // ER_BAD_NULL_ERROR: Column '%s' cannot be null
+        errors.addVendorCode(1062); // ER_DUP_ENTRY: Duplicate entry '%s' for key %d
+        errors.addVendorCode(1265); // WARN_DATA_TRUNCATED: Data truncated for column '%s' at row %ld
+        errors.addVendorCode(1364); // ER_NO_DEFAULT_FOR_FIELD: Field '%s' doesn't have a default value
+        errors.add("doesn't have a default value");
+        errors.add("Data truncation");
+        errors.add("Incorrect integer value");
+        errors.add("Duplicate entry");
+        errors.add("Data truncated for functional index");
+        errors.add("Data truncated for column");
+        errors.add("cannot be null");
+        errors.add("Incorrect decimal value");
+    }
+
 }
@@ -17,4 +17,10 @@ public class MySQLGlobalState extends SQLGlobalState<MySQLOptions, MySQLSchema>
         return getDbmsSpecificOptions().oracles.stream().anyMatch(o -> o == MySQLOracleFactory.PQS);
     }
 
+    @Override
+    public String getResultHashQuery(String queryString) {
+        // MySQL requires the column alias list to name all columns, but the TLP oracles fetch only a single column
+        return "SELECT COUNT(*), COUNT(*) - COUNT(c), SUM(CRC32(c)) FROM (" + queryString + ") AS res(c)";
+    }
+
 }
@@ -2,8 +2,11 @@ package sqlancer.mysql;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.google.auto.service.AutoService;
 
@@ -154,23 +157,11 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
 
     @Override
     public SQLConnection createDatabase(MySQLGlobalState globalState) throws SQLException {
-        String username = globalState.getOptions().getUserName();
-        String password = globalState.getOptions().getPassword();
-        String host = globalState.getOptions().getHost();
-        int port = globalState.getOptions().getPort();
-        if (host == null) {
-            host = MySQLOptions.DEFAULT_HOST;
-        }
-        if (port == MainOptions.NO_SET_PORT) {
-            port = MySQLOptions.DEFAULT_PORT;
-        }
         String databaseName = globalState.getDatabaseName();
         globalState.getState().logStatement("DROP DATABASE IF EXISTS " + databaseName);
         globalState.getState().logStatement("CREATE DATABASE " + databaseName);
         globalState.getState().logStatement("USE " + databaseName);
-        String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
-                host, port);
-        Connection con = DriverManager.getConnection(url, username, password);
+        Connection con = getConnection(globalState);
         try (Statement s = con.createStatement()) {
             s.execute("DROP DATABASE IF EXISTS " + databaseName);
         }
@@ -183,6 +174,59 @@ public class MySQLProvider extends SQLProviderAdapter<MySQLGlobalState, MySQLOpt
         return new SQLConnection(con);
     }
 
+    @Override
+    public SQLConnection cloneDatabase(MySQLGlobalState globalState, String cloneName) throws SQLException {
+        // MySQL cannot copy a whole database, so we copy the (index and engine) definitions and rows of each table
+        String databaseName = globalState.getDatabaseName();
+        Connection con = getConnection(globalState);
+        List<String> statements = new ArrayList<>();
+        statements.add("DROP DATABASE IF EXISTS " + cloneName);
+        statements.add("CREATE DATABASE " + cloneName);
+        try (Statement s = con.createStatement()) {
+            ResultSet rs = s.executeQuery(String.format(
+                    "SELECT TABLE_NAME FROM information_schema.TABLES WHERE TABLE_SCHEMA = '%s' AND TABLE_TYPE = 'BASE TABLE'",
+                    databaseName));
+            while (rs.next()) {
+                String tableName = rs.getString(1);
+                statements.add(
+                        String.format("CREATE TABLE %s.%s LIKE %s.%s", cloneName, tableName, databaseName, tableName));
+                statements.add(String.format("INSERT INTO %s.%s SELECT * FROM %s.%s", cloneName, tableName,
+                        databaseName, tableName));
+            }
+        }
+        statements.add("USE " + cloneName);
+        for (String statement : statements) {
+            globalState.getState().logStatement(statement);
+            try (Statement s = con.createStatement()) {
+                s.execute(statement);
+            }
+        }
+        return new SQLConnection(con);
+    }
+
+    @Override
+    public void dropDatabase(MySQLGlobalState globalState) throws SQLException {
+        try (Connection con = getConnection(globalState); Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + globalState.getDatabaseName());
+        }
+    }
+
+    private static Connection getConnection(MySQLGlobalState globalState) throws SQLException {
+        String username = globalState.getOptions().getUserName();
+        String password = globalState.getOptions().getPassword();
+        String host = globalState.getOptions().getHost();
+        int port = globalState.getOptions().getPort();
+        if (host == null) {
+            host = MySQLOptions.DEFAULT_HOST;
+        }
+        if (port == MainOptions.NO_SET_PORT) {
+            port = MySQLOptions.DEFAULT_PORT;
+        }
+        String url = String.format("jdbc:mysql://%s:%d?serverTimezone=UTC&useSSL=false&allowPublicKeyRetrieval=true",
+                host, port);
+        return DriverManager.getConnection(url, username, password);
+    }
+
     @Override
     public String getDBMSName() {
         return "mysql";
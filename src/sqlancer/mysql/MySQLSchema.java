@@ -18,6 +18,7 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.common.schema.TableIndex;
+import sqlancer.common.schema.TableRowSampler;
 import sqlancer.mysql.MySQLSchema.MySQLTable;
 import sqlancer.mysql.MySQLSchema.MySQLTable.MySQLEngine;
 import sqlancer.mysql.ast.MySQLConstant;
@@ -88,46 +89,41 @@ public class MySQLSchema extends AbstractSchema<MySQLGlobalState, MySQLTable> {
             super(tables);
         }
 
-        public MySQLRowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s FROM %s ORDER BY RAND() LIMIT 1", columnNamesAsString(
-                    c -> c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName() + c.getName()),
-                    // columnNamesAsString(c -> "typeof(" + c.getTable().getName() + "." +
-                    // c.getName() + ")")
-                    tableNamesAsString());
+        public MySQLRowValue getRandomRowValue(MySQLGlobalState globalState) throws SQLException {
             Map<MySQLColumn, MySQLConstant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues = s.executeQuery(randomRow);
-                if (!randomRowValues.next()) {
+            for (MySQLTable table : getTables()) {
+                List<MySQLColumn> columns = table.getColumns();
+                String randomRow = String.format("SELECT %s FROM %s", table.getColumnsAsString(), table.getName());
+                List<MySQLConstant> row = TableRowSampler.getRandomRow(globalState, table, randomRow, rs -> {
+                    List<MySQLConstant> constants = new ArrayList<>();
+                    for (int i = 0; i < columns.size(); i++) {
+                        constants.add(getConstant(rs, i + 1, columns.get(i).getType()));
+                    }
+                    return constants;
+                });
+                if (row == null) {
                     throw new AssertionError("could not find random row! " + randomRow + "\n");
                 }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    MySQLColumn column = getColumns().get(i);
-                    Object value;
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    MySQLConstant constant;
-                    if (randomRowValues.getString(columnIndex) == null) {
-                        constant = MySQLConstant.createNullConstant();
-                    } else {
-                        switch (column.getType()) {
-                        case INT:
-                            value = randomRowValues.getLong(columnIndex);
-                            constant = MySQLConstant.createIntConstant((long) value);
-                            break;
-                        case VARCHAR:
-                            value = randomRowValues.getString(columnIndex);
-                            constant = MySQLConstant.createStringConstant((String) value);
-                            break;
-                        default:
-                            throw new AssertionError(column.getType());
-                        }
-                    }
-                    values.put(column, constant);
+                for (int i = 0; i < columns.size(); i++) {
+                    values.put(columns.get(i), row.get(i));
                 }
-                assert !randomRowValues.next();
-                return new MySQLRowValue(this, values);
             }
+            return new MySQLRowValue(this, values);
+        }
 
+        private static MySQLConstant getConstant(ResultSet rs, int columnIndex, MySQLDataType type)
+                throws SQLException {
+            if (rs.getString(columnIndex) == null) {
+                return MySQLConstant.createNullConstant();
+            }
+            switch (type) {
+            case INT:
+                return MySQLConstant.createIntConstant(rs.getLong(columnIndex));
+            case VARCHAR:
+                return MySQLConstant.createStringConstant(rs.getString(columnIndex));
+            default:
+                throw new AssertionError(type);
+            }
         }
 
     }
@@ -227,6 +223,9 @@ public class MySQLSchema extends AbstractSchema<MySQLGlobalState, MySQLTable> {
         for (int i = 0; i < NR_SCHEMA_READ_TRIES; i++) {
             try {
                 List<MySQLTable> databaseTables = new ArrayList<>();
+                // the columns and indexes of all tables are read at once, rather than for each table
+                Map<String, List<MySQLColumn>> columns = getTableColumns(con, databaseName);
+                Map<String, List<MySQLIndex>> indexes = getIndexes(con, databaseName);
                 try (Statement s = con.createStatement()) {
                     try (ResultSet rs = s.executeQuery(
                             "select TABLE_NAME, ENGINE from information_schema.TABLES where table_schema = '"
@@ -235,9 +234,9 @@ public class MySQLSchema extends AbstractSchema<MySQLGlobalState, MySQLTable> {
                             String tableName = rs.getString("TABLE_NAME");
                             String tableEngineStr = rs.getString("ENGINE");
                             MySQLEngine engine = MySQLEngine.get(tableEngineStr);
-                            List<MySQLColumn> databaseColumns = getTableColumns(con, tableName, databaseName);
-                            List<MySQLIndex> indexes = getIndexes(con, tableName, databaseName);
-                            MySQLTable t = new MySQLTable(tableName, databaseColumns, indexes, engine);
+                            List<MySQLColumn> databaseColumns = columns.getOrDefault(tableName, new ArrayList<>());
+                            MySQLTable t = new MySQLTable(tableName, databaseColumns,
+                                    indexes.getOrDefault(tableName, new ArrayList<>()), engine);
                             for (MySQLColumn c : databaseColumns) {
                                 c.setTable(t);
                             }
@@ -253,35 +252,38 @@ public class MySQLSchema extends AbstractSchema<MySQLGlobalState, MySQLTable> {
         throw new AssertionError(ex);
     }
 
-    private static List<MySQLIndex> getIndexes(SQLConnection con, String tableName, String databaseName)
+    // returns the indexes of each table, by the table's name
+    private static Map<String, List<MySQLIndex>> getIndexes(SQLConnection con, String databaseName)
             throws SQLException {
-        List<MySQLIndex> indexes = new ArrayList<>();
+        Map<String, List<MySQLIndex>> indexes = new HashMap<>();
         try (Statement s = con.createStatement()) {
             try (ResultSet rs = s.executeQuery(String.format(
-                    "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = '%s' AND TABLE_NAME='%s';",
-                    databaseName, tableName))) {
+                    "SELECT TABLE_NAME, INDEX_NAME FROM INFORMATION_SCHEMA.STATISTICS WHERE TABLE_SCHEMA = '%s';",
+                    databaseName))) {
                 while (rs.next()) {
                     String indexName = rs.getString("INDEX_NAME");
-                    indexes.add(MySQLIndex.create(indexName));
+                    indexes.computeIfAbsent(rs.getString("TABLE_NAME"), t -> new ArrayList<>())
+                            .add(MySQLIndex.create(indexName));
                 }
             }
         }
         return indexes;
     }
 
-    private static List<MySQLColumn> getTableColumns(SQLConnection con, String tableName, String databaseName)
+    // returns the columns of each table, by the table's name
+    private static Map<String, List<MySQLColumn>> getTableColumns(SQLConnection con, String databaseName)
             throws SQLException {
-        List<MySQLColumn> columns = new ArrayList<>();
+        Map<String, List<MySQLColumn>> columns = new HashMap<>();
         try (Statement s = con.createStatement()) {
             try (ResultSet rs = s.executeQuery("select * from information_schema.columns where table_schema = '"
-                    + databaseName + "' AND TABLE_NAME='" + tableName + "'")) {
+                    + databaseName + "' ORDER BY TABLE_NAME, ORDINAL_POSITION")) {
                 while (rs.next()) {
                     String columnName = rs.getString("COLUMN_NAME");
                     String dataType = rs.getString("DATA_TYPE");
                     int precision = rs.getInt("NUMERIC_PRECISION");
                     boolean isPrimaryKey = rs.getString("COLUMN_KEY").equals("PRI");
                     MySQLColumn c = new MySQLColumn(columnName, getColumnType(dataType), isPrimaryKey, precision);
-                    columns.add(c);
+                    columns.computeIfAbsent(rs.getString("TABLE_NAME"), t -> new ArrayList<>()).add(c);
                 }
             }
         }
@@ -48,7 +48,7 @@ public class MySQLPivotedQuerySynthesisOracle
         MySQLSelect selectStatement = new MySQLSelect();
         selectStatement.setSelectType(Randomly.fromOptions(MySQLSelect.SelectType.values()));
         columns = randomFromTables.getColumns();
-        pivotRow = randomFromTables.getRandomRowValue(globalState.getConnection());
+        pivotRow = randomFromTables.getRandomRowValue(globalState);
 
         selectStatement.setFromList(tables.stream().map(t -> new MySQLTableReference(t)).collect(Collectors.toList()));
 
@@ -140,6 +140,11 @@ public class MySQLPivotedQuerySynthesisOracle
         return new SQLQueryAdapter(resultingQueryString, query.getExpectedErrors());
     }
 
+    @Override
+    protected Query<SQLConnection> getBatchedContainmentCheckQuery(List<Query<SQLConnection>> isContainedQueries) {
+        return new SQLQueryAdapter(getBatchedContainmentCheckQueryString(isContainedQueries), errors);
+    }
+
     @Override
     protected String getExpectedValues(MySQLExpression expr) {
         return MySQLVisitor.asExpectedValues(expr);
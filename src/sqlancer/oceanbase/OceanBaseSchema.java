@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
@@ -18,6 +19,7 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.common.schema.TableIndex;
+import sqlancer.common.schema.TableRowSampler;
 import sqlancer.oceanbase.OceanBaseSchema.OceanBaseTable;
 import sqlancer.oceanbase.ast.OceanBaseConstant;
 
@@ -97,59 +99,54 @@ public class OceanBaseSchema extends AbstractSchema<OceanBaseGlobalState, OceanB
             super(tables);
         }
 
-        public OceanBaseRowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s FROM %s ORDER BY RAND() LIMIT 1",
-                    columnNamesAsString(c -> c.getType() == OceanBaseDataType.FLOAT || c.isZeroFill()
-                            ? "concat(" + c.getTable().getName() + "." + c.getName() + ",'')" + " AS "
-                                    + c.getTable().getName() + c.getName()
-                            : c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName()
-                                    + c.getName()),
-                    tableNamesAsString());
-            // cast float and zerofill as varchar
+        public OceanBaseRowValue getRandomRowValue(OceanBaseGlobalState globalState) throws SQLException {
             Map<OceanBaseColumn, OceanBaseConstant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues = s.executeQuery(randomRow);
-                if (!randomRowValues.next()) {
+            for (OceanBaseTable table : getTables()) {
+                List<OceanBaseColumn> columns = table.getColumns();
+                // cast float and zerofill as varchar
+                String randomRow = String.format("SELECT %s FROM %s", columns.stream()
+                        .map(c -> c.getType() == OceanBaseDataType.FLOAT || c.isZeroFill()
+                                ? "concat(" + c.getName() + ",'')" : c.getName())
+                        .collect(Collectors.joining(", ")), table.getName());
+                List<OceanBaseConstant> row = TableRowSampler.getRandomRow(globalState, table, randomRow, rs -> {
+                    List<OceanBaseConstant> constants = new ArrayList<>();
+                    for (int i = 0; i < columns.size(); i++) {
+                        constants.add(getConstant(rs, i + 1, columns.get(i)));
+                    }
+                    return constants;
+                });
+                if (row == null) {
                     throw new IgnoreMeException();
                 }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    OceanBaseColumn column = getColumns().get(i);
-                    Object value;
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    OceanBaseConstant constant;
-                    if (randomRowValues.getString(columnIndex) == null) {
-                        if (column.isZeroFill()) {
-                            constant = OceanBaseConstant.createStringConstant("null");
-                        } else {
-                            constant = OceanBaseConstant.createNullConstant();
-                        }
-                    } else {
-                        switch (column.getType()) {
-                        case INT:
-                            // cast zerofill as varchar
-                            if (column.isZeroFill()) {
-                                value = randomRowValues.getString(columnIndex);
-                                constant = OceanBaseConstant.createStringConstant((String) value);
-                            } else {
-                                value = randomRowValues.getLong(columnIndex);
-                                constant = OceanBaseConstant.createIntConstant((long) value);
-                            }
-                            break;
-                        case VARCHAR:
-                            value = randomRowValues.getString(columnIndex);
-                            constant = OceanBaseConstant.createStringConstant((String) value);
-                            break;
-                        default:
-                            throw new AssertionError(column.getType());
-                        }
-                    }
-                    values.put(column, constant);
+                for (int i = 0; i < columns.size(); i++) {
+                    values.put(columns.get(i), row.get(i));
                 }
-                assert !randomRowValues.next();
-                return new OceanBaseRowValue(this, values);
             }
+            return new OceanBaseRowValue(this, values);
+        }
 
+        private static OceanBaseConstant getConstant(ResultSet rs, int columnIndex, OceanBaseColumn column)
+                throws SQLException {
+            if (rs.getString(columnIndex) == null) {
+                if (column.isZeroFill()) {
+                    return OceanBaseConstant.createStringConstant("null");
+                } else {
+                    return OceanBaseConstant.createNullConstant();
+                }
+            }
+            switch (column.getType()) {
+            case INT:
+                // cast zerofill as varchar
+                if (column.isZeroFill()) {
+                    return OceanBaseConstant.createStringConstant(rs.getString(columnIndex));
+                } else {
+                    return OceanBaseConstant.createIntConstant(rs.getLong(columnIndex));
+                }
+            case VARCHAR:
+                return OceanBaseConstant.createStringConstant(rs.getString(columnIndex));
+            default:
+                throw new AssertionError(column.getType());
+            }
         }
 
     }
@@ -52,7 +52,7 @@ public class OceanBasePivotedQuerySynthesisOracle
         OceanBaseSelect selectStatement = new OceanBaseSelect();
         selectStatement.setSelectType(Randomly.fromOptions(OceanBaseSelect.SelectType.values()));
         columns = randomFromTables.getColumns();
-        pivotRow = randomFromTables.getRandomRowValue(globalState.getConnection());
+        pivotRow = randomFromTables.getRandomRowValue(globalState);
 
         selectStatement
                 .setFromList(tables.stream().map(t -> new OceanBaseTableReference(t)).collect(Collectors.toList()));
@@ -156,6 +156,11 @@ public class OceanBasePivotedQuerySynthesisOracle
         return new SQLQueryAdapter(resultingQueryString, query.getExpectedErrors());
     }
 
+    @Override
+    protected Query<SQLConnection> getBatchedContainmentCheckQuery(List<Query<SQLConnection>> isContainedQueries) {
+        return new SQLQueryAdapter(getBatchedContainmentCheckQueryString(isContainedQueries), errors);
+    }
+
     @Override
     protected String getExpectedValues(OceanBaseExpression expr) {
         return OceanBaseVisitor.asExpectedValues(expr);
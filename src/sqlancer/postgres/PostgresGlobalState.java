@@ -9,10 +9,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import sqlancer.ComparatorHelper;
 import sqlancer.Randomly;
 import sqlancer.SQLConnection;
 import sqlancer.SQLGlobalState;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.query.SQLancerResultSet;
 
 public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, PostgresSchema> {
 
@@ -20,6 +25,10 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
     public static final char STABLE = 's';
     public static final char VOLATILE = 'v';
 
+    // the first line of EXPLAIN's output describes the root of the plan, e.g., "Nested Loop (cost=0.00..2.12 rows=10
+    // width=8)"
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
     private List<String> operators = Collections.emptyList();
     private List<String> collates = Collections.emptyList();
     private List<String> opClasses = Collections.emptyList();
@@ -150,4 +159,30 @@ public class PostgresGlobalState extends SQLGlobalState<PostgresOptions, Postgre
         return this.allowedFunctionTypes;
     }
 
+    @Override
+    public String getResultHashQuery(String queryString) {
+        // the column alias list renames only the first column
+        return "SELECT COUNT(*), COUNT(*) - COUNT(c), SUM(hashtextextended(c::text, 0)) FROM (" + queryString
+                + ") AS res(c)";
+    }
+
+    @Override
+    public long getEstimatedRowCount(String queryString) throws SQLException {
+        // the query whose number of rows is estimated might fail like any other query
+        SQLQueryAdapter q = new SQLQueryAdapter("EXPLAIN " + queryString, ComparatorHelper.ANY_ERROR);
+        try (SQLancerResultSet result = q.executeAndGet(this)) {
+            if (result != null && result.next()) {
+                Matcher matcher = PLAN_ROWS.matcher(result.getString(1));
+                if (matcher.find()) {
+                    try {
+                        return Long.parseLong(matcher.group(1));
+                    } catch (NumberFormatException e) {
+                        return Long.MAX_VALUE;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
 }
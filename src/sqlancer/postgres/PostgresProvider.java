@@ -58,6 +58,7 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
     protected String username;
     protected String password;
     protected String entryPath;
+    protected String entryDatabaseName;
     protected String host;
     protected int port;
     protected String testURL;
@@ -230,7 +231,7 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
         if (entryURL.startsWith("jdbc:")) {
             entryURL = entryURL.substring(5);
         }
-        String entryDatabaseName = entryPath.substring(1);
+        entryDatabaseName = entryPath.substring(1);
         databaseName = globalState.getDatabaseName();
 
         try {
@@ -277,16 +278,47 @@ public class PostgresProvider extends SQLProviderAdapter<PostgresGlobalState, Po
             s.execute(createDatabaseCommand);
         }
         con.close();
-        int databaseIndex = entryURL.indexOf(entryDatabaseName);
-        String preDatabaseName = entryURL.substring(0, databaseIndex);
-        String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
-        testURL = preDatabaseName + databaseName + postDatabaseName;
+        testURL = getDatabaseURL(databaseName);
         globalState.getState().logStatement(String.format("\\c %s;", databaseName));
 
         con = DriverManager.getConnection("jdbc:" + testURL, username, password);
         return new SQLConnection(con);
     }
 
+    @Override
+    public SQLConnection cloneDatabase(PostgresGlobalState globalState, String cloneName) throws SQLException {
+        String cloneDatabaseCommand = String.format("CREATE DATABASE %s TEMPLATE %s", cloneName,
+                globalState.getDatabaseName());
+        globalState.getState().logStatement(String.format("\\c %s;", entryDatabaseName));
+        globalState.getState().logStatement("DROP DATABASE IF EXISTS " + cloneName);
+        globalState.getState().logStatement(cloneDatabaseCommand);
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password)) {
+            try (Statement s = con.createStatement()) {
+                s.execute("DROP DATABASE IF EXISTS " + cloneName);
+            }
+            try (Statement s = con.createStatement()) {
+                s.execute(cloneDatabaseCommand);
+            }
+        }
+        globalState.getState().logStatement(String.format("\\c %s;", cloneName));
+        return new SQLConnection(DriverManager.getConnection("jdbc:" + getDatabaseURL(cloneName), username, password));
+    }
+
+    @Override
+    public void dropDatabase(PostgresGlobalState globalState) throws SQLException {
+        try (Connection con = DriverManager.getConnection("jdbc:" + entryURL, username, password);
+                Statement s = con.createStatement()) {
+            s.execute("DROP DATABASE IF EXISTS " + globalState.getDatabaseName());
+        }
+    }
+
+    private String getDatabaseURL(String name) {
+        int databaseIndex = entryURL.indexOf(entryDatabaseName);
+        String preDatabaseName = entryURL.substring(0, databaseIndex);
+        String postDatabaseName = entryURL.substring(databaseIndex + entryDatabaseName.length());
+        return preDatabaseName + name + postDatabaseName;
+    }
+
     protected void readFunctions(PostgresGlobalState globalState) throws SQLException {
         SQLQueryAdapter query = new SQLQueryAdapter("SELECT proname, provolatile FROM pg_proc;");
         SQLancerResultSet rs = query.executeAndGet(globalState);
@@ -22,6 +22,7 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.common.schema.TableIndex;
+import sqlancer.common.schema.TableRowSampler;
 import sqlancer.postgres.PostgresSchema.PostgresTable;
 import sqlancer.postgres.PostgresSchema.PostgresTable.TableType;
 import sqlancer.postgres.ast.PostgresConstant;
@@ -66,48 +67,48 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
             super(tables);
         }
 
-        public PostgresRowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s FROM %s ORDER BY RANDOM() LIMIT 1", columnNamesAsString(
-                    c -> c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName() + c.getName()),
-                    // columnNamesAsString(c -> "typeof(" + c.getTable().getName() + "." +
-                    // c.getName() + ")")
-                    tableNamesAsString());
+        public PostgresRowValue getRandomRowValue(PostgresGlobalState globalState) throws SQLException {
             Map<PostgresColumn, PostgresConstant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues = s.executeQuery(randomRow);
-                if (!randomRowValues.next()) {
+            for (PostgresTable table : getTables()) {
+                List<PostgresColumn> columns = table.getColumns();
+                String randomRow = String.format("SELECT %s FROM %s", table.getColumnsAsString(), table.getName());
+                List<PostgresConstant> row;
+                try {
+                    row = TableRowSampler.getRandomRow(globalState, table, randomRow, rs -> {
+                        List<PostgresConstant> constants = new ArrayList<>();
+                        for (int i = 0; i < columns.size(); i++) {
+                            constants.add(getConstant(rs, i + 1, columns.get(i).getType()));
+                        }
+                        return constants;
+                    });
+                } catch (PSQLException e) {
+                    throw new IgnoreMeException();
+                }
+                if (row == null) {
                     throw new AssertionError("could not find random row! " + randomRow + "\n");
                 }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    PostgresColumn column = getColumns().get(i);
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    PostgresConstant constant;
-                    if (randomRowValues.getString(columnIndex) == null) {
-                        constant = PostgresConstant.createNullConstant();
-                    } else {
-                        switch (column.getType()) {
-                        case INT:
-                            constant = PostgresConstant.createIntConstant(randomRowValues.getLong(columnIndex));
-                            break;
-                        case BOOLEAN:
-                            constant = PostgresConstant.createBooleanConstant(randomRowValues.getBoolean(columnIndex));
-                            break;
-                        case TEXT:
-                            constant = PostgresConstant.createTextConstant(randomRowValues.getString(columnIndex));
-                            break;
-                        default:
-                            throw new IgnoreMeException();
-                        }
-                    }
-                    values.put(column, constant);
+                for (int i = 0; i < columns.size(); i++) {
+                    values.put(columns.get(i), row.get(i));
                 }
-                assert !randomRowValues.next();
-                return new PostgresRowValue(this, values);
-            } catch (PSQLException e) {
-                throw new IgnoreMeException();
             }
+            return new PostgresRowValue(this, values);
+        }
 
+        private static PostgresConstant getConstant(ResultSet rs, int columnIndex, PostgresDataType type)
+                throws SQLException {
+            if (rs.getString(columnIndex) == null) {
+                return PostgresConstant.createNullConstant();
+            }
+            switch (type) {
+            case INT:
+                return PostgresConstant.createIntConstant(rs.getLong(columnIndex));
+            case BOOLEAN:
+                return PostgresConstant.createBooleanConstant(rs.getBoolean(columnIndex));
+            case TEXT:
+                return PostgresConstant.createTextConstant(rs.getString(columnIndex));
+            default:
+                throw new IgnoreMeException();
+            }
         }
 
     }
@@ -220,31 +221,71 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
 
     }
 
+    /**
+     * Adds a statistics object that was created to the statistics of each table, which include all statistics objects,
+     * unless it already exists, which a CREATE STATISTICS IF NOT EXISTS statement allows.
+     *
+     * @param name
+     *            the name of the statistics object
+     */
+    public void addStatistics(String name) {
+        for (PostgresTable t : getDatabaseTables()) {
+            if (t.getStatistics().stream().noneMatch(stat -> stat.getName().contentEquals(name))) {
+                t.getStatistics().add(new PostgresStatisticsObject(name));
+            }
+        }
+    }
+
+    /**
+     * Removes a statistics object that was dropped from the statistics of each table.
+     *
+     * @param name
+     *            the name of the statistics object
+     */
+    public void removeStatistics(String name) {
+        for (PostgresTable t : getDatabaseTables()) {
+            if (!t.getStatistics().removeIf(stat -> stat.getName().contentEquals(name))) {
+                throw new IllegalStateException("unknown statistics object " + name);
+            }
+        }
+    }
+
     public static PostgresSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         try {
+            // the catalogs are read with two queries for all tables, rather than with several queries for each table
+            Map<String, List<PostgresIndex>> indexes = new HashMap<>();
+            List<PostgresStatisticsObject> statistics = new ArrayList<>();
+            readIndexesAndStatistics(con, indexes, statistics);
             List<PostgresTable> databaseTables = new ArrayList<>();
             try (Statement s = con.createStatement()) {
+                // each table is returned with one row per column, or with a single row without a column
                 try (ResultSet rs = s.executeQuery(
-                        "SELECT table_name, table_schema, table_type, is_insertable_into FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
+                        "SELECT t.table_name, t.table_schema, t.is_insertable_into, c.column_name, c.data_type FROM information_schema.tables t LEFT JOIN information_schema.columns c ON c.table_schema = t.table_schema AND c.table_name = t.table_name WHERE t.table_schema='public' OR t.table_schema LIKE 'pg_temp_%' ORDER BY t.table_name, t.table_schema, c.column_name;")) {
+                    String tableName = null;
+                    String tableTypeSchema = null;
+                    boolean isInsertable = false;
+                    List<PostgresColumn> databaseColumns = new ArrayList<>();
                     while (rs.next()) {
-                        String tableName = rs.getString("table_name");
-                        String tableTypeSchema = rs.getString("table_schema");
-                        boolean isInsertable = rs.getBoolean("is_insertable_into");
-                        // TODO: also check insertable
-                        // TODO: insert into view?
-                        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
-                                                                    // tableTypeStr.contains("LOCAL TEMPORARY") &&
-                                                                    // !isInsertable;
-                        PostgresTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<PostgresColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<PostgresIndex> indexes = getIndexes(con, tableName);
-                        List<PostgresStatisticsObject> statistics = getStatistics(con);
-                        PostgresTable t = new PostgresTable(tableName, databaseColumns, indexes, tableType, statistics,
-                                isView, isInsertable);
-                        for (PostgresColumn c : databaseColumns) {
-                            c.setTable(t);
+                        if (!rs.getString("table_name").equals(tableName)
+                                || !rs.getString("table_schema").equals(tableTypeSchema)) {
+                            if (tableName != null) {
+                                databaseTables.add(createTable(tableName, tableTypeSchema, isInsertable,
+                                        databaseColumns, indexes, statistics));
+                            }
+                            tableName = rs.getString("table_name");
+                            tableTypeSchema = rs.getString("table_schema");
+                            isInsertable = rs.getBoolean("is_insertable_into");
+                            databaseColumns = new ArrayList<>();
                         }
-                        databaseTables.add(t);
+                        String columnName = rs.getString("column_name");
+                        if (columnName != null) {
+                            String dataType = rs.getString("data_type");
+                            databaseColumns.add(new PostgresColumn(columnName, getColumnType(dataType)));
+                        }
+                    }
+                    if (tableName != null) {
+                        databaseTables.add(createTable(tableName, tableTypeSchema, isInsertable, databaseColumns,
+                                indexes, statistics));
                     }
                 }
             }
@@ -254,16 +295,41 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
         }
     }
 
-    protected static List<PostgresStatisticsObject> getStatistics(SQLConnection con) throws SQLException {
-        List<PostgresStatisticsObject> statistics = new ArrayList<>();
+    private static PostgresTable createTable(String tableName, String tableTypeSchema, boolean isInsertable,
+            List<PostgresColumn> databaseColumns, Map<String, List<PostgresIndex>> indexes,
+            List<PostgresStatisticsObject> statistics) {
+        // TODO: also check insertable
+        // TODO: insert into view?
+        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
+                                                    // tableTypeStr.contains("LOCAL TEMPORARY") &&
+                                                    // !isInsertable;
+        PostgresTable.TableType tableType = getTableType(tableTypeSchema);
+        List<PostgresIndex> tableIndexes = indexes.getOrDefault(tableName, new ArrayList<>());
+        PostgresTable t = new PostgresTable(tableName, databaseColumns, tableIndexes, tableType,
+                new ArrayList<>(statistics), isView, isInsertable);
+        for (PostgresColumn c : databaseColumns) {
+            c.setTable(t);
+        }
+        return t;
+    }
+
+    // reads the indexes of each table, by the table's name, and the statistics objects, which have no table name
+    protected static void readIndexesAndStatistics(SQLConnection con, Map<String, List<PostgresIndex>> indexes,
+            List<PostgresStatisticsObject> statistics) throws SQLException {
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT stxname FROM pg_statistic_ext ORDER BY stxname;")) {
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT tablename, indexname AS name FROM pg_indexes UNION ALL SELECT NULL, stxname FROM pg_statistic_ext ORDER BY name;")) {
                 while (rs.next()) {
-                    statistics.add(new PostgresStatisticsObject(rs.getString("stxname")));
+                    String tableName = rs.getString("tablename");
+                    String name = rs.getString("name");
+                    if (tableName == null) {
+                        statistics.add(new PostgresStatisticsObject(name));
+                    } else if (DBMSCommon.matchesIndexName(name)) {
+                        indexes.computeIfAbsent(tableName, t -> new ArrayList<>()).add(PostgresIndex.create(name));
+                    }
                 }
             }
         }
-        return statistics;
     }
 
     protected static PostgresTable.TableType getTableType(String tableTypeStr) throws AssertionError {
@@ -278,39 +344,6 @@ public class PostgresSchema extends AbstractSchema<PostgresGlobalState, Postgres
         return tableType;
     }
 
-    protected static List<PostgresIndex> getIndexes(SQLConnection con, String tableName) throws SQLException {
-        List<PostgresIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String
-                    .format("SELECT indexname FROM pg_indexes WHERE tablename='%s' ORDER BY indexname;", tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("indexname");
-                    if (DBMSCommon.matchesIndexName(indexName)) {
-                        indexes.add(PostgresIndex.create(indexName));
-                    }
-                }
-            }
-        }
-        return indexes;
-    }
-
-    protected static List<PostgresColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<PostgresColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("select column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_name = '"
-                            + tableName + "' ORDER BY column_name")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("column_name");
-                    String dataType = rs.getString("data_type");
-                    PostgresColumn c = new PostgresColumn(columnName, getColumnType(dataType));
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public PostgresSchema(List<PostgresTable> databaseTables, String databaseName) {
         super(databaseTables);
         this.databaseName = databaseName;
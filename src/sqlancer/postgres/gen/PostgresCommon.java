@@ -1,5 +1,6 @@
 package sqlancer.postgres.gen;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -10,6 +11,8 @@ import java.util.stream.Collectors;
 
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
+import sqlancer.common.oracle.JoinFanOutEstimator;
+import sqlancer.common.oracle.JoinFanOutEstimator.JoinKind;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.postgres.PostgresGlobalState;
 import sqlancer.postgres.PostgresProvider;
@@ -17,6 +20,11 @@ import sqlancer.postgres.PostgresSchema.PostgresColumn;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
 import sqlancer.postgres.PostgresSchema.PostgresTable;
 import sqlancer.postgres.PostgresVisitor;
+import sqlancer.postgres.ast.PostgresColumnValue;
+import sqlancer.postgres.ast.PostgresExpression;
+import sqlancer.postgres.ast.PostgresJoin;
+import sqlancer.postgres.ast.PostgresSelect;
+import sqlancer.postgres.ast.PostgresSelect.PostgresFromTable;
 
 public final class PostgresCommon {
 
@@ -41,6 +49,11 @@ public final class PostgresCommon {
     }
 
     public static void addCommonExpressionErrors(ExpectedErrors errors) {
+        // the SQLSTATEs are only added for errors whose messages are all expected
+        errors.addSQLState("22012"); // division_by_zero
+        errors.addSQLState("2201F"); // invalid_argument_for_power_function
+        errors.addSQLState("42P21"); // collation_mismatch
+        errors.addSQLState("42P22"); // indeterminate_collation
         errors.add("You might need to add explicit type casts");
         errors.add("invalid regular expression");
         errors.add("could not determine which collation to use");
@@ -95,6 +108,7 @@ public final class PostgresCommon {
 
     private static void addFunctionErrors(ExpectedErrors errors) {
         errors.add("out of valid range"); // get_bit/get_byte
+        errors.addSQLState("2201E"); // invalid_argument_for_log
         errors.add("cannot take logarithm of a negative number");
         errors.add("cannot take logarithm of zero");
         errors.add("requested character too large for encoding"); // chr
@@ -431,4 +445,58 @@ public final class PostgresCommon {
         errors.add("aggregate functions are not allowed in GROUP BY");
     }
 
+
+    /**
+     * Skips the test case if the tables and joins of a query are estimated to produce more rows than --max-join-rows.
+     *
+     * @param globalState
+     *            the global state
+     * @param tables
+     *            the tables in the FROM clause, which precede the joins
+     * @param joins
+     *            the joins
+     *
+     * @throws SQLException
+     *             if the estimate cannot be computed
+     */
+    public static void assumeJoinFanOutWithinBudget(PostgresGlobalState globalState, List<PostgresTable> tables,
+            List<PostgresJoin> joins) throws SQLException {
+        JoinFanOutEstimator estimator = new JoinFanOutEstimator(globalState);
+        if (!estimator.isEnabled()) {
+            return;
+        }
+        for (PostgresTable t : tables) {
+            estimator.join(t.getNrRows(globalState), JoinKind.INNER);
+        }
+        for (PostgresJoin j : joins) {
+            PostgresExpression tableReference = j.getTableReference();
+            // the number of rows of a subquery is unknown, so that the query planner's estimate decides
+            long nrRows = tableReference instanceof PostgresFromTable
+                    ? ((PostgresFromTable) tableReference).getTable().getNrRows(globalState) : -1;
+            JoinKind kind;
+            switch (j.getType()) {
+            case LEFT:
+                kind = JoinKind.LEFT;
+                break;
+            case RIGHT:
+                kind = JoinKind.RIGHT;
+                break;
+            case FULL:
+                kind = JoinKind.FULL;
+                break;
+            default:
+                kind = JoinKind.INNER;
+                break;
+            }
+            estimator.join(nrRows, kind);
+        }
+        estimator.assumeWithinBudget(() -> {
+            PostgresSelect select = new PostgresSelect();
+            select.setFetchColumns(Arrays.asList(new PostgresColumnValue(PostgresColumn.createDummy("*"), null)));
+            select.setFromList(tables.stream().map(t -> new PostgresFromTable(t, false)).collect(Collectors.toList()));
+            select.setJoinClauses(joins);
+            return PostgresVisitor.asString(select);
+        });
+    }
+
 }
@@ -2,7 +2,6 @@ package sqlancer.postgres.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -11,6 +10,7 @@ import java.util.stream.Stream;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.gen.ExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 import sqlancer.postgres.PostgresCompoundDataType;
 import sqlancer.postgres.PostgresGlobalState;
 import sqlancer.postgres.PostgresProvider;
@@ -59,6 +59,10 @@ public class PostgresExpressionGenerator implements ExpressionGenerator<Postgres
 
     private List<PostgresColumn> columns;
 
+    // the columns of each data type, which are grouped once rather than filtered for each column reference
+    private ColumnsByType<PostgresColumn, PostgresDataType> columnsByType = new ColumnsByType<>(null,
+            PostgresColumn::getType);
+
     private PostgresRowValue rw;
 
     private boolean expectedResult;
@@ -81,6 +85,7 @@ public class PostgresExpressionGenerator implements ExpressionGenerator<Postgres
 
     public PostgresExpressionGenerator setColumns(List<PostgresColumn> columns) {
         this.columns = columns;
+        this.columnsByType = new ColumnsByType<>(columns, PostgresColumn::getType);
         return this;
     }
 
@@ -455,11 +460,7 @@ public class PostgresExpressionGenerator implements ExpressionGenerator<Postgres
     }
 
     final List<PostgresColumn> filterColumns(PostgresDataType type) {
-        if (columns == null) {
-            return Collections.emptyList();
-        } else {
-            return columns.stream().filter(c -> c.getType() == type).collect(Collectors.toList());
-        }
+        return columnsByType.get(type);
     }
 
     public PostgresExpression generateExpressionWithExpectedResult(PostgresDataType type) {
@@ -8,6 +8,7 @@ import sqlancer.Randomly;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.postgres.PostgresGlobalState;
+import sqlancer.postgres.PostgresSchema;
 import sqlancer.postgres.PostgresSchema.PostgresColumn;
 import sqlancer.postgres.PostgresSchema.PostgresStatisticsObject;
 import sqlancer.postgres.PostgresSchema.PostgresTable;
@@ -28,7 +29,8 @@ public final class PostgresStatisticsGenerator {
             throw new IgnoreMeException();
         }
         sb.append(" ");
-        sb.append(getNewStatisticsName(randomTable));
+        String name = getNewStatisticsName(randomTable);
+        sb.append(name);
         if (Randomly.getBoolean()) {
             sb.append(" (");
             List<String> statsSubset;
@@ -44,7 +46,7 @@ public final class PostgresStatisticsGenerator {
         sb.append(" FROM ");
         sb.append(randomTable.getName());
         return new SQLQueryAdapter(sb.toString(), ExpectedErrors.from("cannot have more than 8 columns in statistics"),
-                true);
+                (PostgresSchema s) -> s.addStatistics(name));
     }
 
     public static SQLQueryAdapter remove(PostgresGlobalState globalState) {
@@ -54,8 +56,9 @@ public final class PostgresStatisticsGenerator {
         if (statistics.isEmpty()) {
             throw new IgnoreMeException();
         }
-        sb.append(Randomly.fromList(statistics).getName());
-        return new SQLQueryAdapter(sb.toString(), true);
+        String name = Randomly.fromList(statistics).getName();
+        sb.append(name);
+        return new SQLQueryAdapter(sb.toString(), new ExpectedErrors(), (PostgresSchema s) -> s.removeStatistics(name));
     }
 
     private static String getNewStatisticsName(PostgresTable randomTable) {
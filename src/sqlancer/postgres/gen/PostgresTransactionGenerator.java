@@ -3,6 +3,7 @@ package sqlancer.postgres.gen;
 import sqlancer.Randomly;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.schema.SchemaUpdate;
 
 public final class PostgresTransactionGenerator {
 
@@ -21,7 +22,7 @@ public final class PostgresTransactionGenerator {
             // sb.append(Randomly.fromOptions("READ WRITE", "READ ONLY"));
             // }
         }
-        return new SQLQueryAdapter(sb.toString(), errors, true);
+        return new SQLQueryAdapter(sb.toString(), errors, SchemaUpdate.unchanged());
     }
 
 }
@@ -6,6 +6,7 @@ import java.util.List;
 import sqlancer.Randomly;
 import sqlancer.common.gen.AbstractUpdateGenerator;
 import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.schema.SchemaUpdate;
 import sqlancer.postgres.PostgresGlobalState;
 import sqlancer.postgres.PostgresSchema.PostgresColumn;
 import sqlancer.postgres.PostgresSchema.PostgresDataType;
@@ -56,7 +57,7 @@ public final class PostgresUpdateGenerator extends AbstractUpdateGenerator<Postg
             sb.append(PostgresVisitor.asString(where));
         }
 
-        return new SQLQueryAdapter(sb.toString(), errors, true);
+        return new SQLQueryAdapter(sb.toString(), errors, SchemaUpdate.unchanged());
     }
 
     @Override
@@ -55,6 +55,7 @@ public class PostgresNoRECOracle extends NoRECBase<PostgresGlobalState> implemen
         List<PostgresTable> tables = randomTables.getTables();
 
         List<PostgresJoin> joinStatements = getJoinStatements(state, columns, tables);
+        PostgresCommon.assumeJoinFanOutWithinBudget(state, tables, joinStatements);
         List<PostgresExpression> fromTables = tables.stream().map(t -> new PostgresFromTable(t, Randomly.getBoolean()))
                 .collect(Collectors.toList());
         int secondCount = getUnoptimizedQueryCount(fromTables, randomWhereCondition, joinStatements);
@@ -154,9 +155,17 @@ public class PostgresNoRECOracle extends NoRECBase<PostgresGlobalState> implemen
             if (options.logEachSelect()) {
                 logger.writeCurrent(optimizedQueryString);
             }
-            try (ResultSet rs = stat.executeQuery(optimizedQueryString)) {
-                while (rs.next()) {
-                    firstCount++;
+            if (options.useServerSideResultHashing()) {
+                // the query is kept as a subquery, so that its WHERE clause is still evaluated by the optimizer
+                try (ResultSet rs = stat.executeQuery("SELECT COUNT(*) FROM (" + optimizedQueryString + ") AS res")) {
+                    rs.next();
+                    firstCount = rs.getInt(1);
+                }
+            } else {
+                try (ResultSet rs = stat.executeQuery(optimizedQueryString)) {
+                    while (rs.next()) {
+                        firstCount++;
+                    }
                 }
             }
         } catch (SQLException e) {
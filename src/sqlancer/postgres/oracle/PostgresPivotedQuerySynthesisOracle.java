@@ -44,7 +44,7 @@ public class PostgresPivotedQuerySynthesisOracle
         PostgresSelect selectStatement = new PostgresSelect();
         selectStatement.setSelectType(Randomly.fromOptions(PostgresSelect.SelectType.values()));
         List<PostgresColumn> columns = randomFromTables.getColumns();
-        pivotRow = randomFromTables.getRandomRowValue(globalState.getConnection());
+        pivotRow = randomFromTables.getRandomRowValue(globalState);
 
         fetchColumns = columns;
         selectStatement.setFromList(randomFromTables.getTables().stream().map(t -> new PostgresFromTable(t, false))
@@ -143,6 +143,11 @@ public class PostgresPivotedQuerySynthesisOracle
         return new SQLQueryAdapter(resultingQueryString, errors);
     }
 
+    @Override
+    protected Query<SQLConnection> getBatchedContainmentCheckQuery(List<Query<SQLConnection>> isContainedQueries) {
+        return new SQLQueryAdapter(getBatchedContainmentCheckQueryString(isContainedQueries), errors);
+    }
+
     @Override
     protected String getExpectedValues(PostgresExpression expr) {
         return PostgresVisitor.asExpectedValues(expr);
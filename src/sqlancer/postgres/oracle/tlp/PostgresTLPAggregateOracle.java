@@ -1,6 +1,5 @@
 package sqlancer.postgres.oracle.tlp;
 
-import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -106,12 +105,7 @@ public class PostgresTLPAggregateOracle extends PostgresTLPBase implements TestO
         if (state.getOptions().logEachSelect()) {
             // TODO: refactor me
             state.getLogger().writeCurrent(queryString);
-            try {
-                state.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                // TODO Auto-generated catch block
-                e.printStackTrace();
-            }
+            state.getLogger().flushCurrent();
         }
         String resultString;
         SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors);
@@ -48,6 +48,7 @@ public class PostgresTLPBase extends TernaryLogicPartitioningOracleBase<Postgres
         targetTables = s.getRandomTableNonEmptyTables();
         List<PostgresTable> tables = targetTables.getTables();
         List<PostgresJoin> joins = getJoinStatements(state, targetTables.getColumns(), tables);
+        PostgresCommon.assumeJoinFanOutWithinBudget(state, tables, joins);
         generateSelectBase(tables, joins);
     }
 
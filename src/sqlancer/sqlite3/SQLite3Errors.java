@@ -6,6 +6,10 @@ import sqlancer.common.query.ExpectedErrors;
 
 public final class SQLite3Errors {
 
+    // the primary result codes of SQLite, which the JDBC driver returns as vendor error codes; codes that also cover
+    // extended result codes with unexpected messages (e.g., SQLITE_BUSY for SQLITE_BUSY_SNAPSHOT) are not used
+    private static final int SQLITE_TOOBIG = 18;
+
     private SQLite3Errors() {
     }
 
@@ -17,6 +21,7 @@ public final class SQLite3Errors {
     }
 
     public static void addExpectedExpressionErrors(ExpectedErrors errors) {
+        errors.addVendorCode(SQLITE_TOOBIG);
         errors.add("[SQLITE_BUSY]  The database file is locked");
         errors.add("FTS expression tree is too large");
         errors.add("String or BLOB exceeds size limit");
@@ -100,6 +105,7 @@ public final class SQLite3Errors {
     }
 
     public static void addInsertUpdateErrors(ExpectedErrors errors) {
+        errors.addVendorCode(SQLITE_TOOBIG);
         errors.add("String or BLOB exceeds size limit");
         errors.add("[SQLITE_CONSTRAINT_CHECK]");
         errors.add("[SQLITE_CONSTRAINT_PRIMARYKEY]");
@@ -0,0 +1,163 @@
+package sqlancer.sqlite3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import sqlancer.common.ast.ExpressionReducer;
+import sqlancer.sqlite3.ast.SQLite3Case;
+import sqlancer.sqlite3.ast.SQLite3Case.CasePair;
+import sqlancer.sqlite3.ast.SQLite3Case.SQLite3CaseWithBaseExpression;
+import sqlancer.sqlite3.ast.SQLite3Case.SQLite3CaseWithoutBaseExpression;
+import sqlancer.sqlite3.ast.SQLite3Constant;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.ast.SQLite3Expression.BetweenOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.BinaryComparisonOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Cast;
+import sqlancer.sqlite3.ast.SQLite3Expression.CollateOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Function;
+import sqlancer.sqlite3.ast.SQLite3Expression.InOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.MatchOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3Distinct;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3PostfixText;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3PostfixUnaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Sqlite3BinaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Function;
+import sqlancer.sqlite3.ast.SQLite3RowValueExpression;
+import sqlancer.sqlite3.ast.SQLite3UnaryOperation;
+
+public class SQLite3ExpressionReducer extends ExpressionReducer<SQLite3Expression> {
+
+    @Override
+    protected List<SQLite3Expression> getChildren(SQLite3Expression expr) {
+        if (expr instanceof BinaryComparisonOperation) {
+            BinaryComparisonOperation op = (BinaryComparisonOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof Sqlite3BinaryOperation) {
+            Sqlite3BinaryOperation op = (Sqlite3BinaryOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof SQLite3UnaryOperation) {
+            return Arrays.asList(((SQLite3UnaryOperation) expr).getExpression());
+        } else if (expr instanceof SQLite3PostfixUnaryOperation) {
+            return Arrays.asList(((SQLite3PostfixUnaryOperation) expr).getExpression());
+        } else if (expr instanceof SQLite3PostfixText && ((SQLite3PostfixText) expr).getExpression() != null) {
+            return Arrays.asList(((SQLite3PostfixText) expr).getExpression());
+        } else if (expr instanceof BetweenOperation) {
+            BetweenOperation op = (BetweenOperation) expr;
+            return Arrays.asList(op.getExpression(), op.getLeft(), op.getRight());
+        } else if (expr instanceof CollateOperation) {
+            return Arrays.asList(((CollateOperation) expr).getExpression());
+        } else if (expr instanceof Cast) {
+            return Arrays.asList(((Cast) expr).getExpression());
+        } else if (expr instanceof SQLite3Distinct) {
+            return Arrays.asList(((SQLite3Distinct) expr).getExpression());
+        } else if (expr instanceof MatchOperation) {
+            MatchOperation op = (MatchOperation) expr;
+            return Arrays.asList(op.getLeft(), op.getRight());
+        } else if (expr instanceof InOperation) {
+            InOperation op = (InOperation) expr;
+            List<SQLite3Expression> children = new ArrayList<>();
+            children.add(op.getLeft());
+            if (op.getRightExpressionList() != null) {
+                children.addAll(op.getRightExpressionList());
+            }
+            return children;
+        } else if (expr instanceof Function) {
+            return Arrays.asList(((Function) expr).getArguments());
+        } else if (expr instanceof SQLite3Function) {
+            return Arrays.asList(((SQLite3Function) expr).getArgs());
+        } else if (expr instanceof SQLite3RowValueExpression) {
+            return new ArrayList<>(((SQLite3RowValueExpression) expr).getExpressions());
+        } else if (expr instanceof SQLite3Case) {
+            SQLite3Case caseExpr = (SQLite3Case) expr;
+            List<SQLite3Expression> children = new ArrayList<>();
+            if (expr instanceof SQLite3CaseWithBaseExpression) {
+                children.add(((SQLite3CaseWithBaseExpression) expr).getBaseExpr());
+            }
+            for (CasePair pair : caseExpr.getPairs()) {
+                children.add(pair.getCond());
+                children.add(pair.getThen());
+            }
+            if (caseExpr.getElseExpr() != null) {
+                children.add(caseExpr.getElseExpr());
+            }
+            return children;
+        } else {
+            // column references, constants, subqueries, aggregates, and window functions are kept as they are
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    protected SQLite3Expression withChildren(SQLite3Expression expr, List<SQLite3Expression> children) {
+        if (expr instanceof BinaryComparisonOperation) {
+            return new BinaryComparisonOperation(children.get(0), children.get(1),
+                    ((BinaryComparisonOperation) expr).getOperator());
+        } else if (expr instanceof Sqlite3BinaryOperation) {
+            return new Sqlite3BinaryOperation(children.get(0), children.get(1),
+                    ((Sqlite3BinaryOperation) expr).getOperator());
+        } else if (expr instanceof SQLite3UnaryOperation) {
+            return new SQLite3UnaryOperation(((SQLite3UnaryOperation) expr).getOperation(), children.get(0));
+        } else if (expr instanceof SQLite3PostfixUnaryOperation) {
+            return new SQLite3PostfixUnaryOperation(((SQLite3PostfixUnaryOperation) expr).getOperation(),
+                    children.get(0));
+        } else if (expr instanceof SQLite3PostfixText) {
+            SQLite3PostfixText text = (SQLite3PostfixText) expr;
+            return new SQLite3PostfixText(children.get(0), text.getText(), text.getExpectedValue());
+        } else if (expr instanceof BetweenOperation) {
+            return new BetweenOperation(children.get(0), ((BetweenOperation) expr).isNegated(), children.get(1),
+                    children.get(2));
+        } else if (expr instanceof CollateOperation) {
+            return new CollateOperation(children.get(0), ((CollateOperation) expr).getCollate());
+        } else if (expr instanceof Cast) {
+            return new Cast(((Cast) expr).getType(), children.get(0));
+        } else if (expr instanceof SQLite3Distinct) {
+            return new SQLite3Distinct(children.get(0));
+        } else if (expr instanceof MatchOperation) {
+            return new MatchOperation(children.get(0), children.get(1));
+        } else if (expr instanceof InOperation) {
+            InOperation op = (InOperation) expr;
+            if (op.getRightExpressionList() == null) {
+                return new InOperation(children.get(0), op.getRightSelect());
+            }
+            return new InOperation(children.get(0), new ArrayList<>(children.subList(1, children.size())));
+        } else if (expr instanceof Function) {
+            return new Function(((Function) expr).getName(), children.toArray(new SQLite3Expression[0]));
+        } else if (expr instanceof SQLite3Function) {
+            return new SQLite3Function(((SQLite3Function) expr).getFunc(), children.toArray(new SQLite3Expression[0]));
+        } else if (expr instanceof SQLite3RowValueExpression) {
+            return new SQLite3RowValueExpression(new ArrayList<>(children));
+        } else if (expr instanceof SQLite3Case) {
+            SQLite3Case caseExpr = (SQLite3Case) expr;
+            int i = 0;
+            SQLite3Expression baseExpr = null;
+            if (expr instanceof SQLite3CaseWithBaseExpression) {
+                baseExpr = children.get(i++);
+            }
+            CasePair[] pairs = new CasePair[caseExpr.getPairs().length];
+            for (int j = 0; j < pairs.length; j++) {
+                pairs[j] = new CasePair(children.get(i++), children.get(i++));
+            }
+            SQLite3Expression elseExpr = caseExpr.getElseExpr() == null ? null : children.get(i);
+            if (expr instanceof SQLite3CaseWithBaseExpression) {
+                return new SQLite3CaseWithBaseExpression(baseExpr, pairs, elseExpr);
+            }
+            return new SQLite3CaseWithoutBaseExpression(pairs, elseExpr);
+        } else {
+            throw new AssertionError(expr);
+        }
+    }
+
+    @Override
+    protected List<SQLite3Expression> getConstants() {
+        return Arrays.asList(SQLite3Constant.createNullConstant(), SQLite3Constant.createIntConstant(0),
+                SQLite3Constant.createIntConstant(1));
+    }
+
+    @Override
+    protected String asString(SQLite3Expression expr) {
+        return SQLite3Visitor.asString(expr);
+    }
+
+}
@@ -1,9 +1,10 @@
 package sqlancer.sqlite3;
 
 import java.io.File;
-import java.io.IOException;
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -286,11 +287,7 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
 
     @Override
     public SQLConnection createDatabase(SQLite3GlobalState globalState) throws SQLException {
-        File dir = new File("." + File.separator + "databases");
-        if (!dir.exists()) {
-            dir.mkdir();
-        }
-        File dataBase = new File(dir, globalState.getDatabaseName() + ".db");
+        File dataBase = getDatabaseFile(globalState.getDatabaseName());
         if (dataBase.exists() && ((SQLite3GlobalState) globalState).getDbmsSpecificOptions().deleteIfExists) {
             dataBase.delete();
         }
@@ -298,6 +295,38 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
         return new SQLConnection(DriverManager.getConnection(url));
     }
 
+    @Override
+    public SQLConnection cloneDatabase(SQLite3GlobalState globalState, String cloneName) throws SQLException {
+        File dataBase = getDatabaseFile(globalState.getDatabaseName());
+        File clone = getDatabaseFile(cloneName);
+        if (clone.exists()) {
+            clone.delete();
+        }
+        // VACUUM INTO writes a transactionally-consistent copy; connection-local state (e.g., PRAGMAs and TEMP tables)
+        // is not copied
+        String vacuumInto = String.format("VACUUM INTO '%s';", clone.getAbsolutePath());
+        globalState.getState().logStatement(vacuumInto);
+        try (Connection con = DriverManager.getConnection("jdbc:sqlite:" + dataBase.getAbsolutePath());
+                Statement s = con.createStatement()) {
+            s.execute(vacuumInto);
+        }
+        globalState.getState().logStatement("-- .open " + clone.getPath());
+        return new SQLConnection(DriverManager.getConnection("jdbc:sqlite:" + clone.getAbsolutePath()));
+    }
+
+    @Override
+    public void dropDatabase(SQLite3GlobalState globalState) {
+        getDatabaseFile(globalState.getDatabaseName()).delete();
+    }
+
+    private File getDatabaseFile(String databaseName) {
+        File dir = new File("." + File.separator + "databases");
+        if (!dir.exists()) {
+            dir.mkdir();
+        }
+        return new File(dir, databaseName + ".db");
+    }
+
     @Override
     public String getDBMSName() {
         return "sqlite3";
@@ -308,11 +337,7 @@ public class SQLite3Provider extends SQLProviderAdapter<SQLite3GlobalState, SQLi
         String queryPlan = "";
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(selectStr);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            globalState.getLogger().flushCurrent();
         }
         // Set up the expected errors for NoREC oracle.
         ExpectedErrors errors = new ExpectedErrors();
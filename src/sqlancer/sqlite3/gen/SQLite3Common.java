@@ -1,13 +1,17 @@
 package sqlancer.sqlite3.gen;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import sqlancer.Randomly;
 import sqlancer.common.DBMSCommon;
+import sqlancer.common.oracle.JoinFanOutEstimator;
+import sqlancer.common.oracle.JoinFanOutEstimator.JoinKind;
 import sqlancer.sqlite3.SQLite3GlobalState;
 import sqlancer.sqlite3.SQLite3Visitor;
 import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.ast.SQLite3Expression.Join;
 import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3TableReference;
 import sqlancer.sqlite3.schema.SQLite3DataType;
 import sqlancer.sqlite3.schema.SQLite3Schema;
@@ -137,4 +141,48 @@ public final class SQLite3Common {
         return tableRefs;
     }
 
+    /**
+     * Skips the test case if the tables and joins of a query are estimated to produce more rows than --max-join-rows.
+     *
+     * @param globalState
+     *            the global state
+     * @param tables
+     *            the tables in the FROM clause, which precede the joins
+     * @param joins
+     *            the joins
+     *
+     * @throws SQLException
+     *             if the estimate cannot be computed
+     */
+    public static void assumeJoinFanOutWithinBudget(SQLite3GlobalState globalState, List<SQLite3Table> tables,
+            List<Join> joins) throws SQLException {
+        JoinFanOutEstimator estimator = new JoinFanOutEstimator(globalState);
+        if (!estimator.isEnabled()) {
+            return;
+        }
+        for (SQLite3Table t : tables) {
+            estimator.join(t.getNrRows(globalState), JoinKind.INNER);
+        }
+        for (Join j : joins) {
+            JoinKind kind;
+            switch (j.getType()) {
+            case OUTER:
+                kind = JoinKind.LEFT;
+                break;
+            case RIGHT:
+                kind = JoinKind.RIGHT;
+                break;
+            case FULL:
+                kind = JoinKind.FULL;
+                break;
+            default:
+                kind = JoinKind.INNER;
+                break;
+            }
+            estimator.join(j.getTable().getNrRows(globalState), kind);
+        }
+        // SQLite's query planner does not estimate numbers of rows
+        estimator.assumeWithinBudget(() -> null);
+    }
+
 }
@@ -3,6 +3,7 @@ package sqlancer.sqlite3.gen;
 import sqlancer.Randomly;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.schema.SchemaUpdate;
 import sqlancer.sqlite3.SQLite3GlobalState;
 import sqlancer.sqlite3.schema.SQLite3Schema;
 
@@ -43,6 +44,6 @@ public final class SQLite3ReindexGenerator {
                 throw new AssertionError(t);
             }
         }
-        return new SQLQueryAdapter(sb.toString(), errors, true);
+        return new SQLQueryAdapter(sb.toString(), errors, SchemaUpdate.unchanged());
     }
 }
@@ -4,6 +4,7 @@ import sqlancer.Randomly;
 import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.schema.SQLite3Schema;
 
 // see https://www.sqlite.org/lang_dropindex.html
 public final class SQLite3DropIndexGenerator {
@@ -23,7 +24,7 @@ public final class SQLite3DropIndexGenerator {
         sb.append('"');
         return new SQLQueryAdapter(sb.toString(), ExpectedErrors.from(
                 "[SQLITE_ERROR] SQL error or missing database (index associated with UNIQUE or PRIMARY KEY constraint cannot be dropped)"),
-                true);
+                (SQLite3Schema s) -> s.removeIndexName(indexName));
     }
 
 }
@@ -4,16 +4,19 @@ import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Function;
 
+import sqlancer.ExpressionReproducer;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.Reproducer;
+import sqlancer.common.ast.ExpressionReducer;
 import sqlancer.common.oracle.NoRECBase;
 import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.ExpectedErrors;
 import sqlancer.common.query.SQLQueryAdapter;
 import sqlancer.common.query.SQLancerResultSet;
 import sqlancer.sqlite3.SQLite3Errors;
+import sqlancer.sqlite3.SQLite3ExpressionReducer;
 import sqlancer.sqlite3.SQLite3GlobalState;
 import sqlancer.sqlite3.SQLite3Visitor;
 import sqlancer.sqlite3.ast.SQLite3Aggregate;
@@ -34,29 +37,58 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements TestOracle<SQLite3GlobalState> {
 
     private static final int NO_VALID_RESULT = -1;
+    private static final ExpectedErrors EXPECTED_ERRORS = createExpectedErrors();
     private final SQLite3Schema s;
     private SQLite3ExpressionGenerator gen;
     private Reproducer<SQLite3GlobalState> reproducer;
 
-    private class SQLite3NoRECReproducer implements Reproducer<SQLite3GlobalState> {
-        private final Function<SQLite3GlobalState, Integer> optimizedQuery;
-        private final Function<SQLite3GlobalState, Integer> unoptimizedQuery;
+    private class SQLite3NoRECReproducer implements ExpressionReproducer<SQLite3GlobalState, SQLite3Expression> {
+        private final SQLite3Select select;
+        private final SQLite3Expression whereCondition;
+        private final boolean useAggregate;
+        private final SQLite3ExpressionReducer expressionReducer = new SQLite3ExpressionReducer();
 
-        SQLite3NoRECReproducer(Function<SQLite3GlobalState, Integer> optimizedQuery,
-                Function<SQLite3GlobalState, Integer> unoptimizedQuery) {
-            this.optimizedQuery = optimizedQuery;
-            this.unoptimizedQuery = unoptimizedQuery;
+        SQLite3NoRECReproducer(SQLite3Select select, SQLite3Expression whereCondition, boolean useAggregate) {
+            this.select = new SQLite3Select(select);
+            this.whereCondition = whereCondition;
+            this.useAggregate = useAggregate;
         }
 
         @Override
-        public boolean bugStillTriggers(SQLite3GlobalState globalState) {
-            return optimizedQuery.apply(globalState) != unoptimizedQuery.apply(globalState);
+        public SQLite3Expression getExpression() {
+            return whereCondition;
+        }
+
+        @Override
+        public boolean bugStillTriggers(SQLite3GlobalState globalState, SQLite3Expression condition) {
+            int optimizedCount = getOptimizedCount(
+                    getOptimizedQueryString(new SQLite3Select(select), condition, useAggregate), useAggregate,
+                    globalState);
+            int unoptimizedCount = getUnoptimizedCount(getUnoptimizedQueryString(new SQLite3Select(select), condition),
+                    globalState);
+            return optimizedCount != NO_VALID_RESULT && unoptimizedCount != NO_VALID_RESULT
+                    && optimizedCount != unoptimizedCount;
+        }
+
+        @Override
+        public String getQueryString(SQLite3Expression condition) {
+            return getOptimizedQueryString(new SQLite3Select(select), condition, useAggregate) + ";\n"
+                    + getUnoptimizedQueryString(new SQLite3Select(select), condition) + ";";
+        }
+
+        @Override
+        public ExpressionReducer<SQLite3Expression> getExpressionReducer() {
+            return expressionReducer;
         }
     }
 
     public SQLite3NoRECOracle(SQLite3GlobalState globalState) {
-        super(globalState);
+        super(globalState, EXPECTED_ERRORS);
         this.s = globalState.getSchema();
+    }
+
+    private static ExpectedErrors createExpectedErrors() {
+        ExpectedErrors errors = new ExpectedErrors();
         SQLite3Errors.addExpectedExpressionErrors(errors);
         SQLite3Errors.addMatchQueryErrors(errors);
         SQLite3Errors.addQueryErrors(errors);
@@ -66,6 +98,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
         errors.add("no such table");
         errors.add("no query solution");
         errors.add("unable to use function MATCH in the requested context");
+        return errors.freeze();
     }
 
     @Override
@@ -77,20 +110,31 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
         SQLite3Expression randomWhereCondition = gen.generateExpression();
         List<SQLite3Table> tables = randomTables.getTables();
         List<Join> joinStatements = gen.getRandomJoinClauses(tables);
+        SQLite3Common.assumeJoinFanOutWithinBudget(state, tables, joinStatements);
         List<SQLite3Expression> tableRefs = SQLite3Common.getTableRefs(tables, s);
         SQLite3Select select = new SQLite3Select();
         select.setFromTables(tableRefs);
         select.setJoinClauses(joinStatements);
+        boolean useAggregate = Randomly.getBoolean();
+        if (Randomly.getBoolean()) {
+            select.setOrderByExpressions(gen.generateOrderBys());
+        }
 
-        Function<SQLite3GlobalState, Integer> optimizedQuery = getOptimizedQuery(select, randomWhereCondition);
-        Function<SQLite3GlobalState, Integer> unoptimizedQuery = getUnoptimizedQuery(select, randomWhereCondition);
-        int optimizedCount = optimizedQuery.apply(state);
-        int unoptimizedCount = unoptimizedQuery.apply(state);
+        optimizedQueryString = getOptimizedQueryString(new SQLite3Select(select), randomWhereCondition, useAggregate);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(optimizedQueryString);
+        }
+        unoptimizedQueryString = getUnoptimizedQueryString(new SQLite3Select(select), randomWhereCondition);
+        if (options.logEachSelect()) {
+            logger.writeCurrent(unoptimizedQueryString);
+        }
+        int optimizedCount = getOptimizedCount(optimizedQueryString, useAggregate, state);
+        int unoptimizedCount = getUnoptimizedCount(unoptimizedQueryString, state);
         if (optimizedCount == NO_VALID_RESULT || unoptimizedCount == NO_VALID_RESULT) {
             throw new IgnoreMeException();
         }
         if (optimizedCount != unoptimizedCount) {
-            reproducer = new SQLite3NoRECReproducer(optimizedQuery, unoptimizedQuery);
+            reproducer = new SQLite3NoRECReproducer(select, randomWhereCondition, useAggregate);
             state.getState().getLocalState().log(optimizedQueryString + ";\n" + unoptimizedQueryString + ";");
             throw new AssertionError(optimizedCount + " " + unoptimizedCount);
         }
@@ -107,33 +151,17 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
         return optimizedQueryString;
     }
 
-    private Function<SQLite3GlobalState, Integer> getUnoptimizedQuery(SQLite3Select select,
-            SQLite3Expression randomWhereCondition) throws SQLException {
+    private String getUnoptimizedQueryString(SQLite3Select select, SQLite3Expression randomWhereCondition) {
         SQLite3PostfixUnaryOperation isTrue = new SQLite3PostfixUnaryOperation(PostfixUnaryOperator.IS_TRUE,
                 randomWhereCondition);
         SQLite3PostfixText asText = new SQLite3PostfixText(isTrue, " as count", null);
         select.setFetchColumns(Arrays.asList(asText));
         select.setWhereClause(null);
-        unoptimizedQueryString = "SELECT SUM(count) FROM (" + SQLite3Visitor.asString(select) + ")";
-        if (options.logEachSelect()) {
-            logger.writeCurrent(unoptimizedQueryString);
-        }
-        SQLQueryAdapter q = new SQLQueryAdapter(unoptimizedQueryString, errors);
-        return new Function<SQLite3GlobalState, Integer>() {
-
-            @Override
-            public Integer apply(SQLite3GlobalState state) {
-                return extractCounts(q, state);
-            }
-        };
+        return "SELECT SUM(count) FROM (" + SQLite3Visitor.asString(select) + ")";
     }
 
-    private Function<SQLite3GlobalState, Integer> getOptimizedQuery(SQLite3Select select,
-            SQLite3Expression randomWhereCondition) throws SQLException {
-        boolean useAggregate = Randomly.getBoolean();
-        if (Randomly.getBoolean()) {
-            select.setOrderByExpressions(gen.generateOrderBys());
-        }
+    private String getOptimizedQueryString(SQLite3Select select, SQLite3Expression randomWhereCondition,
+            boolean useAggregate) {
         if (useAggregate) {
             select.setFetchColumns(Arrays.asList(new SQLite3Aggregate(Collections.emptyList(),
                     SQLite3Aggregate.SQLite3AggregateFunction.COUNT_ALL)));
@@ -142,19 +170,16 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
             select.setFetchColumns(Arrays.asList(aggr));
         }
         select.setWhereClause(randomWhereCondition);
-        optimizedQueryString = SQLite3Visitor.asString(select);
-        if (options.logEachSelect()) {
-            logger.writeCurrent(optimizedQueryString);
-        }
-        SQLQueryAdapter q = new SQLQueryAdapter(optimizedQueryString, errors);
-        return new Function<SQLite3GlobalState, Integer>() {
+        return SQLite3Visitor.asString(select);
+    }
 
-            @Override
-            public Integer apply(SQLite3GlobalState state) {
-                return useAggregate ? extractCounts(q, state) : countRows(q, state);
-            }
+    private int getUnoptimizedCount(String queryString, SQLite3GlobalState globalState) {
+        return extractCounts(new SQLQueryAdapter(queryString, errors), globalState);
+    }
 
-        };
+    private int getOptimizedCount(String queryString, boolean useAggregate, SQLite3GlobalState globalState) {
+        SQLQueryAdapter q = new SQLQueryAdapter(queryString, errors);
+        return useAggregate ? extractCounts(q, globalState) : countRows(q, globalState);
     }
 
     private int countRows(SQLQueryAdapter q, SQLite3GlobalState globalState) {
@@ -175,7 +200,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
             if (e instanceof IgnoreMeException) {
                 throw (IgnoreMeException) e;
             }
-            throw new AssertionError(unoptimizedQueryString, e);
+            throw new AssertionError(q.getQueryString(), e);
         }
         return count;
     }
@@ -198,7 +223,7 @@ public class SQLite3NoRECOracle extends NoRECBase<SQLite3GlobalState> implements
             if (e instanceof IgnoreMeException) {
                 throw (IgnoreMeException) e;
             }
-            throw new AssertionError(unoptimizedQueryString, e);
+            throw new AssertionError(q.getQueryString(), e);
         }
         return count;
     }
@@ -65,7 +65,7 @@ public class SQLite3PivotedQuerySynthesisOracle
         SQLite3Tables randomFromTables = globalState.getSchema().getRandomTableNonEmptyTables();
         List<SQLite3Table> tables = randomFromTables.getTables();
 
-        pivotRow = randomFromTables.getRandomRowValue(globalState.getConnection());
+        pivotRow = randomFromTables.getRandomRowValue(globalState);
         SQLite3Select selectStatement = new SQLite3Select();
         selectStatement.setSelectType(Randomly.fromOptions(SQLite3Select.SelectType.values()));
         List<SQLite3Column> columns = randomFromTables.getColumns();
@@ -190,6 +190,11 @@ public class SQLite3PivotedQuerySynthesisOracle
         return new SQLQueryAdapter(resultingQueryString, query.getExpectedErrors());
     }
 
+    @Override
+    protected Query<SQLConnection> getBatchedContainmentCheckQuery(List<Query<SQLConnection>> isContainedQueries) {
+        return new SQLQueryAdapter(getBatchedContainmentCheckQueryString(isContainedQueries), errors);
+    }
+
     private String getGeneralizedPivotRowValues() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < pivotRowExpression.size(); i++) {
@@ -9,6 +9,7 @@ import sqlancer.Randomly;
 import sqlancer.common.gen.ExpressionGenerator;
 import sqlancer.common.oracle.TernaryLogicPartitioningOracleBase;
 import sqlancer.common.oracle.TestOracle;
+import sqlancer.common.query.ExpectedErrors;
 import sqlancer.sqlite3.SQLite3Errors;
 import sqlancer.sqlite3.SQLite3GlobalState;
 import sqlancer.sqlite3.ast.SQLite3Expression;
@@ -25,15 +26,22 @@ import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Tables;
 public class SQLite3TLPBase extends TernaryLogicPartitioningOracleBase<SQLite3Expression, SQLite3GlobalState>
         implements TestOracle<SQLite3GlobalState> {
 
+    private static final ExpectedErrors EXPECTED_ERRORS = createExpectedErrors();
+
     SQLite3Schema s;
     SQLite3Tables targetTables;
     SQLite3ExpressionGenerator gen;
     SQLite3Select select;
 
     public SQLite3TLPBase(SQLite3GlobalState state) {
-        super(state);
+        super(state, EXPECTED_ERRORS);
+    }
+
+    private static ExpectedErrors createExpectedErrors() {
+        ExpectedErrors errors = new ExpectedErrors();
         SQLite3Errors.addExpectedExpressionErrors(errors);
         SQLite3Errors.addQueryErrors(errors);
+        return errors.freeze();
     }
 
     @Override
@@ -46,6 +54,7 @@ public class SQLite3TLPBase extends TernaryLogicPartitioningOracleBase<SQLite3Ex
         select.setFetchColumns(generateFetchColumns());
         List<SQLite3Table> tables = targetTables.getTables();
         List<Join> joinStatements = gen.getRandomJoinClauses(tables);
+        SQLite3Common.assumeJoinFanOutWithinBudget(state, tables, joinStatements);
         List<SQLite3Expression> tableRefs = SQLite3Common.getTableRefs(tables, s);
         select.setJoinClauses(joinStatements.stream().collect(Collectors.toList()));
         select.setFromTables(tableRefs);
@@ -54,6 +54,7 @@ public class SQLite3TLPHavingOracle implements TestOracle<SQLite3GlobalState> {
         select.setFetchColumns(groupByColumns);
         List<SQLite3Table> tables = targetTables.getTables();
         List<Join> joinStatements = gen.getRandomJoinClauses(tables);
+        SQLite3Common.assumeJoinFanOutWithinBudget(state, tables, joinStatements);
         List<SQLite3Expression> from = SQLite3Common.getTableRefs(tables, state.getSchema());
         select.setJoinClauses(joinStatements);
         select.setSelectType(SelectType.ALL);
@@ -20,6 +20,7 @@ import sqlancer.common.schema.AbstractSchema;
 import sqlancer.common.schema.AbstractTableColumn;
 import sqlancer.common.schema.AbstractTables;
 import sqlancer.common.schema.TableIndex;
+import sqlancer.common.schema.TableRowSampler;
 import sqlancer.sqlite3.SQLite3GlobalState;
 import sqlancer.sqlite3.ast.SQLite3Constant;
 import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column.SQLite3CollateSequence;
@@ -39,6 +40,30 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
         return indexNames;
     }
 
+    /**
+     * Adds an index that was created, unless it already exists, which a CREATE INDEX IF NOT EXISTS statement allows.
+     *
+     * @param indexName
+     *            the name of the index
+     */
+    public void addIndexName(String indexName) {
+        if (!indexNames.contains(indexName)) {
+            indexNames.add(indexName);
+        }
+    }
+
+    /**
+     * Removes an index that was dropped.
+     *
+     * @param indexName
+     *            the name of the index
+     */
+    public void removeIndexName(String indexName) {
+        if (!indexNames.remove(indexName)) {
+            throw new IllegalStateException("unknown index " + indexName);
+        }
+    }
+
     public String getRandomIndexOrBailout() {
         if (indexNames.isEmpty()) {
             throw new IgnoreMeException();
@@ -155,36 +180,34 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
             super(tables);
         }
 
-        public SQLite3RowValue getRandomRowValue(SQLConnection con) throws SQLException {
-            String randomRow = String.format("SELECT %s, %s FROM %s ORDER BY RANDOM() LIMIT 1", columnNamesAsString(
-                    c -> c.getTable().getName() + "." + c.getName() + " AS " + c.getTable().getName() + c.getName()),
-                    columnNamesAsString(c -> "typeof(" + c.getTable().getName() + "." + c.getName() + ")"),
-                    tableNamesAsString());
+        public SQLite3RowValue getRandomRowValue(SQLite3GlobalState globalState) throws SQLException {
             Map<SQLite3Column, SQLite3Constant> values = new HashMap<>();
-            try (Statement s = con.createStatement()) {
-                ResultSet randomRowValues;
+            for (SQLite3Table table : getTables()) {
+                List<SQLite3Column> columns = table.getColumns();
+                String randomRow = String.format("SELECT %s, %s FROM %s", table.getColumnsAsString(),
+                        columns.stream().map(c -> "typeof(" + c.getName() + ")").collect(Collectors.joining(", ")),
+                        table.getName());
+                List<SQLite3Constant> row;
                 try {
-                    randomRowValues = s.executeQuery(randomRow);
+                    row = TableRowSampler.getRandomRow(globalState, table, randomRow, rs -> {
+                        List<SQLite3Constant> constants = new ArrayList<>();
+                        for (int i = 0; i < columns.size(); i++) {
+                            String typeString = rs.getString(i + 1 + columns.size());
+                            constants.add(getConstant(rs, i + 1, getColumnType(typeString)));
+                        }
+                        return constants;
+                    });
                 } catch (SQLException e) {
                     throw new IgnoreMeException();
                 }
-                if (!randomRowValues.next()) {
+                if (row == null) {
                     throw new IgnoreMeException();
-                    // throw new AssertionError("could not find random row! " + randomRow);
                 }
-                for (int i = 0; i < getColumns().size(); i++) {
-                    SQLite3Column column = getColumns().get(i);
-                    int columnIndex = randomRowValues.findColumn(column.getTable().getName() + column.getName());
-                    assert columnIndex == i + 1;
-                    String typeString = randomRowValues.getString(columnIndex + getColumns().size());
-                    SQLite3DataType valueType = getColumnType(typeString);
-                    SQLite3Constant constant = getConstant(randomRowValues, columnIndex, valueType);
-                    values.put(column, constant);
+                for (int i = 0; i < columns.size(); i++) {
+                    values.put(columns.get(i), row.get(i));
                 }
-                assert !randomRowValues.next();
-                return new SQLite3RowValue(this, values);
             }
-
+            return new SQLite3RowValue(this, values);
         }
 
     }
@@ -255,7 +278,7 @@ public class SQLite3Schema extends AbstractSchema<SQLite3GlobalState, SQLite3Tab
 
     public SQLite3Schema(List<SQLite3Table> databaseTables, List<String> indexNames) {
         super(databaseTables);
-        this.indexNames = indexNames;
+        this.indexNames = new ArrayList<>(indexNames);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package sqlancer.tidb;
 
-import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -179,11 +178,7 @@ public class TiDBProvider extends SQLProviderAdapter<TiDBGlobalState, TiDBOption
         String queryPlan = "";
         if (globalState.getOptions().logEachSelect()) {
             globalState.getLogger().writeCurrent(selectStr);
-            try {
-                globalState.getLogger().getCurrentFileWriter().flush();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            globalState.getLogger().flushCurrent();
         }
 
         SQLQueryAdapter q = new SQLQueryAdapter("EXPLAIN " + selectStr);
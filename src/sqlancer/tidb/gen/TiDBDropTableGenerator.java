@@ -11,7 +11,7 @@ public final class TiDBDropTableGenerator {
     }
 
     public static SQLQueryAdapter dropTable(TiDBGlobalState globalState) {
-        if (globalState.getSchema().getTables(t -> !t.isView()).size() <= 1) {
+        if (globalState.getSchema().getDatabaseTablesWithoutViews().size() <= 1) {
             throw new IgnoreMeException();
         }
         StringBuilder sb = new StringBuilder("DROP TABLE ");
@@ -11,7 +11,7 @@ public final class TiDBDropViewGenerator {
     }
 
     public static SQLQueryAdapter dropView(TiDBGlobalState globalState) {
-        if (globalState.getSchema().getTables(t -> t.isView()).size() == 0) {
+        if (globalState.getSchema().getViews().isEmpty()) {
             throw new IgnoreMeException();
         }
         StringBuilder sb = new StringBuilder("DROP VIEW ");
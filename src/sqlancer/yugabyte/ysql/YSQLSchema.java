@@ -71,29 +71,40 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
 
     public static YSQLSchema fromConnection(SQLConnection con, String databaseName) throws SQLException {
         try {
+            // the catalogs are read with two queries for all tables, rather than with several queries for each table
+            Map<String, List<YSQLIndex>> indexes = new HashMap<>();
+            List<YSQLStatisticsObject> statistics = new ArrayList<>();
+            readIndexesAndStatistics(con, indexes, statistics);
             List<YSQLTable> databaseTables = new ArrayList<>();
             try (Statement s = con.createStatement()) {
+                // each table is returned with one row per column, or with a single row without a column
                 try (ResultSet rs = s.executeQuery(
-                        "SELECT table_name, table_schema, table_type, is_insertable_into FROM information_schema.tables WHERE table_schema='public' OR table_schema LIKE 'pg_temp_%' ORDER BY table_name;")) {
+                        "SELECT t.table_name, t.table_schema, t.is_insertable_into, c.column_name, c.data_type FROM information_schema.tables t LEFT JOIN information_schema.columns c ON c.table_schema = t.table_schema AND c.table_name = t.table_name WHERE t.table_schema='public' OR t.table_schema LIKE 'pg_temp_%' ORDER BY t.table_name, t.table_schema, c.column_name;")) {
+                    String tableName = null;
+                    String tableTypeSchema = null;
+                    boolean isInsertable = false;
+                    List<YSQLColumn> databaseColumns = new ArrayList<>();
                     while (rs.next()) {
-                        String tableName = rs.getString("table_name");
-                        String tableTypeSchema = rs.getString("table_schema");
-                        boolean isInsertable = rs.getBoolean("is_insertable_into");
-                        // TODO: also check insertable
-                        // TODO: insert into view?
-                        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
-                        // tableTypeStr.contains("LOCAL TEMPORARY") &&
-                        // !isInsertable;
-                        YSQLTable.TableType tableType = getTableType(tableTypeSchema);
-                        List<YSQLColumn> databaseColumns = getTableColumns(con, tableName);
-                        List<YSQLIndex> indexes = getIndexes(con, tableName);
-                        List<YSQLStatisticsObject> statistics = getStatistics(con);
-                        YSQLTable t = new YSQLTable(tableName, databaseColumns, indexes, tableType, statistics, isView,
-                                isInsertable);
-                        for (YSQLColumn c : databaseColumns) {
-                            c.setTable(t);
+                        if (!rs.getString("table_name").equals(tableName)
+                                || !rs.getString("table_schema").equals(tableTypeSchema)) {
+                            if (tableName != null) {
+                                databaseTables.add(createTable(tableName, tableTypeSchema, isInsertable,
+                                        databaseColumns, indexes, statistics));
+                            }
+                            tableName = rs.getString("table_name");
+                            tableTypeSchema = rs.getString("table_schema");
+                            isInsertable = rs.getBoolean("is_insertable_into");
+                            databaseColumns = new ArrayList<>();
                         }
-                        databaseTables.add(t);
+                        String columnName = rs.getString("column_name");
+                        if (columnName != null) {
+                            String dataType = rs.getString("data_type");
+                            databaseColumns.add(new YSQLColumn(columnName, getColumnType(dataType)));
+                        }
+                    }
+                    if (tableName != null) {
+                        databaseTables.add(createTable(tableName, tableTypeSchema, isInsertable, databaseColumns,
+                                indexes, statistics));
                     }
                 }
             }
@@ -103,16 +114,41 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
         }
     }
 
-    protected static List<YSQLStatisticsObject> getStatistics(SQLConnection con) throws SQLException {
-        List<YSQLStatisticsObject> statistics = new ArrayList<>();
+    private static YSQLTable createTable(String tableName, String tableTypeSchema, boolean isInsertable,
+            List<YSQLColumn> databaseColumns, Map<String, List<YSQLIndex>> indexes,
+            List<YSQLStatisticsObject> statistics) {
+        // TODO: also check insertable
+        // TODO: insert into view?
+        boolean isView = tableName.startsWith("v"); // tableTypeStr.contains("VIEW") ||
+                                                    // tableTypeStr.contains("LOCAL TEMPORARY") &&
+                                                    // !isInsertable;
+        YSQLTable.TableType tableType = getTableType(tableTypeSchema);
+        List<YSQLIndex> tableIndexes = indexes.getOrDefault(tableName, new ArrayList<>());
+        YSQLTable t = new YSQLTable(tableName, databaseColumns, tableIndexes, tableType, new ArrayList<>(statistics),
+                isView, isInsertable);
+        for (YSQLColumn c : databaseColumns) {
+            c.setTable(t);
+        }
+        return t;
+    }
+
+    // reads the indexes of each table, by the table's name, and the statistics objects, which have no table name
+    protected static void readIndexesAndStatistics(SQLConnection con, Map<String, List<YSQLIndex>> indexes,
+            List<YSQLStatisticsObject> statistics) throws SQLException {
         try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery("SELECT stxname FROM pg_statistic_ext ORDER BY stxname;")) {
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT tablename, indexname AS name FROM pg_indexes UNION ALL SELECT NULL, stxname FROM pg_statistic_ext ORDER BY name;")) {
                 while (rs.next()) {
-                    statistics.add(new YSQLStatisticsObject(rs.getString("stxname")));
+                    String tableName = rs.getString("tablename");
+                    String name = rs.getString("name");
+                    if (tableName == null) {
+                        statistics.add(new YSQLStatisticsObject(name));
+                    } else if (DBMSCommon.matchesIndexName(name)) {
+                        indexes.computeIfAbsent(tableName, t -> new ArrayList<>()).add(YSQLIndex.create(name));
+                    }
                 }
             }
         }
-        return statistics;
     }
 
     protected static YSQLTable.TableType getTableType(String tableTypeStr) throws AssertionError {
@@ -127,39 +163,6 @@ public class YSQLSchema extends AbstractSchema<YSQLGlobalState, YSQLTable> {
         return tableType;
     }
 
-    protected static List<YSQLIndex> getIndexes(SQLConnection con, String tableName) throws SQLException {
-        List<YSQLIndex> indexes = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s.executeQuery(String
-                    .format("SELECT indexname FROM pg_indexes WHERE tablename='%s' ORDER BY indexname;", tableName))) {
-                while (rs.next()) {
-                    String indexName = rs.getString("indexname");
-                    if (DBMSCommon.matchesIndexName(indexName)) {
-                        indexes.add(YSQLIndex.create(indexName));
-                    }
-                }
-            }
-        }
-        return indexes;
-    }
-
-    protected static List<YSQLColumn> getTableColumns(SQLConnection con, String tableName) throws SQLException {
-        List<YSQLColumn> columns = new ArrayList<>();
-        try (Statement s = con.createStatement()) {
-            try (ResultSet rs = s
-                    .executeQuery("select column_name, data_type from INFORMATION_SCHEMA.COLUMNS where table_name = '"
-                            + tableName + "' ORDER BY column_name")) {
-                while (rs.next()) {
-                    String columnName = rs.getString("column_name");
-                    String dataType = rs.getString("data_type");
-                    YSQLColumn c = new YSQLColumn(columnName, getColumnType(dataType));
-                    columns.add(c);
-                }
-            }
-        }
-        return columns;
-    }
-
     public YSQLTables getRandomTableNonEmptyTables() {
         return new YSQLTables(Randomly.nonEmptySubset(getDatabaseTables()));
     }
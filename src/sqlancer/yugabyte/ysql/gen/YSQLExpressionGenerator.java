@@ -2,7 +2,6 @@ package sqlancer.yugabyte.ysql.gen;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -11,6 +10,7 @@ import java.util.stream.Stream;
 import sqlancer.IgnoreMeException;
 import sqlancer.Randomly;
 import sqlancer.common.gen.ExpressionGenerator;
+import sqlancer.common.schema.ColumnsByType;
 import sqlancer.yugabyte.ysql.YSQLCompoundDataType;
 import sqlancer.yugabyte.ysql.YSQLGlobalState;
 import sqlancer.yugabyte.ysql.YSQLProvider;
@@ -46,6 +46,8 @@ public class YSQLExpressionGenerator implements ExpressionGenerator<YSQLExpressi
     private final Map<String, Character> functionsAndTypes;
     private final List<Character> allowedFunctionTypes;
     private List<YSQLColumn> columns;
+    private ColumnsByType<YSQLColumn, YSQLDataType> columnsByType = new ColumnsByType<>(null,
+            YSQLColumn::getType);
     private YSQLRowValue rw;
     private boolean expectedResult;
     private YSQLGlobalState globalState;
@@ -160,6 +162,7 @@ public class YSQLExpressionGenerator implements ExpressionGenerator<YSQLExpressi
 
     public YSQLExpressionGenerator setColumns(List<YSQLColumn> columns) {
         this.columns = columns;
+        this.columnsByType = new ColumnsByType<>(columns, YSQLColumn::getType);
         return this;
     }
 
@@ -458,11 +461,7 @@ public class YSQLExpressionGenerator implements ExpressionGenerator<YSQLExpressi
     }
 
     final List<YSQLColumn> filterColumns(YSQLDataType type) {
-        if (columns == null) {
-            return Collections.emptyList();
-        } else {
-            return columns.stream().filter(c -> c.getType() == type).collect(Collectors.toList());
-        }
+        return columnsByType.get(type);
     }
 
     public YSQLExpression generateExpressionWithExpectedResult(YSQLDataType type) {
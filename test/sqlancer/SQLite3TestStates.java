@@ -0,0 +1,55 @@
+package sqlancer;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import com.beust.jcommander.JCommander;
+
+import sqlancer.sqlite3.SQLite3GlobalState;
+
+/**
+ * Creates SQLite global states for tests that do not start SQLancer's main loop.
+ */
+final class SQLite3TestStates {
+
+    private SQLite3TestStates() {
+    }
+
+    static MainOptions options(String... args) {
+        MainOptions options = new MainOptions();
+        JCommander.newBuilder().addObject(options).build().parse(args);
+        return options;
+    }
+
+    /**
+     * Creates a state without a connection.
+     *
+     * @param args
+     *            the command-line options, as parsed into {@link MainOptions}
+     *
+     * @return the state
+     */
+    static SQLite3GlobalState create(String... args) {
+        SQLite3GlobalState state = new SQLite3GlobalState();
+        state.setMainOptions(options(args));
+        return state;
+    }
+
+    /**
+     * Creates a state that is connected to an empty in-memory database.
+     *
+     * @param args
+     *            the command-line options, as parsed into {@link MainOptions}
+     *
+     * @return the state
+     *
+     * @throws SQLException
+     *             if the database cannot be opened
+     */
+    static SQLite3GlobalState createInMemory(String... args) throws SQLException {
+        SQLite3GlobalState state = create(args);
+        state.setConnection(new SQLConnection(DriverManager.getConnection("jdbc:sqlite::memory:")));
+        return state;
+    }
+
+}
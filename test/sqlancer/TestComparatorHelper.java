@@ -1,5 +1,7 @@
 package sqlancer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
 import java.util.Arrays;
@@ -51,4 +53,46 @@ public class TestComparatorHelper {
         });
     }
 
+    @Test
+    public void testRemoveTrailingZeros() {
+        assertEquals("1", ComparatorHelper.removeTrailingZeros("1.000"));
+        assertEquals("-10", ComparatorHelper.removeTrailingZeros("-10.0"));
+        assertEquals("1.50", ComparatorHelper.removeTrailingZeros("1.50"));
+        assertEquals("100", ComparatorHelper.removeTrailingZeros("100"));
+        assertEquals("", ComparatorHelper.removeTrailingZeros(".0"));
+        assertEquals("1.", ComparatorHelper.removeTrailingZeros("1."));
+        assertNull(ComparatorHelper.removeTrailingZeros(null));
+    }
+
+    @Test
+    public void testAssumeResultRowsAreEqual() {
+        List<ResultRow> r1 = Arrays.asList(new ResultRow("a", 0.3), new ResultRow("b", null));
+        List<ResultRow> r2 = Arrays.asList(new ResultRow("b", null), new ResultRow("a", 0.1 + 0.2));
+        ComparatorHelper.assumeResultRowsAreEqual(r1, r2, "", Arrays.asList(""), null);
+    }
+
+    @Test // the first values are equal within the tolerance, but their exact order differs between the result sets
+    public void testAssumeResultRowsAreEqualWithApproximateSortKeys() {
+        List<ResultRow> r1 = Arrays.asList(new ResultRow(1.0001, "b"), new ResultRow(1.0002, "a"));
+        List<ResultRow> r2 = Arrays.asList(new ResultRow(1.0002, "b"), new ResultRow(1.0001, "a"));
+        ComparatorHelper.assumeResultRowsAreEqual(r1, r2, "", Arrays.asList(""), null);
+    }
+
+    @Test
+    public void testAssumeResultRowsAreEqualWithEqualSortKeys() {
+        List<ResultRow> r1 = Arrays.asList(new ResultRow(123.0), new ResultRow(123.4));
+        List<ResultRow> r2 = Arrays.asList(new ResultRow(123.4), new ResultRow(123.0));
+        ComparatorHelper.assumeResultRowsAreEqual(r1, r2, "", Arrays.asList(""), null);
+    }
+
+    @Test
+    public void testAssumeResultRowsAreEqualWithUnequalRows() {
+        List<ResultRow> r1 = Arrays.asList(new ResultRow("a", "b"), new ResultRow("a", "b"));
+        List<ResultRow> r2 = Arrays.asList(new ResultRow("a", "b"), new ResultRow("a", "c"));
+        // see testAssumeResultSetsAreEqualWithUnequalValueSets
+        assertThrowsExactly(NullPointerException.class, () -> {
+            ComparatorHelper.assumeResultRowsAreEqual(r1, r2, "", Arrays.asList(""), null);
+        });
+    }
+
 }
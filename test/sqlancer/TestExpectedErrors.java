@@ -1,8 +1,14 @@
 package sqlancer;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -60,4 +66,114 @@ public class TestExpectedErrors {
         assertTrue(errors.errorIsExpected("PRIMARY KEY constraint was violated!"));
     }
 
+    @Test
+    public void testEmptyString() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.add("");
+        assertTrue(errors.errorIsExpected(""));
+        assertTrue(errors.errorIsExpected("a"));
+    }
+
+    @Test
+    public void testOverlappingStrings() {
+        ExpectedErrors errors = ExpectedErrors.from("abcd", "bce", "cdx").freeze();
+        assertTrue(errors.errorIsExpected("xabce"));
+        assertTrue(errors.errorIsExpected("abcdx"));
+        assertTrue(errors.errorIsExpected("abcabcd"));
+        assertFalse(errors.errorIsExpected("abcbcdabc"));
+    }
+
+    @Test
+    public void testStringsRandomized() {
+        Random r = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            List<String> substrings = new ArrayList<>();
+            int nrSubstrings = r.nextInt(20);
+            for (int j = 0; j < nrSubstrings; j++) {
+                substrings.add(randomString(r, 1 + r.nextInt(5)));
+            }
+            ExpectedErrors errors = new ExpectedErrors().addAll(substrings);
+            ExpectedErrors frozenErrors = new ExpectedErrors().addAll(substrings).freeze();
+            for (int j = 0; j < 100; j++) {
+                String error = randomString(r, r.nextInt(20));
+                boolean expected = substrings.stream().anyMatch(error::contains);
+                assertEquals(expected, errors.errorIsExpected(error));
+                assertEquals(expected, frozenErrors.errorIsExpected(error));
+            }
+        }
+    }
+
+    private static String randomString(Random r, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + r.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testAddAfterCheck() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.add("a");
+        assertFalse(errors.errorIsExpected("b"));
+        errors.add("b");
+        assertTrue(errors.errorIsExpected("b"));
+        errors.addRegex(Pattern.compile("c+d"));
+        assertTrue(errors.errorIsExpected("ccd"));
+    }
+
+    @Test
+    public void testRegexFlagsAndGroups() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addRegex(Pattern.compile("x|y"));
+        errors.addRegex(Pattern.compile("(a)\\1"));
+        errors.addRegex(Pattern.compile("violated", Pattern.CASE_INSENSITIVE));
+        errors.freeze();
+        assertTrue(errors.errorIsExpected("y"));
+        assertTrue(errors.errorIsExpected("aa"));
+        assertFalse(errors.errorIsExpected("ab"));
+        assertTrue(errors.errorIsExpected("VIOLATED"));
+    }
+
+    @Test
+    public void testFreeze() {
+        ExpectedErrors errors = ExpectedErrors.from("a").freeze();
+        assertTrue(errors.isFrozen());
+        assertTrue(errors.errorIsExpected("a"));
+        assertThrows(IllegalStateException.class, () -> errors.add("b"));
+        assertThrows(IllegalStateException.class, () -> errors.addRegex(Pattern.compile("b")));
+        assertFalse(errors.errorIsExpected("b"));
+    }
+
+    @Test
+    public void testSQLStates() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addSQLState("22012");
+        errors.addSQLState("42");
+        assertTrue(errors.exceptionIsExpected(new SQLException("a", "22012")));
+        assertTrue(errors.exceptionIsExpected(new SQLException("a", "42P01")));
+        assertFalse(errors.exceptionIsExpected(new SQLException("a", "22003")));
+        assertFalse(errors.exceptionIsExpected(new SQLException("a")));
+        assertThrows(IllegalArgumentException.class, () -> errors.addSQLState("220"));
+    }
+
+    @Test
+    public void testVendorCodes() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addVendorCode(1062);
+        assertTrue(errors.exceptionIsExpected(new SQLException("a", "23000", 1062)));
+        assertFalse(errors.exceptionIsExpected(new SQLException("a", "23000", 1048)));
+        assertThrows(IllegalArgumentException.class, () -> errors.addVendorCode(0));
+    }
+
+    @Test
+    public void testMessageFallback() {
+        ExpectedErrors errors = new ExpectedErrors();
+        errors.addSQLState("22012");
+        errors.add("Duplicate entry");
+        assertTrue(errors.exceptionIsExpected(new SQLException("Duplicate entry '1' for key 1", "23000", 1062)));
+        assertTrue(errors.exceptionIsExpected(new IllegalStateException("Duplicate entry")));
+        assertFalse(errors.exceptionIsExpected(new IllegalStateException("22012")));
+    }
+
 }
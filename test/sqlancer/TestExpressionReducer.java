@@ -0,0 +1,86 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.sqlite3.SQLite3ExpressionReducer;
+import sqlancer.sqlite3.SQLite3Visitor;
+import sqlancer.sqlite3.ast.SQLite3Case.CasePair;
+import sqlancer.sqlite3.ast.SQLite3Case.SQLite3CaseWithoutBaseExpression;
+import sqlancer.sqlite3.ast.SQLite3Constant;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.ast.SQLite3Expression.BinaryComparisonOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.BinaryComparisonOperation.BinaryComparisonOperator;
+import sqlancer.sqlite3.ast.SQLite3Expression.SQLite3ColumnName;
+import sqlancer.sqlite3.ast.SQLite3Expression.Sqlite3BinaryOperation;
+import sqlancer.sqlite3.ast.SQLite3Expression.Sqlite3BinaryOperation.BinaryOperator;
+import sqlancer.sqlite3.ast.SQLite3UnaryOperation;
+import sqlancer.sqlite3.ast.SQLite3UnaryOperation.UnaryOperator;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+
+public class TestExpressionReducer {
+
+    private final SQLite3Expression c0 = new SQLite3ColumnName(SQLite3Column.createDummy("c0"), null);
+    private final SQLite3Expression c1 = new SQLite3ColumnName(SQLite3Column.createDummy("c1"), null);
+
+    private SQLite3Expression createExpression() {
+        SQLite3Expression sum = new Sqlite3BinaryOperation(c0, SQLite3Constant.createIntConstant(1),
+                BinaryOperator.PLUS);
+        SQLite3Expression comparison = new BinaryComparisonOperation(sum, SQLite3Constant.createIntConstant(5),
+                BinaryComparisonOperator.GREATER);
+        SQLite3Expression not = new SQLite3UnaryOperation(UnaryOperator.NOT, c1);
+        return new Sqlite3BinaryOperation(comparison, not, BinaryOperator.AND);
+    }
+
+    @Test
+    public void testReduceToSubtree() {
+        SQLite3ExpressionReducer reducer = new SQLite3ExpressionReducer();
+        SQLite3Expression reduced = reducer.reduce(createExpression(), e -> SQLite3Visitor.asString(e).contains("c1"));
+        assertEquals(SQLite3Visitor.asString(c1), SQLite3Visitor.asString(reduced));
+    }
+
+    @Test
+    public void testReplaceWithConstant() {
+        SQLite3ExpressionReducer reducer = new SQLite3ExpressionReducer();
+        // the bug requires the comparison to stay, but not its operands
+        SQLite3Expression reduced = reducer.reduce(createExpression(), e -> SQLite3Visitor.asString(e).contains(">"));
+        assertEquals(
+                SQLite3Visitor.asString(new BinaryComparisonOperation(SQLite3Constant.createNullConstant(),
+                        SQLite3Constant.createNullConstant(), BinaryComparisonOperator.GREATER)),
+                SQLite3Visitor.asString(reduced));
+    }
+
+    @Test
+    public void testReduceCase() {
+        SQLite3ExpressionReducer reducer = new SQLite3ExpressionReducer();
+        SQLite3Expression caseExpr = new SQLite3CaseWithoutBaseExpression(
+                new CasePair[] { new CasePair(c0, createExpression()) }, null);
+        SQLite3Expression reduced = reducer.reduce(caseExpr,
+                e -> SQLite3Visitor.asString(e).contains("CASE") && SQLite3Visitor.asString(e).contains("c1"));
+        assertEquals(
+                SQLite3Visitor.asString(new SQLite3CaseWithoutBaseExpression(
+                        new CasePair[] { new CasePair(SQLite3Constant.createNullConstant(), c1) }, null)),
+                SQLite3Visitor.asString(reduced));
+    }
+
+    @Test
+    public void testOutcomesAreMemoized() {
+        SQLite3ExpressionReducer reducer = new SQLite3ExpressionReducer();
+        AtomicInteger nrExecutions = new AtomicInteger();
+        reducer.reduce(createExpression(), e -> {
+            nrExecutions.incrementAndGet();
+            return SQLite3Visitor.asString(e).contains("c1");
+        });
+        assertEquals(reducer.getNrTestedCandidates(), nrExecutions.get());
+        nrExecutions.set(0);
+        reducer.reduce(createExpression(), e -> {
+            nrExecutions.incrementAndGet();
+            return SQLite3Visitor.asString(e).contains("c1");
+        });
+        assertEquals(0, nrExecutions.get());
+    }
+
+}
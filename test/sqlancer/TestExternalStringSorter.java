@@ -0,0 +1,112 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TestExternalStringSorter {
+
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+
+    @Test
+    public void testInMemory() {
+        try (ExternalStringSorter sorter = new ExternalStringSorter(0)) {
+            for (String value : Arrays.asList("b", null, "a", "b")) {
+                sorter.add(value);
+            }
+            assertEquals(0, sorter.getNrRuns());
+            assertEquals(4, sorter.size());
+            assertEquals(Arrays.asList(null, "a", "b", "b"), toList(sorter.iterator()));
+            assertEquals(Arrays.asList(null, "a", "b"), toList(sorter.distinctIterator()));
+        }
+    }
+
+    @Test
+    public void testRuns() {
+        Random r = new Random(0);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(r.nextInt(10) == 0 ? null : String.valueOf(r.nextInt(300)));
+        }
+        // an unpaired surrogate, which must be preserved
+        values.add("\uD800");
+        Set<Path> existingFiles = getRunFiles();
+        try (ExternalStringSorter sorter = new ExternalStringSorter(1000)) {
+            values.forEach(sorter::add);
+            assertTrue(sorter.getNrRuns() > 10);
+            assertEquals(existingFiles.size() + sorter.getNrRuns(), getRunFiles().size());
+            List<String> expected = new ArrayList<>(values);
+            expected.sort(ExternalStringSorter.ORDER);
+            assertEquals(expected, toList(sorter.iterator()));
+            assertEquals(expected.stream().distinct().count(), toList(sorter.distinctIterator()).size());
+        }
+        assertEquals(existingFiles, getRunFiles());
+    }
+
+    private static ExternalStringSorter sorter(String... values) {
+        ExternalStringSorter sorter = new ExternalStringSorter(100);
+        for (String value : values) {
+            sorter.add(value);
+        }
+        return sorter;
+    }
+
+    // the temporary files of the runs of all sorters
+    private static Set<Path> getRunFiles() {
+        Set<Path> files = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")),
+                "sqlancer-result*.run")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    @Test
+    public void testAssumeResultSetsAreEqual() {
+        Set<Path> existingFiles = getRunFiles();
+        try (ExternalStringSorter first = sorter("a", null, "b", "a");
+                ExternalStringSorter second = sorter("b", "a", null, "b")) {
+            assertTrue(first.getNrRuns() > 0 && second.getNrRuns() > 0);
+            ComparatorHelper.assumeResultSetsAreEqual(first, second, "", Arrays.asList(""), null);
+        }
+        assertEquals(existingFiles, getRunFiles());
+    }
+
+    @Test
+    public void testAssumeResultSetsAreEqualWithUnequalSets() {
+        Set<Path> existingFiles = getRunFiles();
+        // like in TestComparatorHelper, the missing state causes a NullPointerException rather than an AssertionError
+        try (ExternalStringSorter first = sorter("a", "b"); ExternalStringSorter second = sorter("a", "b", "c")) {
+            assertThrowsExactly(NullPointerException.class, () -> ComparatorHelper.assumeResultSetsAreEqual(first,
+                    second, "", Arrays.asList(""), null));
+        }
+        try (ExternalStringSorter first = sorter("a", "b"); ExternalStringSorter second = sorter("a", null)) {
+            assertThrowsExactly(NullPointerException.class, () -> ComparatorHelper.assumeResultSetsAreEqual(first,
+                    second, "", Arrays.asList(""), null));
+        }
+        assertEquals(existingFiles, getRunFiles());
+    }
+
+}
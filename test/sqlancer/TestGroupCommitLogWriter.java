@@ -0,0 +1,37 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.log.GroupCommitLogWriter;
+
+public class TestGroupCommitLogWriter {
+
+    @Test
+    public void testRecordsAreWrittenInOrder() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        GroupCommitLogWriter writer = new GroupCommitLogWriter(stringWriter);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            String record = "SELECT " + i + ";\n";
+            writer.write(record);
+            expected.append(record);
+        }
+        writer.flush();
+        assertEquals(expected.toString(), stringWriter.toString());
+    }
+
+    @Test
+    public void testCloseWritesBufferedRecords() throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        GroupCommitLogWriter writer = new GroupCommitLogWriter(stringWriter);
+        writer.write("CREATE TABLE t0(c0);\n");
+        writer.close();
+        assertEquals("CREATE TABLE t0(c0);\n", stringWriter.toString());
+    }
+
+}
@@ -0,0 +1,58 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.oracle.JoinFanOutEstimator;
+import sqlancer.common.oracle.JoinFanOutEstimator.JoinKind;
+
+public class TestJoinFanOutEstimator {
+
+    private static JoinFanOutEstimator estimator(String... args) {
+        // SQLite's query planner does not provide estimates
+        return new JoinFanOutEstimator(SQLite3TestStates.create(args));
+    }
+
+    @Test
+    public void testUpperBound() {
+        JoinFanOutEstimator estimator = estimator();
+        assertFalse(estimator.isEnabled());
+        estimator.join(10, JoinKind.INNER);
+        estimator.join(20, JoinKind.INNER);
+        assertEquals(200, estimator.getUpperBound());
+        estimator.join(0, JoinKind.LEFT);
+        assertEquals(200, estimator.getUpperBound());
+        estimator.join(3, JoinKind.FULL);
+        assertEquals(803, estimator.getUpperBound());
+        estimator.join(0, JoinKind.INNER);
+        assertEquals(0, estimator.getUpperBound());
+        estimator.join(5, JoinKind.RIGHT);
+        assertEquals(5, estimator.getUpperBound());
+    }
+
+    @Test
+    public void testUnknownNumberOfRows() {
+        JoinFanOutEstimator estimator = estimator();
+        estimator.join(0, JoinKind.INNER);
+        estimator.join(-1, JoinKind.INNER);
+        assertEquals(Double.POSITIVE_INFINITY, estimator.getUpperBound());
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        JoinFanOutEstimator estimator = estimator("--max-join-rows", "100");
+        estimator.join(10, JoinKind.INNER);
+        estimator.join(10, JoinKind.INNER);
+        estimator.assumeWithinBudget(() -> "");
+        estimator.join(2, JoinKind.INNER);
+        assertThrowsExactly(IgnoreMeException.class, () -> estimator.assumeWithinBudget(() -> ""));
+        // without an estimate of the query planner, a query whose number of rows is unknown is not skipped
+        JoinFanOutEstimator unknown = estimator("--max-join-rows", "100");
+        unknown.join(-1, JoinKind.INNER);
+        unknown.assumeWithinBudget(() -> "");
+    }
+
+}
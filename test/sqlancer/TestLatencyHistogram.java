@@ -0,0 +1,73 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TestLatencyHistogram {
+
+    @Test
+    public void testBucketBoundaries() {
+        for (int i = 0; i < 900; i++) {
+            long lowestValue = LatencyHistogram.getLowestValue(i);
+            assertEquals(i, LatencyHistogram.getBucketIndex(lowestValue));
+            assertEquals(i, LatencyHistogram.getBucketIndex(LatencyHistogram.getLowestValue(i + 1) - 1));
+        }
+        assertEquals(959, LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testRelativeError() {
+        for (long value = 1; value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            long width = LatencyHistogram.getLowestValue(index + 1) - LatencyHistogram.getLowestValue(index);
+            assertTrue(width <= Math.max(1, value / 16), String.valueOf(value));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordValue(i * 1000L);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(1_000_000, histogram.getMaxValue());
+        assertPercentile(500_000, histogram.getValueAtPercentile(50));
+        assertPercentile(990_000, histogram.getValueAtPercentile(99));
+        assertPercentile(999_000, histogram.getValueAtPercentile(99.9));
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testMergeThreads() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    LatencyHistogram.record("TestLatencyHistogram", 100);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram merged = LatencyHistogram.getMergedHistograms().get("TestLatencyHistogram");
+        assertEquals(4000, merged.getTotalCount());
+        assertEquals(100, merged.getMaxValue());
+    }
+
+    private void assertPercentile(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16, expected + " " + actual);
+    }
+
+}
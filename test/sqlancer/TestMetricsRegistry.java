@@ -0,0 +1,46 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.MetricsRegistry.Counter;
+
+public class TestMetricsRegistry {
+
+    @Test
+    public void testCountersPerAction() {
+        MetricsRegistry.Snapshot before = MetricsRegistry.getSnapshot();
+        MetricsRegistry.getCounters("testdbms", "INSERT").increment(Counter.SUCCESSFUL_STATEMENTS);
+        MetricsRegistry.getCounters("testdbms", "INSERT").increment(Counter.SUCCESSFUL_STATEMENTS);
+        MetricsRegistry.getCounters("testdbms", null).increment(Counter.UNSUCCESSFUL_STATEMENTS);
+        MetricsRegistry.Snapshot after = MetricsRegistry.getSnapshot();
+        assertEquals(2, after.get(Counter.SUCCESSFUL_STATEMENTS, "testdbms", "INSERT")
+                - before.get(Counter.SUCCESSFUL_STATEMENTS, "testdbms", "INSERT"));
+        assertEquals(1, after.get(Counter.UNSUCCESSFUL_STATEMENTS, "testdbms", null)
+                - before.get(Counter.UNSUCCESSFUL_STATEMENTS, "testdbms", null));
+        assertEquals(0, after.get(Counter.QUERIES, "testdbms", "SELECT"));
+        assertTrue(after.getActionNames("testdbms").contains("INSERT"));
+        assertTrue(after.get(Counter.SUCCESSFUL_STATEMENTS) >= 2);
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                MetricsRegistry.Counters counters = MetricsRegistry.getCounters("testdbms", "TestMetricsRegistry");
+                for (int j = 0; j < 1000; j++) {
+                    counters.increment(Counter.QUERIES);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, MetricsRegistry.getSnapshot().get(Counter.QUERIES, "testdbms", "TestMetricsRegistry"));
+    }
+
+}
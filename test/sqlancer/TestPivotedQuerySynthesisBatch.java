@@ -0,0 +1,135 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.oracle.PivotedQuerySynthesisBase;
+import sqlancer.common.query.Query;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Provider;
+import sqlancer.sqlite3.ast.SQLite3Expression;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3RowValue;
+
+public class TestPivotedQuerySynthesisBatch {
+
+    // checks the containment of the given values in t0, where a value of -1 skips the pivot row
+    private static final class ValueOracle
+            extends PivotedQuerySynthesisBase<SQLite3GlobalState, SQLite3RowValue, SQLite3Expression, SQLConnection> {
+
+        private final Deque<Integer> values;
+        private final boolean batched;
+        private int value;
+        private final List<String> reportedQueries = new ArrayList<>();
+
+        ValueOracle(SQLite3GlobalState globalState, boolean batched, Integer... values) {
+            super(globalState);
+            this.batched = batched;
+            this.values = new ArrayDeque<>(Arrays.asList(values));
+        }
+
+        @Override
+        protected Query<SQLConnection> getRectifiedQuery() {
+            value = values.remove();
+            if (value == -1) {
+                throw new IgnoreMeException();
+            }
+            return new SQLQueryAdapter("SELECT c0 FROM t0 WHERE c0 = " + value, errors);
+        }
+
+        @Override
+        protected Query<SQLConnection> getContainmentCheckQuery(Query<?> pivotRowQuery) {
+            return new SQLQueryAdapter(
+                    "SELECT " + value + " INTERSECT SELECT * FROM (" + pivotRowQuery.getUnterminatedQueryString() + ")",
+                    errors);
+        }
+
+        @Override
+        protected Query<SQLConnection> getBatchedContainmentCheckQuery(List<Query<SQLConnection>> isContainedQueries) {
+            return batched ? new SQLQueryAdapter(getBatchedContainmentCheckQueryString(isContainedQueries), errors)
+                    : null;
+        }
+
+        @Override
+        protected void reportMissingPivotRow(Query<?> query) {
+            reportedQueries.add(query.getQueryString());
+        }
+
+        @Override
+        protected String getExpectedValues(SQLite3Expression expr) {
+            return "";
+        }
+
+    }
+
+    private static SQLite3GlobalState state(int batchSize) throws SQLException {
+        SQLite3GlobalState state = SQLite3TestStates.createInMemory("--log-each-select", "false",
+                "--pqs-batch-size", String.valueOf(batchSize));
+        state.setState(new StateToReproduce("test", new SQLite3Provider()));
+        state.getState().createLocalState();
+        try (Statement s = state.getConnection().createStatement()) {
+            s.execute("CREATE TABLE t0(c0 INT)");
+            s.execute("INSERT INTO t0 VALUES (1), (2), (3)");
+        }
+        return state;
+    }
+
+    @Test
+    public void testAllContained() throws Exception {
+        for (boolean batched : new boolean[] { true, false }) {
+            SQLite3GlobalState state = state(3);
+            ValueOracle oracle = new ValueOracle(state, batched, 1, 3, 2, 2, -1, 1);
+            oracle.check();
+            oracle.check();
+            assertTrue(oracle.reportedQueries.isEmpty());
+            state.getConnection().close();
+        }
+    }
+
+    // the containment check queries that were executed individually, which are logged to the local state
+    private static List<String> getIndividuallyCheckedQueries(SQLite3GlobalState state) {
+        state.getState().getLocalState().close();
+        return state.getState().getStatements().stream().map(q -> q.getQueryString()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testOnlyMissingPivotRowsAreCheckedIndividually() throws Exception {
+        SQLite3GlobalState state = state(3);
+        ValueOracle oracle = new ValueOracle(state, true, 1, 5, 4);
+        oracle.check();
+        assertEquals(
+                Arrays.asList("SELECT 5 INTERSECT SELECT * FROM (SELECT c0 FROM t0 WHERE c0 = 5);",
+                        "SELECT 4 INTERSECT SELECT * FROM (SELECT c0 FROM t0 WHERE c0 = 4);"),
+                getIndividuallyCheckedQueries(state));
+        // a missing pivot row is reported only if its individual check confirms it
+        assertTrue(oracle.reportedQueries.isEmpty()
+                || oracle.reportedQueries.equals(Arrays.asList("SELECT c0 FROM t0 WHERE c0 = 5;")));
+        state.getConnection().close();
+
+        SQLite3GlobalState unbatched = state(3);
+        new ValueOracle(unbatched, false, 1, 5, 4).check();
+        assertEquals(3, getIndividuallyCheckedQueries(unbatched).size());
+        unbatched.getConnection().close();
+    }
+
+    @Test
+    public void testAllSkipped() throws Exception {
+        SQLite3GlobalState state = state(2);
+        ValueOracle oracle = new ValueOracle(state, true, -1, -1);
+        assertThrows(IgnoreMeException.class, oracle::check);
+        state.getConnection().close();
+    }
+
+}
@@ -9,7 +9,11 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -52,6 +56,26 @@ public class TestRandomly {
         } while (!encounteredEmptySubset || !encounteredOriginalSet || !encounteredStrictSubsetNonEmpty);
     }
 
+    @Test // check that the selected elements are distinct and that each element can be selected at each position
+    public void testExtractNrRandomColumns() {
+        List<Integer> options = new LinkedList<>(Arrays.asList(0, 1, 2, 3, 4));
+        boolean[][] encountered = new boolean[3][options.size()];
+        for (int i = 0; i < 10000; i++) {
+            List<Integer> selected = Randomly.extractNrRandomColumns(options, 3);
+            assertEquals(3, selected.size());
+            assertEquals(3, new HashSet<>(selected).size());
+            for (int j = 0; j < selected.size(); j++) {
+                encountered[j][selected.get(j)] = true;
+            }
+        }
+        for (boolean[] position : encountered) {
+            for (boolean encounteredOption : position) {
+                assertTrue(encounteredOption);
+            }
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), options);
+    }
+
     @Test
     public void testString() {
         boolean encounteredInteger = false;
@@ -223,6 +247,55 @@ public class TestRandomly {
         }
     }
 
+    @Test // check that the values of a database do not depend on how many values were generated for the previous ones
+    public void testDatabaseStreams() {
+        assertEquals(getDatabaseValues(0), getDatabaseValues(1000));
+    }
+
+    // generates the first values of several databases with one instance, as a thread that tests several databases does
+    private List<List<String>> getDatabaseValues(int nrUnreturnedValues) {
+        Randomly r = new Randomly(123);
+        List<List<String>> databaseValues = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            r.startDatabaseStream();
+            List<String> values = new ArrayList<>();
+            for (int j = 0; j < 20; j++) {
+                values.add(String.valueOf(r.getInteger()));
+                values.add(r.getString());
+                values.add(String.valueOf(r.getDouble()));
+            }
+            databaseValues.add(values);
+            for (int j = 0; j < nrUnreturnedValues; j++) {
+                r.getInteger();
+                r.getString();
+                r.getDouble();
+            }
+        }
+        return databaseValues;
+    }
+
+    @Test
+    public void testLongCache() {
+        Randomly.LongCache cache = new Randomly.LongCache();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            long value = random.nextBoolean() ? random.nextInt(500) - 250 : random.nextLong();
+            cache.add(value);
+            expected.add(value);
+            assertTrue(cache.contains(value));
+        }
+        cache.add(Long.MIN_VALUE);
+        expected.add(Long.MIN_VALUE);
+        assertEquals(expected.size(), cache.size());
+        for (long value = -300; value < 300; value++) {
+            assertEquals(expected.contains(value), cache.contains(value));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(expected.contains(cache.getRandom()));
+        }
+    }
+
     private List<String> getRandomValueList(Randomly r) {
         List<String> values = new ArrayList<>();
         for (int i = 0; i < 1000; i++) {
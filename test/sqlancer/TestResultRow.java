@@ -0,0 +1,52 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestResultRow {
+
+    @Test
+    public void testExactNumbers() {
+        assertTrue(new ResultRow(new BigDecimal("1.50").stripTrailingZeros())
+                .isEqual(new ResultRow(new BigDecimal("1.5"))));
+        assertFalse(new ResultRow(new BigDecimal("1.5")).isEqual(new ResultRow(new BigDecimal("1.500001"))));
+    }
+
+    @Test
+    public void testApproximateNumbers() {
+        assertTrue(new ResultRow(0.1 + 0.2).isEqual(new ResultRow(0.3)));
+        assertTrue(new ResultRow(-0.0).isEqual(new ResultRow(0.0)));
+        assertTrue(new ResultRow(Double.NaN).isEqual(new ResultRow(Double.NaN)));
+        assertTrue(new ResultRow(1.0).isEqual(new ResultRow(BigDecimal.ONE)));
+        assertFalse(new ResultRow(1.0).isEqual(new ResultRow(1.5)));
+        assertFalse(new ResultRow(1.0).isEqual(new ResultRow("1")));
+    }
+
+    @Test
+    public void testNullsAndStrings() {
+        assertTrue(new ResultRow((Object) null).isEqual(new ResultRow((Object) null)));
+        assertFalse(new ResultRow((Object) null).isEqual(new ResultRow("")));
+        assertTrue(new ResultRow("a", null).isEqual(new ResultRow("a", null)));
+        assertFalse(new ResultRow("a", "b").isEqual(new ResultRow("a", "c")));
+        assertFalse(new ResultRow("a").isEqual(new ResultRow("a", "b")));
+    }
+
+    @Test
+    public void testOrder() {
+        List<ResultRow> rows = new ArrayList<>(
+                Arrays.asList(new ResultRow("b"), new ResultRow(2.5), new ResultRow(BigDecimal.valueOf(3)),
+                        new ResultRow((Object) null), new ResultRow(BigDecimal.ONE), new ResultRow("a")));
+        Collections.sort(rows);
+        assertEquals("[(null), (1), (2.5), (3), (a), (b)]", rows.toString());
+    }
+
+}
@@ -0,0 +1,70 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestResultSetFingerprint {
+
+    private static ResultSetFingerprint fingerprint(String... values) {
+        ResultSetFingerprint fingerprint = new ResultSetFingerprint();
+        for (String value : values) {
+            fingerprint.add(value);
+        }
+        return fingerprint;
+    }
+
+    @Test
+    public void testOrderIndependent() {
+        assertEquals(fingerprint("a", "b", null, "c"), fingerprint(null, "c", "b", "a"));
+        assertEquals(fingerprint(), fingerprint());
+        assertEquals(4, fingerprint("a", "b", null, "c").getNrValues());
+    }
+
+    @Test
+    public void testDuplicates() {
+        assertNotEquals(fingerprint("a", "a", "b"), fingerprint("a", "b", "b"));
+        assertNotEquals(fingerprint("a", "a"), fingerprint("a"));
+    }
+
+    @Test
+    public void testDifferentValues() {
+        List<String> values = Arrays.asList(null, "", "null", "0", "1", "10", "01", "ab", "ba", "1.5", "1.50");
+        for (int i = 0; i < values.size(); i++) {
+            for (int j = 0; j < values.size(); j++) {
+                if (i != j) {
+                    assertNotEquals(fingerprint(values.get(i)), fingerprint(values.get(j)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testServerSideHashes() {
+        ResultSetFingerprint combined = new ResultSetFingerprint();
+        combined.addServerSideHash(2, 1, 5);
+        combined.addServerSideHash(1, 0, -2);
+        ResultSetFingerprint original = new ResultSetFingerprint();
+        original.addServerSideHash(3, 1, 3);
+        assertEquals(original, combined);
+        assertEquals(3, combined.getNrValues());
+        ResultSetFingerprint other = new ResultSetFingerprint();
+        other.addServerSideHash(3, 0, 3);
+        assertNotEquals(original, other);
+    }
+
+    @Test
+    public void testServerSideAndClientSide() {
+        ResultSetFingerprint serverSide = new ResultSetFingerprint();
+        serverSide.addServerSideHash(0, 0, 0);
+        assertNotEquals(fingerprint(), serverSide);
+        ResultSetFingerprint mixed = fingerprint("a");
+        mixed.addServerSideHash(0, 0, 0);
+        assertNotEquals(fingerprint("a"), mixed);
+    }
+
+}
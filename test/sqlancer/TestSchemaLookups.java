@@ -0,0 +1,82 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.schema.ColumnsByType;
+import sqlancer.sqlite3.schema.SQLite3DataType;
+import sqlancer.sqlite3.schema.SQLite3Schema;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Column;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+
+public class TestSchemaLookups {
+
+    private static SQLite3Column column(String name, SQLite3DataType type) {
+        return new SQLite3Column(name, type, false, false, null);
+    }
+
+    private static SQLite3Table table(String name, boolean isView, List<SQLite3Column> columns) {
+        return new SQLite3Table(name, columns, TableKind.MAIN, false, isView, false, false);
+    }
+
+    @Test
+    public void testTableLookups() {
+        SQLite3Table t0 = table("t0", false, Collections.emptyList());
+        SQLite3Table t1 = table("t1", false, Collections.emptyList());
+        SQLite3Table v0 = table("v0", true, Collections.emptyList());
+        SQLite3Schema schema = new SQLite3Schema(Arrays.asList(t0, v0, t1), Collections.emptyList());
+        assertSame(t1, schema.getDatabaseTable("t1"));
+        assertSame(v0, schema.getDatabaseTable("v0"));
+        assertNull(schema.getDatabaseTable("t2"));
+        assertEquals(Arrays.asList(v0), schema.getViews());
+        assertEquals(Arrays.asList(t0, t1), schema.getDatabaseTablesWithoutViews());
+        assertSame(schema.getViews(), schema.getViews());
+        assertThrows(UnsupportedOperationException.class, () -> schema.getViews().add(t0));
+    }
+
+    @Test
+    public void testLookupsAreInvalidated() {
+        SQLite3Table t0 = table("t0", false, Collections.emptyList());
+        SQLite3Table v0 = table("v0", true, Collections.emptyList());
+        List<SQLite3Table> tables = new ArrayList<>(Arrays.asList(t0));
+        SQLite3Schema schema = new SQLite3Schema(tables, Collections.emptyList());
+        assertNull(schema.getDatabaseTable("v0"));
+        assertEquals(Collections.emptyList(), schema.getViews());
+        tables.add(v0);
+        schema.invalidateLookups();
+        assertSame(v0, schema.getDatabaseTable("v0"));
+        assertEquals(Arrays.asList(v0), schema.getViews());
+        assertEquals(Arrays.asList(t0), schema.getDatabaseTablesWithoutViews());
+    }
+
+    @Test
+    public void testColumnsByType() {
+        SQLite3Column c0 = column("c0", SQLite3DataType.INT);
+        SQLite3Column c1 = column("c1", SQLite3DataType.TEXT);
+        SQLite3Column c2 = column("c2", SQLite3DataType.INT);
+        SQLite3Column c3 = column("c3", null);
+        ColumnsByType<SQLite3Column, SQLite3DataType> columnsByType = new ColumnsByType<>(
+                Arrays.asList(c0, c1, c2, c3), SQLite3Column::getType);
+        assertEquals(Arrays.asList(c0, c2), columnsByType.get(SQLite3DataType.INT));
+        assertEquals(Arrays.asList(c1), columnsByType.get(SQLite3DataType.TEXT));
+        assertEquals(Arrays.asList(c3), columnsByType.get(null));
+        assertEquals(Collections.emptyList(), columnsByType.get(SQLite3DataType.REAL));
+        assertTrue(columnsByType.contains(SQLite3DataType.TEXT));
+        assertFalse(columnsByType.contains(SQLite3DataType.BINARY));
+        assertThrows(UnsupportedOperationException.class, () -> columnsByType.get(SQLite3DataType.INT).add(c1));
+        assertEquals(Collections.emptyList(), new ColumnsByType<>(null, SQLite3Column::getType).get(null));
+    }
+
+}
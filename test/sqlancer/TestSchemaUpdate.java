@@ -0,0 +1,122 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.ExpectedErrors;
+import sqlancer.common.query.SQLQueryAdapter;
+import sqlancer.common.schema.SchemaUpdate;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.schema.SQLite3Schema;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+
+public class TestSchemaUpdate {
+
+    private static final class CountingGlobalState extends SQLite3GlobalState {
+
+        private int nrReads;
+        private final List<SQLite3Table> tables = new ArrayList<>();
+
+        CountingGlobalState(String... args) {
+            setMainOptions(SQLite3TestStates.options(args));
+        }
+
+        @Override
+        protected SQLite3Schema readSchema() {
+            nrReads++;
+            return new SQLite3Schema(tables, Arrays.asList("i0"));
+        }
+
+    }
+
+    private static SQLQueryAdapter createIndex(String name) {
+        return new SQLQueryAdapter("CREATE INDEX " + name + " ON t0(c0)", new ExpectedErrors(),
+                (SQLite3Schema s) -> s.addIndexName(name));
+    }
+
+    private static SQLQueryAdapter dropIndex(String name) {
+        return new SQLQueryAdapter("DROP INDEX " + name, new ExpectedErrors(),
+                (SQLite3Schema s) -> s.removeIndexName(name));
+    }
+
+    @Test
+    public void testKnownEffectIsApplied() throws Exception {
+        CountingGlobalState state = new CountingGlobalState();
+        state.getSchema();
+        state.updateSchema(createIndex("i1"), true);
+        state.updateSchema(dropIndex("i0"), true);
+        assertEquals(1, state.nrReads);
+        assertEquals(Arrays.asList("i1"), state.getSchema().getIndexNames());
+    }
+
+    @Test
+    public void testLookupsAreRebuilt() throws Exception {
+        CountingGlobalState state = new CountingGlobalState();
+        assertNull(state.getSchema().getDatabaseTable("t0"));
+        SQLite3Table t0 = new SQLite3Table("t0", Collections.emptyList(), TableKind.MAIN, false, false, false, false);
+        state.updateSchema(new SQLQueryAdapter("CREATE TABLE t0(c0)", new ExpectedErrors(),
+                (SQLite3Schema s) -> state.tables.add(t0)), true);
+        assertEquals(1, state.nrReads);
+        assertSame(t0, state.getSchema().getDatabaseTable("t0"));
+    }
+
+    @Test
+    public void testFailedStatementReadsSchema() throws Exception {
+        CountingGlobalState state = new CountingGlobalState();
+        state.getSchema();
+        state.updateSchema(createIndex("i1"), true);
+        // e.g., an INSERT OR ROLLBACK that failed and rolled back the transaction that created i1
+        state.updateSchema(new SQLQueryAdapter("INSERT OR ROLLBACK INTO t0 VALUES (0)", new ExpectedErrors(),
+                SchemaUpdate.unchanged()), false);
+        assertEquals(2, state.nrReads);
+        assertEquals(Arrays.asList("i0"), state.getSchema().getIndexNames());
+        state.updateSchema(createIndex("i1"), false);
+        assertEquals(3, state.nrReads);
+    }
+
+    @Test
+    public void testUnknownEffectReadsSchema() throws Exception {
+        CountingGlobalState state = new CountingGlobalState();
+        state.getSchema();
+        state.updateSchema(new SQLQueryAdapter("CREATE TABLE t1(c0)", true), true);
+        assertEquals(2, state.nrReads);
+    }
+
+    @Test
+    public void testDivergenceReadsSchema() throws Exception {
+        CountingGlobalState state = new CountingGlobalState();
+        state.getSchema();
+        state.updateSchema(dropIndex("i1"), true);
+        assertEquals(2, state.nrReads);
+        assertEquals(Arrays.asList("i0"), state.getSchema().getIndexNames());
+    }
+
+    @Test
+    public void testVerificationInterval() throws Exception {
+        CountingGlobalState state = new CountingGlobalState("--schema-verification-interval", "3");
+        state.getSchema();
+        state.updateSchema(createIndex("i1"), true);
+        state.updateSchema(createIndex("i2"), true);
+        assertEquals(1, state.nrReads);
+        state.updateSchema(createIndex("i3"), true);
+        assertEquals(2, state.nrReads);
+        assertEquals(Arrays.asList("i0"), state.getSchema().getIndexNames());
+        state.updateSchema(createIndex("i1"), true);
+        assertEquals(2, state.nrReads);
+
+        CountingGlobalState alwaysReading = new CountingGlobalState("--schema-verification-interval", "1");
+        alwaysReading.getSchema();
+        alwaysReading.updateSchema(createIndex("i1"), true);
+        assertEquals(2, alwaysReading.nrReads);
+    }
+
+}
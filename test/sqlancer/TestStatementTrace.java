@@ -0,0 +1,48 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.query.SQLQueryAdapter;
+
+public class TestStatementTrace {
+
+    @Test
+    public void testKeepsMostRecentStatements() throws InterruptedException {
+        assertEquals(List.of("SELECT 7;", "SELECT 8;", "SELECT 9;"), getRecentStatementsInNewThread(10, 3));
+    }
+
+    @Test
+    public void testFewerStatementsThanCapacity() throws InterruptedException {
+        assertEquals(List.of("SELECT 0;", "SELECT 1;"), getRecentStatementsInNewThread(2, 3));
+    }
+
+    @Test
+    public void testClear() {
+        StatementTrace.record(new SQLQueryAdapter("SELECT 0"), 3);
+        StatementTrace.clear();
+        assertEquals(List.of(), StatementTrace.getRecentStatements());
+    }
+
+    // each thread has its own trace, so a new thread starts with an empty one
+    private static List<String> getRecentStatementsInNewThread(int nrStatements, int capacity)
+            throws InterruptedException {
+        AtomicReference<List<String>> recentStatements = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < nrStatements; i++) {
+                StatementTrace.record(new SQLQueryAdapter("SELECT " + i), capacity);
+            }
+            recentStatements.set(StatementTrace.getRecentStatements().stream().map(q -> q.getQueryString())
+                    .collect(Collectors.toList()));
+        });
+        thread.start();
+        thread.join();
+        return recentStatements.get();
+    }
+
+}
@@ -0,0 +1,119 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.schema.TableDataEpochs;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.SQLite3Provider;
+import sqlancer.sqlite3.schema.SQLite3Schema;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+
+public class TestTableDataEpochs {
+
+    private final SQLite3Table t0 = table("t0", false);
+    private final SQLite3Table t1 = table("t1", false);
+    private final SQLite3Table v0 = table("v0", true);
+    private final SQLite3Schema schema = new SQLite3Schema(Arrays.asList(t0, t1, v0), Collections.emptyList());
+
+    private static SQLite3Table table(String name, boolean isView) {
+        return new SQLite3Table(name, Collections.emptyList(), TableKind.MAIN, false, isView, false, false);
+    }
+
+    @Test
+    public void testSingleTableModifications() {
+        TableDataEpochs epochs = new TableDataEpochs();
+        for (String statement : Arrays.asList("INSERT INTO t0(c0) VALUES (1)", "INSERT OR IGNORE INTO T0 VALUES (1)",
+                "UPDATE t0 SET c0=1", "DELETE FROM t0 WHERE c0", "TRUNCATE TABLE t0")) {
+            long t0Epoch = epochs.getEpoch(t0);
+            long t1Epoch = epochs.getEpoch(t1);
+            long v0Epoch = epochs.getEpoch(v0);
+            epochs.statementExecuted(statement, schema);
+            assertNotEquals(t0Epoch, epochs.getEpoch(t0), statement);
+            assertEquals(t1Epoch, epochs.getEpoch(t1), statement);
+            assertNotEquals(v0Epoch, epochs.getEpoch(v0), statement);
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        TableDataEpochs epochs = new TableDataEpochs();
+        epochs.statementExecuted("(SELECT * FROM t0) UNION SELECT * FROM t1", schema);
+        epochs.statementExecuted("WITH x AS (SELECT 1) SELECT * FROM x", schema);
+        assertEquals(0, epochs.getEpoch(t0));
+        assertEquals(0, epochs.getEpoch(v0));
+    }
+
+    @Test
+    public void testOtherModifications() {
+        for (String statement : Arrays.asList("INSERT INTO v0 VALUES (1)", "INSERT INTO t2 VALUES (1)",
+                "UPDATE t0, t1 SET t0.c0=1", "UPDATE LOW_PRIORITY t0 SET c0=1", "DELETE FROM main.t0",
+                "TRUNCATE t0, t1", "ALTER TABLE t0 ADD c1", "WITH x AS (DELETE FROM t0) SELECT 1")) {
+            TableDataEpochs epochs = new TableDataEpochs();
+            epochs.statementExecuted(statement, schema);
+            assertNotEquals(0, epochs.getEpoch(t0), statement);
+            assertNotEquals(0, epochs.getEpoch(t1), statement);
+        }
+    }
+
+    @Test
+    public void testDependencies() {
+        TableDataEpochs epochs = new TableDataEpochs();
+        epochs.statementExecuted("CREATE TRIGGER r0 AFTER INSERT ON t0 BEGIN DELETE FROM t1; END", schema);
+        long t1Epoch = epochs.getEpoch(t1);
+        epochs.statementExecuted("INSERT INTO t0 VALUES (1)", schema);
+        assertNotEquals(t1Epoch, epochs.getEpoch(t1));
+    }
+
+    @Test
+    public void testFacts() {
+        TableDataEpochs epochs = new TableDataEpochs();
+        int[] nrComputations = new int[1];
+        assertEquals(1, (int) epochs.getFact(t0, "COUNT(*)", () -> ++nrComputations[0]));
+        assertEquals(1, (int) epochs.getFact(t0, "COUNT(*)", () -> ++nrComputations[0]));
+        epochs.statementExecuted("INSERT INTO t1 VALUES (1)", schema);
+        assertEquals(1, (int) epochs.getFact(t0, "COUNT(*)", () -> ++nrComputations[0]));
+        epochs.statementExecuted("INSERT INTO t0 VALUES (1)", schema);
+        assertEquals(2, (int) epochs.getFact(t0, "COUNT(*)", () -> ++nrComputations[0]));
+    }
+
+    @Test // as done by the statement reducer, which replays candidates from copies of database snapshots
+    public void testRestoredSnapshot() throws Exception {
+        Path snapshot = Files.createTempFile("sqlancer-snapshot", ".db");
+        Files.delete(snapshot);
+        try {
+            try (Connection con = DriverManager.getConnection("jdbc:sqlite::memory:");
+                    Statement s = con.createStatement()) {
+                s.execute("CREATE TABLE t0(c0 INT)");
+                s.execute("INSERT INTO t0 VALUES (1), (2)");
+                s.execute("VACUUM INTO '" + snapshot.toAbsolutePath() + "'");
+            }
+            SQLite3GlobalState state = SQLite3TestStates.createInMemory();
+            state.setState(new SQLite3Provider().getStateToReproduce("snapshot"));
+            try (Statement s = state.getConnection().createStatement()) {
+                s.execute("CREATE TABLE t0(c0 INT)");
+                s.execute("INSERT INTO t0 VALUES (1), (2), (3)");
+            }
+            assertEquals(3, t0.getNrRows(state));
+            state.getConnection().close();
+            state.setConnection(
+                    new SQLConnection(DriverManager.getConnection("jdbc:sqlite:" + snapshot.toAbsolutePath())));
+            assertEquals(2, t0.getNrRows(state));
+            state.getConnection().close();
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import sqlancer.common.schema.TableRowSampler;
+import sqlancer.common.schema.TableRowSampler.RowReader;
+import sqlancer.sqlite3.SQLite3GlobalState;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table;
+import sqlancer.sqlite3.schema.SQLite3Schema.SQLite3Table.TableKind;
+
+public class TestTableRowSampler {
+
+    private static final RowReader<Long> READER = rs -> Collections.singletonList(rs.getLong(1));
+
+    private static SQLite3GlobalState state(String... args) throws SQLException {
+        SQLite3GlobalState state = SQLite3TestStates.createInMemory(args);
+        try (Statement s = state.getConnection().createStatement()) {
+            s.execute("CREATE TABLE t0(c0 INT)");
+            s.execute("WITH RECURSIVE n(x) AS (SELECT 1 UNION ALL SELECT x + 1 FROM n WHERE x < 1000) "
+                    + "INSERT INTO t0 SELECT x FROM n");
+        }
+        return state;
+    }
+
+    private static SQLite3Table table() {
+        return new SQLite3Table("t0", Collections.emptyList(), TableKind.MAIN, false, false, false, false);
+    }
+
+    @Test
+    public void testRowsAreDrawnFromSample() throws Exception {
+        SQLite3GlobalState state = state("--pivot-row-sample-size", "10");
+        SQLite3Table table = table();
+        Set<Long> drawn = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            List<Long> row = TableRowSampler.getRandomRow(state, table, "SELECT c0 FROM t0", READER);
+            assertEquals(1, row.size());
+            assertTrue(row.get(0) >= 1 && row.get(0) <= 1000);
+            drawn.add(row.get(0));
+        }
+        assertTrue(drawn.size() <= 10);
+        state.getConnection().close();
+    }
+
+    @Test
+    public void testSampleIsReadAgainAfterModification() throws Exception {
+        SQLite3GlobalState state = state();
+        SQLite3Table table = table();
+        assertNotNull(TableRowSampler.getRandomRow(state, table, "SELECT c0 FROM t0", READER));
+        try (Statement s = state.getConnection().createStatement()) {
+            s.execute("DELETE FROM t0");
+        }
+        // the sample is reused, since the modification was not recorded
+        assertNotNull(TableRowSampler.getRandomRow(state, table, "SELECT c0 FROM t0", READER));
+        state.getDataEpochs().statementExecuted("DELETE FROM t0", null);
+        assertNull(TableRowSampler.getRandomRow(state, table, "SELECT c0 FROM t0", READER));
+        state.getConnection().close();
+    }
+
+    @Test
+    public void testFailingQuery() throws Exception {
+        SQLite3GlobalState state = state();
+        assertThrows(SQLException.class,
+                () -> TableRowSampler.getRandomRow(state, table(), "SELECT c1 FROM t0", READER));
+        state.getConnection().close();
+    }
+
+}
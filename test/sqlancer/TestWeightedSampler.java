@@ -0,0 +1,49 @@
+package sqlancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TestWeightedSampler {
+
+    @Test // check that find() returns the same index as a linear scan over the cumulative weights
+    public void testFindMatchesLinearScan() {
+        int[] weights = { 3, 0, 1, 5, 0, 0, 2, 7, 1, 0, 4 };
+        WeightedSampler sampler = new WeightedSampler(weights);
+        Random random = new Random(0);
+        while (sampler.getTotal() != 0) {
+            for (long selection = 0; selection < sampler.getTotal(); selection++) {
+                assertEquals(findLinear(weights, selection), sampler.find(selection));
+            }
+            int index = sampler.find(random.nextInt((int) sampler.getTotal()));
+            sampler.decrement(index);
+            weights[index]--;
+            assertEquals(weights[index], sampler.getWeight(index));
+        }
+    }
+
+    @Test
+    public void testDecrementToZero() {
+        WeightedSampler sampler = new WeightedSampler(0, 1);
+        assertEquals(1, sampler.find(0));
+        sampler.decrement(1);
+        assertEquals(0, sampler.getTotal());
+        assertThrows(IllegalStateException.class, () -> sampler.decrement(1));
+        assertThrows(IllegalArgumentException.class, () -> sampler.find(0));
+    }
+
+    private static int findLinear(int[] weights, long selection) {
+        long previousRange = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (selection < previousRange + weights[i]) {
+                return i;
+            }
+            previousRange += weights[i];
+        }
+        throw new AssertionError(selection);
+    }
+
+}